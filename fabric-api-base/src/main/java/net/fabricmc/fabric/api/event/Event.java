@@ -31,7 +31,7 @@ public abstract class Event<T> {
 	/**
 	 * The invoker field. This should be updated by the implementation to
 	 * always refer to an instance containing all code that should be
-	 * executed upon event emission.
+	 * executed upon event emission, unless the implementation overrides {@link #invoker()}.
 	 */
 	protected volatile T invoker;
 
@@ -44,10 +44,31 @@ public abstract class Event<T> {
 	 *
 	 * @return The invoker instance.
 	 */
-	public final T invoker() {
+	public T invoker() {
 		return invoker;
 	}
 
+	/**
+	 * Returns whether any listener is registered to this event.
+	 *
+	 * <p>Calling the invoker of an event without listeners does nothing but return the default result,
+	 * so hot call sites may check this first to skip computing the arguments of the invoker when nobody listens:
+	 * <pre>{@code
+	 * if (MyEvent.EVENT.hasListeners()) {
+	 *     MyEvent.EVENT.invoker().onSomething(pos.toImmutable(), new Context(...));
+	 * }
+	 * }</pre>
+	 *
+	 * <p>The result may change at any time as listeners are registered, so it should not be cached.
+	 *
+	 * @return {@code false} if the event has no listener, {@code true} if it has at least one listener
+	 * or if this is not known by the implementation.
+	 */
+	public boolean hasListeners() {
+		// Conservative default for existing Event subclasses, but they should really not be subclassing Event.
+		return true;
+	}
+
 	/**
 	 * Register a listener to the event, in the default phase.
 	 * Have a look at {@link #addPhaseOrdering} for an explanation of event phases.
@@ -74,6 +95,35 @@ public abstract class Event<T> {
 		register(listener);
 	}
 
+	/**
+	 * Register a listener to the event in the default phase, and return a subscription that unregisters it when closed.
+	 *
+	 * @param listener The desired listener.
+	 * @return The subscription of the listener.
+	 * @see #subscribe(Identifier, Object)
+	 */
+	public EventSubscription subscribe(T listener) {
+		return subscribe(DEFAULT_PHASE, listener);
+	}
+
+	/**
+	 * Register a listener to the event for the specified phase, and return a subscription that unregisters it when closed.
+	 *
+	 * <p>Unlike {@link #register(Identifier, Object)}, the listener is always registered immediately,
+	 * even during a {@linkplain EventFactory#batchRegistrations() registration batch}.
+	 * Unregistering a listener rebuilds the invoker, so it costs about as much as registering it.
+	 * Use an {@link EventScope} to unregister multiple listeners at once.
+	 *
+	 * @param phase Identifier of the phase this listener should be registered for. It will be created if it didn't exist yet.
+	 * @param listener The desired listener.
+	 * @return The subscription of the listener.
+	 * @throws UnsupportedOperationException If the event does not support unregistering listeners.
+	 */
+	public EventSubscription subscribe(Identifier phase, T listener) {
+		// Not abstract to keep compatibility with existing Event subclasses, but they should really not be subclassing Event.
+		throw new UnsupportedOperationException("Event " + getClass().getName() + " does not support unregistering listeners.");
+	}
+
 	/**
 	 * Request that listeners registered for one phase be executed before listeners registered for another phase.
 	 * Relying on the default phases supplied to {@link EventFactory#createWithPhases} should be preferred over manually
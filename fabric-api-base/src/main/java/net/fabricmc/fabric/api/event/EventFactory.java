@@ -16,8 +16,12 @@
 
 package net.fabricmc.fabric.api.event;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.impl.base.event.EventFactoryImpl;
@@ -76,6 +80,75 @@ public final class EventFactory {
 		});
 	}
 
+	/**
+	 * Create an "array-backed" Event instance for an event whose invoker calls the listeners in order,
+	 * stopping at the first listener that returns something other than {@code passValue} and returning that value.
+	 * If every listener returns {@code passValue}, so does the invoker. Listeners returning {@code void} are all called.
+	 * Results are compared by identity, like the usual {@code if (result != ActionResult.PASS) return result;} loop.
+	 *
+	 * <p>Because Fabric knows how the listeners are combined, it can build the invoker itself:
+	 * when the {@code fabric.event.generateInvokers} system property is set,
+	 * a class calling each listener directly is generated instead of looping over an array.
+	 * This lets the JIT inline the listeners of hot events into the invoker.
+	 * Otherwise, {@code invokerFactory} is used, except when there is a single listener which then becomes the invoker.
+	 * Without listeners, the invoker always is a generated no-op returning {@code passValue}.
+	 *
+	 * <p>{@code invokerFactory} must therefore implement exactly the behavior described above, for example:
+	 * <pre>{@code
+	 * Event<UseBlockCallback> EVENT = EventFactory.createSequential(UseBlockCallback.class, ActionResult.PASS,
+	 *         listeners -> (player, world, hand, hitResult) -> {
+	 *             for (UseBlockCallback listener : listeners) {
+	 *                 ActionResult result = listener.interact(player, world, hand, hitResult);
+	 *
+	 *                 if (result != ActionResult.PASS) {
+	 *                     return result;
+	 *                 }
+	 *             }
+	 *
+	 *             return ActionResult.PASS;
+	 *         });
+	 * }</pre>
+	 *
+	 * @param type           The listener class type, which must be a functional interface.
+	 * @param passValue      The value signaling that the next listener should be called, or {@code null} for {@code void} listeners.
+	 *                       Must be a boxed value if the listener returns a primitive type.
+	 * @param invokerFactory The invoker factory, combining multiple listeners into one instance.
+	 * @param <T>            The listener type.
+	 * @return The Event instance.
+	 * @throws IllegalArgumentException If {@code type} is not a functional interface, or if {@code passValue} cannot be returned by it.
+	 */
+	public static <T> Event<T> createSequential(Class<T> type, @Nullable Object passValue, Function<T[], T> invokerFactory) {
+		return EventFactoryImpl.createSequential(type, passValue, invokerFactory);
+	}
+
+	/**
+	 * Create an array-backed Event instance whose listeners may run concurrently.
+	 * This is meant for events whose listeners are independent of each other, such as rebuilding caches
+	 * after a data pack reload, and only if they are expected to be thread-safe.
+	 *
+	 * <p>The invoker receives a {@link ParallelDispatcher}, which calls an action for every listener:
+	 * the listeners of each phase run in parallel on the common {@link java.util.concurrent.ForkJoinPool}
+	 * and on the invoking thread, and phases act as barriers: all listeners of a phase have returned before
+	 * the listeners of the next phase are started, and before the invoker returns.
+	 * If listeners throw, the first exception is rethrown once the whole phase has completed,
+	 * and the next phases are not run. For example:
+	 * <pre>{@code
+	 * Event<CachesReloaded> EVENT = EventFactory.createParallel(CachesReloaded.class,
+	 *         dispatcher -> registries -> dispatcher.dispatch(listener -> listener.onCachesReloaded(registries)));
+	 * }</pre>
+	 *
+	 * <p>Listeners run sequentially, in phase order, if the {@code fabric.event.disableParallelDispatch}
+	 * system property is set or if there is a single available processor.
+	 *
+	 * @param type           The listener class type.
+	 * @param invokerFactory The invoker factory, creating an invoker that dispatches to the listeners with the given dispatcher.
+	 * @param <T>            The listener type.
+	 * @return The Event instance.
+	 */
+	public static <T> Event<T> createParallel(Class<? super T> type, Function<ParallelDispatcher<T>, T> invokerFactory) {
+		return EventFactoryImpl.createParallel(type, invokerFactory);
+	}
+
 	/**
 	 * Create an array-backed event with a list of default phases that get invoked in order.
 	 * Exposing the identifiers of the default phases as {@code public static final} constants is encouraged.
@@ -102,13 +175,39 @@ public final class EventFactory {
 
 		Event<T> event = createArrayBacked(type, invokerFactory);
 
-		for (int i = 1; i < defaultPhases.length; ++i) {
-			event.addPhaseOrdering(defaultPhases[i-1], defaultPhases[i]);
+		try (RegistrationBatch batch = batchRegistrations()) {
+			for (int i = 1; i < defaultPhases.length; ++i) {
+				event.addPhaseOrdering(defaultPhases[i-1], defaultPhases[i]);
+			}
 		}
 
 		return event;
 	}
 
+	/**
+	 * Start a batch of registrations on the current thread.
+	 *
+	 * <p>Normally, every call to {@link Event#register} or {@link Event#addPhaseOrdering} rebuilds the invoker of the event,
+	 * which makes registering many listeners quadratic in the number of listeners.
+	 * While a batch is open, events modified on the current thread only rebuild their invoker once, when the batch is closed.
+	 * Until then, {@link Event#invoker()} and {@link Event#hasListeners()} do not reflect the new listeners.
+	 *
+	 * <p>Batches may be nested, in which case the invokers are rebuilt when the outermost batch is closed.
+	 * The batch must be closed on the thread that opened it, ideally with a try-with-resources statement:
+	 * <pre>{@code
+	 * try (EventFactory.RegistrationBatch batch = EventFactory.batchRegistrations()) {
+	 *     for (MyListener listener : listeners) {
+	 *         MyCallback.EVENT.register(listener);
+	 *     }
+	 * }
+	 * }</pre>
+	 *
+	 * @return The batch, to be closed once all registrations are done.
+	 */
+	public static RegistrationBatch batchRegistrations() {
+		return EventFactoryImpl.batchRegistrations();
+	}
+
 	/**
 	 * @deprecated This is not to be used in events anymore.
 	 */
@@ -136,4 +235,29 @@ public final class EventFactory {
 	public static void invalidate() {
 		EventFactoryImpl.invalidate();
 	}
+
+	/**
+	 * Calls an action for each listener of a parallel event, see {@link #createParallel}.
+	 *
+	 * @param <T> The listener type.
+	 */
+	@ApiStatus.NonExtendable
+	public interface ParallelDispatcher<T> {
+		/**
+		 * Call {@code action} for each listener, possibly concurrently, and wait for all of them to complete.
+		 */
+		void dispatch(Consumer<? super T> action);
+	}
+
+	/**
+	 * A batch of registrations, see {@link #batchRegistrations()}.
+	 */
+	@ApiStatus.NonExtendable
+	public interface RegistrationBatch extends AutoCloseable {
+		/**
+		 * Close this batch, rebuilding the invokers of the modified events if this is the outermost batch.
+		 */
+		@Override
+		void close();
+	}
 }
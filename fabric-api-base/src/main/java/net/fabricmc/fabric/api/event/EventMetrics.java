@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.event;
+
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.impl.base.event.EventMetricsImpl;
+
+/**
+ * Per-listener invocation metrics for events created by {@link EventFactory}.
+ *
+ * <p>Metrics are disabled by default, and cost nothing while disabled. When they are enabled,
+ * the invokers of all events are rebuilt with every listener wrapped in a timing wrapper,
+ * which records the number of invocations as well as the total and maximum time spent in the listener.
+ * The timings include the time spent in nested events, and invocations that throw an exception are not recorded.
+ *
+ * <p>Metrics can also be enabled from startup with the {@code fabric.event.metrics} system property,
+ * and are available in game through the {@code /fabric events} command of Fabric Command API (v2).
+ *
+ * <p>Individual slow invocations can also be recorded with the JDK Flight Recorder, by enabling the
+ * {@code fabric.EventListenerInvocation} event in a recording, for example with
+ * {@code -XX:StartFlightRecording:fabric.EventListenerInvocation#enabled=true,fabric.EventListenerInvocation#threshold=5ms}.
+ * Listeners are wrapped in the same way while such a recording is running, whether metrics are enabled or not,
+ * and invocations shorter than the threshold of the recording are not recorded.
+ */
+@ApiStatus.Experimental
+public final class EventMetrics {
+	private EventMetrics() {
+	}
+
+	/**
+	 * @return {@code true} if listener invocations are currently being recorded.
+	 */
+	public static boolean isEnabled() {
+		return EventMetricsImpl.isEnabled();
+	}
+
+	/**
+	 * Enable or disable the recording of listener invocations.
+	 * This rebuilds the invokers of all events, so it should not be called frequently.
+	 * Recorded metrics are kept when recording is disabled.
+	 */
+	public static void setEnabled(boolean enabled) {
+		EventMetricsImpl.setEnabled(enabled);
+	}
+
+	/**
+	 * Clear all recorded metrics.
+	 */
+	public static void reset() {
+		EventMetricsImpl.reset();
+	}
+
+	/**
+	 * @return A snapshot of the metrics of all listeners that were invoked at least once,
+	 * sorted by decreasing total time.
+	 */
+	public static List<ListenerMetrics> getListenerMetrics() {
+		return EventMetricsImpl.getListenerMetrics();
+	}
+
+	/**
+	 * Invocation metrics of a single listener.
+	 */
+	@ApiStatus.NonExtendable
+	public interface ListenerMetrics {
+		/**
+		 * @return A human-readable name of the event, usually the name of the field holding it.
+		 */
+		String getEventName();
+
+		/**
+		 * @return The phase the listener was registered for.
+		 */
+		Identifier getPhase();
+
+		/**
+		 * @return The id of the mod owning the class of the listener, or {@code "unknown"} if it could not be determined.
+		 */
+		String getModId();
+
+		/**
+		 * @return The name of the class of the listener.
+		 */
+		String getListenerName();
+
+		long getInvocations();
+
+		long getTotalNanos();
+
+		long getMaxNanos();
+	}
+}
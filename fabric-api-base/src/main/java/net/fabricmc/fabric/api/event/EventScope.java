@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * A group of {@linkplain EventSubscription event subscriptions} that are all unregistered when the scope is closed.
+ * This is useful for listeners that are only relevant while some object is alive, for example a world or a screen.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * EventScope scope = new EventScope();
+ * scope.subscribe(ServerTickEvents.END_SERVER_TICK, server -> { ... });
+ * scope.subscribe(ServerEntityEvents.ENTITY_LOAD, (entity, world) -> { ... });
+ * // Unregister both listeners:
+ * scope.close();
+ * }</pre>
+ *
+ * <p>This class is thread-safe.
+ */
+public final class EventScope implements AutoCloseable {
+	/**
+	 * Subscriptions that are still open, in subscription order. Guarded by this.
+	 */
+	private final Set<ScopedSubscription> subscriptions = new LinkedHashSet<>();
+	private boolean closed = false;
+
+	/**
+	 * Register a listener to an event in the default phase, until this scope or the returned subscription is closed.
+	 *
+	 * @throws IllegalStateException If this scope is closed.
+	 */
+	public <T> EventSubscription subscribe(Event<T> event, T listener) {
+		return subscribe(event, Event.DEFAULT_PHASE, listener);
+	}
+
+	/**
+	 * Register a listener to an event for the specified phase, until this scope or the returned subscription is closed.
+	 *
+	 * @throws IllegalStateException If this scope is closed.
+	 */
+	public <T> EventSubscription subscribe(Event<T> event, Identifier phase, T listener) {
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("Tried to subscribe to an event in a closed scope.");
+			}
+
+			// Subscribe while holding the lock so that a concurrent close can't miss the subscription.
+			ScopedSubscription subscription = new ScopedSubscription(event.subscribe(phase, listener));
+			subscriptions.add(subscription);
+			return subscription;
+		}
+	}
+
+	/**
+	 * @return {@code true} if this scope was closed.
+	 */
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Unregister all the listeners of this scope, in reverse subscription order.
+	 * Subscribing to a closed scope is not allowed, and calling this method more than once has no effect.
+	 */
+	@Override
+	public void close() {
+		List<ScopedSubscription> toClose;
+
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			toClose = new ArrayList<>(subscriptions);
+			subscriptions.clear();
+		}
+
+		for (int i = toClose.size() - 1; i >= 0; --i) {
+			toClose.get(i).delegate.close();
+		}
+	}
+
+	private synchronized void remove(ScopedSubscription subscription) {
+		subscriptions.remove(subscription);
+	}
+
+	private final class ScopedSubscription implements EventSubscription {
+		private final EventSubscription delegate;
+
+		private ScopedSubscription(EventSubscription delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+			remove(this);
+		}
+	}
+}
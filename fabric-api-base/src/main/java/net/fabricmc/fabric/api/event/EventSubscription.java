@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.event;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A listener registered with {@link Event#subscribe}, that can be unregistered by closing the subscription.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * EventSubscription subscription = ServerTickEvents.END_SERVER_TICK.subscribe(server -> {
+ *     // ...
+ * });
+ * // Later, when the listener is no longer needed:
+ * subscription.close();
+ * }</pre>
+ *
+ * @see EventScope
+ */
+@ApiStatus.NonExtendable
+public interface EventSubscription extends AutoCloseable {
+	/**
+	 * Unregister the listener from the event. Calling this method more than once has no effect.
+	 *
+	 * <p>If the same listener was subscribed to the same phase several times, one occurrence is removed per subscription.
+	 * Invocations of the event that are already in progress may still call the listener.
+	 */
+	@Override
+	void close();
+}
@@ -16,24 +16,56 @@
 
 package net.fabricmc.fabric.impl.base.event;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventSubscription;
 import net.fabricmc.fabric.impl.base.toposort.NodeSorting;
 
 class ArrayBackedEvent<T> extends Event<T> {
+	private static final VarHandle SNAPSHOT;
+
+	static {
+		try {
+			SNAPSHOT = MethodHandles.lookup().findVarHandle(ArrayBackedEvent.class, "snapshot", ArrayBackedEvent.Snapshot.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private final Class<? super T> type;
+	/**
+	 * Creates the invoker from all the listeners. Exactly one of this and {@link #phasedInvokerFactory} is not {@code null}.
+	 */
+	@Nullable
 	private final Function<T[], T> invokerFactory;
-	private final Object lock = new Object();
-	private T[] handlers;
+	/**
+	 * Creates the invoker from the listeners of each non-empty phase, in separate arrays.
+	 */
+	@Nullable
+	private final Function<T[][], T> phasedInvokerFactory;
+	/**
+	 * Guards {@link #phases}, {@link #sortedPhases} and the links between phases.
+	 * Only taken to create or order phases: registering a listener for an existing phase never blocks.
+	 */
+	private final Object phaseLock = new Object();
 	/**
 	 * Registered event phases.
 	 */
@@ -42,16 +74,149 @@ class ArrayBackedEvent<T> extends Event<T> {
 	 * Phases sorted in the correct dependency order.
 	 */
 	private final List<EventPhaseData<T>> sortedPhases = new ArrayList<>();
+	private final Comparator<EventPhaseData<T>> phaseComparator = Comparator.comparing(data -> data.id);
+	/**
+	 * Current state of the listeners and its invoker, only replaced through {@link #SNAPSHOT}.
+	 */
+	private volatile Snapshot snapshot;
+	/**
+	 * Name of this event for {@link EventMetricsImpl}, computed lazily.
+	 */
+	private volatile String name;
 
-	@SuppressWarnings("unchecked")
 	ArrayBackedEvent(Class<? super T> type, Function<T[], T> invokerFactory) {
+		this(type, invokerFactory, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	ArrayBackedEvent(Class<? super T> type, @Nullable Function<T[], T> invokerFactory, @Nullable Function<T[][], T> phasedInvokerFactory) {
+		this.type = type;
 		this.invokerFactory = invokerFactory;
-		this.handlers = (T[]) Array.newInstance(type, 0);
-		update();
+		this.phasedInvokerFactory = phasedInvokerFactory;
+		this.snapshot = rebuild(new EventPhaseData[0], (T[][]) Array.newInstance(type.arrayType(), 0));
 	}
 
+	/**
+	 * Return the invoker of the current snapshot, so that the invoker and the listeners are published together.
+	 */
+	@Override
+	public T invoker() {
+		return snapshot.getInvoker();
+	}
+
+	/**
+	 * Rebuild the invoker, for example after metrics have been enabled.
+	 */
 	void update() {
-		this.invoker = invokerFactory.apply(handlers);
+		updateSnapshot(current -> rebuild(current.phases, current.phaseListeners));
+	}
+
+	/**
+	 * Replace the snapshot with a CAS loop, so that concurrent modifications don't block each other.
+	 * The update may be applied multiple times, and must therefore not have side effects.
+	 * Snapshots build their invoker lazily, so only the snapshot that won the CAS builds one.
+	 */
+	private void updateSnapshot(UnaryOperator<Snapshot> update) {
+		Snapshot current;
+		Snapshot next;
+
+		do {
+			current = snapshot;
+			next = update.apply(current);
+		} while (!SNAPSHOT.compareAndSet(this, current, next));
+
+		// Build the invoker now rather than on the next invocation.
+		next.getInvoker();
+	}
+
+	/**
+	 * Create a snapshot for the given listeners, whose invoker will be built from scratch.
+	 */
+	private Snapshot rebuild(EventPhaseData<T>[] phases, T[][] phaseListeners) {
+		T[] handlers;
+
+		if (phaseListeners.length == 1) {
+			// Special case with a single phase: use the array of the phase directly.
+			handlers = phaseListeners[0];
+		} else {
+			int length = 0;
+
+			for (T[] listeners : phaseListeners) {
+				length += listeners.length;
+			}
+
+			handlers = newArray(length);
+			int handlersIndex = 0;
+
+			for (T[] listeners : phaseListeners) {
+				System.arraycopy(listeners, 0, handlers, handlersIndex, listeners.length);
+				handlersIndex += listeners.length;
+			}
+		}
+
+		return new Snapshot(phases, phaseListeners, handlers, null);
+	}
+
+	private T createInvoker(EventPhaseData<T>[] phases, T[][] phaseListeners, T[] handlers) {
+		boolean instrumented = EventMetricsImpl.isInstrumented();
+
+		if (phasedInvokerFactory != null) {
+			List<T[]> nonEmptyPhases = new ArrayList<>(phases.length);
+
+			for (int i = 0; i < phases.length; ++i) {
+				if (phaseListeners[i].length != 0) {
+					nonEmptyPhases.add(instrumented ? phases[i].getInstrumentedListeners(this, phaseListeners[i]) : phaseListeners[i]);
+				}
+			}
+
+			@SuppressWarnings("unchecked")
+			T[][] array = (T[][]) Array.newInstance(type.arrayType(), nonEmptyPhases.size());
+			return phasedInvokerFactory.apply(nonEmptyPhases.toArray(array));
+		} else if (instrumented) {
+			// Same array as the handlers, but with the timing wrappers of the listeners.
+			T[] instrumentedHandlers = newArray(handlers.length);
+			int instrumentedIndex = 0;
+
+			for (int i = 0; i < phases.length; ++i) {
+				T[] listeners = phases[i].getInstrumentedListeners(this, phaseListeners[i]);
+				System.arraycopy(listeners, 0, instrumentedHandlers, instrumentedIndex, listeners.length);
+				instrumentedIndex += listeners.length;
+			}
+
+			return invokerFactory.apply(instrumentedHandlers);
+		} else {
+			return invokerFactory.apply(handlers);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] newArray(int length) {
+		return (T[]) Array.newInstance(type, length);
+	}
+
+	Class<? super T> getListenerType() {
+		return type;
+	}
+
+	String getName() {
+		String name = this.name;
+
+		if (name == null) {
+			this.name = name = EventMetricsImpl.findEventName(this);
+		}
+
+		return name;
+	}
+
+	void forEachListenerStats(Consumer<ListenerStats> action) {
+		for (EventPhaseData<T> phase : snapshot.phases) {
+			phase.forEachListenerStats(action);
+		}
+	}
+
+	@Override
+	public boolean hasListeners() {
+		return snapshot.handlers.length != 0;
 	}
 
 	@Override
@@ -64,49 +229,150 @@ class ArrayBackedEvent<T> extends Event<T> {
 		Objects.requireNonNull(phaseIdentifier, "Tried to register a listener for a null phase!");
 		Objects.requireNonNull(listener, "Tried to register a null listener!");
 
-		synchronized (lock) {
-			getOrCreatePhase(phaseIdentifier, true).addListener(listener);
-			rebuildInvoker(handlers.length + 1);
+		if (!EventFactoryImpl.deferRegistration(this, phaseIdentifier, listener)) {
+			PendingListeners<T> pending = new PendingListeners<>();
+			pending.add(phaseIdentifier, listener);
+			addListeners(pending);
 		}
 	}
 
-	private EventPhaseData<T> getOrCreatePhase(Identifier id, boolean sortIfCreate) {
-		EventPhaseData<T> phase = phases.get(id);
+	/**
+	 * Add listeners and rebuild the invoker, with a single copy of the listener arrays.
+	 */
+	void addListeners(PendingListeners<T> pending) {
+		List<EventPhaseData<T>> targetPhases = new ArrayList<>(pending.phases.size());
+
+		for (Identifier phaseIdentifier : pending.phases) {
+			targetPhases.add(getOrCreatePhase(phaseIdentifier));
+		}
+
+		updateSnapshot(current -> {
+			// Phases are never removed, so the target phases are present in every snapshot from now on.
+			int[] phaseIndices = new int[targetPhases.size()];
+			int[] addedCounts = new int[current.phases.length];
 
-		if (phase == null) {
-			phase = new EventPhaseData<>(id, handlers.getClass().getComponentType());
-			phases.put(id, phase);
-			sortedPhases.add(phase);
+			for (int i = 0; i < phaseIndices.length; ++i) {
+				phaseIndices[i] = indexOf(current.phases, targetPhases.get(i));
+				addedCounts[phaseIndices[i]]++;
+			}
+
+			T[][] phaseListeners = current.phaseListeners.clone();
+			int[] insertIndices = new int[phaseListeners.length];
+
+			for (int i = 0; i < phaseListeners.length; ++i) {
+				insertIndices[i] = phaseListeners[i].length;
+
+				if (addedCounts[i] != 0) {
+					phaseListeners[i] = Arrays.copyOf(phaseListeners[i], phaseListeners[i].length + addedCounts[i]);
+				}
+			}
 
-			if (sortIfCreate) {
-				NodeSorting.sort(sortedPhases, "event phases", Comparator.comparing(data -> data.id));
+			for (int i = 0; i < phaseIndices.length; ++i) {
+				phaseListeners[phaseIndices[i]][insertIndices[phaseIndices[i]]++] = pending.listeners.get(i);
+			}
+
+			return rebuild(current.phases, phaseListeners);
+		});
+	}
+
+	@Override
+	public EventSubscription subscribe(Identifier phaseIdentifier, T listener) {
+		Objects.requireNonNull(phaseIdentifier, "Tried to subscribe a listener for a null phase!");
+		Objects.requireNonNull(listener, "Tried to subscribe a null listener!");
+
+		// Not deferred by registration batches, so that the subscription can't be closed before the listener is added.
+		PendingListeners<T> pending = new PendingListeners<>();
+		pending.add(phaseIdentifier, listener);
+		addListeners(pending);
+		return new Subscription<>(this, getOrCreatePhase(phaseIdentifier), listener);
+	}
+
+	/**
+	 * Remove one occurrence of a listener from a phase and rebuild the invoker.
+	 * Removal is as expensive as a registration: only the array of the phase is copied.
+	 */
+	private void removeListener(EventPhaseData<T> phase, T listener) {
+		boolean[] lastOccurrence = new boolean[1];
+
+		updateSnapshot(current -> {
+			int phaseIndex = indexOf(current.phases, phase);
+			T[] listeners = current.phaseListeners[phaseIndex];
+			int listenerIndex = indexOf(listeners, listener);
+			lastOccurrence[0] = false;
+
+			if (listenerIndex < 0) {
+				return current;
+			}
+
+			T[] newListeners = newArray(listeners.length - 1);
+			System.arraycopy(listeners, 0, newListeners, 0, listenerIndex);
+			System.arraycopy(listeners, listenerIndex + 1, newListeners, listenerIndex, newListeners.length - listenerIndex);
+			lastOccurrence[0] = indexOf(newListeners, listener) < 0;
+
+			T[][] phaseListeners = current.phaseListeners.clone();
+			phaseListeners[phaseIndex] = newListeners;
+			return rebuild(current.phases, phaseListeners);
+		});
+
+		if (lastOccurrence[0]) {
+			phase.forgetListener(listener);
+		}
+	}
+
+	private EventPhaseData<T> getOrCreatePhase(Identifier id) {
+		for (EventPhaseData<T> phase : snapshot.phases) {
+			if (phase.id.equals(id)) {
+				return phase;
 			}
 		}
 
-		return phase;
+		synchronized (phaseLock) {
+			EventPhaseData<T> phase = phases.get(id);
+
+			if (phase == null) {
+				phase = new EventPhaseData<>(id);
+				phases.put(id, phase);
+				NodeSorting.insertUnlinked(sortedPhases, phase, phaseComparator);
+				// The new phase is empty, so the invoker doesn't change.
+				publishPhaseOrder(false);
+			}
+
+			return phase;
+		}
 	}
 
-	private void rebuildInvoker(int newLength) {
-		// Rebuild handlers.
-		if (sortedPhases.size() == 1) {
-			// Special case with a single phase: use the array of the phase directly.
-			handlers = sortedPhases.get(0).listeners;
-		} else {
-			@SuppressWarnings("unchecked")
-			T[] newHandlers = (T[]) Array.newInstance(handlers.getClass().getComponentType(), newLength);
-			int newHandlersIndex = 0;
+	/**
+	 * Publish the order of {@link #sortedPhases}, while holding {@link #phaseLock}.
+	 */
+	private void publishPhaseOrder(boolean rebuildInvoker) {
+		@SuppressWarnings("unchecked")
+		EventPhaseData<T>[] newPhases = sortedPhases.toArray(new EventPhaseData[0]);
+
+		updateSnapshot(current -> {
+			T[][] phaseListeners = Arrays.copyOf(current.phaseListeners, newPhases.length);
 
-			for (EventPhaseData<T> existingPhase : sortedPhases) {
-				int length = existingPhase.listeners.length;
-				System.arraycopy(existingPhase.listeners, 0, newHandlers, newHandlersIndex, length);
-				newHandlersIndex += length;
+			for (int i = 0; i < newPhases.length; ++i) {
+				int oldIndex = indexOf(current.phases, newPhases[i]);
+				phaseListeners[i] = oldIndex >= 0 ? current.phaseListeners[oldIndex] : newArray(0);
 			}
 
-			handlers = newHandlers;
+			if (rebuildInvoker) {
+				return rebuild(newPhases, phaseListeners);
+			} else {
+				// The invoker of the current snapshot is built at most once, even if this update is applied again.
+				return new Snapshot(newPhases, phaseListeners, current.handlers, current.getInvoker());
+			}
+		});
+	}
+
+	private static int indexOf(Object[] array, Object element) {
+		for (int i = 0; i < array.length; ++i) {
+			if (array[i] == element) {
+				return i;
+			}
 		}
 
-		// Rebuild invoker.
-		update();
+		return -1;
 	}
 
 	@Override
@@ -115,12 +381,96 @@ class ArrayBackedEvent<T> extends Event<T> {
 		Objects.requireNonNull(secondPhase, "Tried to add an ordering for a null phase.");
 		if (firstPhase.equals(secondPhase)) throw new IllegalArgumentException("Tried to add a phase that depends on itself.");
 
-		synchronized (lock) {
-			EventPhaseData<T> first = getOrCreatePhase(firstPhase, false);
-			EventPhaseData<T> second = getOrCreatePhase(secondPhase, false);
-			EventPhaseData.link(first, second);
-			NodeSorting.sort(this.sortedPhases, "event phases", Comparator.comparing(data -> data.id));
-			rebuildInvoker(handlers.length);
+		synchronized (phaseLock) {
+			EventPhaseData<T> first = getOrCreatePhase(firstPhase);
+			EventPhaseData<T> second = getOrCreatePhase(secondPhase);
+
+			if (NodeSorting.link(sortedPhases, first, second, "event phases", phaseComparator)) {
+				publishPhaseOrder(!EventFactoryImpl.deferRebuild(this));
+			}
+		}
+	}
+
+	/**
+	 * Immutable state of the listeners. Arrays are never modified once they are part of a snapshot.
+	 * During a {@linkplain EventFactoryImpl#batchRegistrations() registration batch}, {@code handlers} and the invoker
+	 * may have been built from older phases than {@code phases} and {@code phaseListeners}.
+	 */
+	private final class Snapshot {
+		/**
+		 * The phases, in sorted order.
+		 */
+		final EventPhaseData<T>[] phases;
+		/**
+		 * The listeners of each phase, in the same order as {@link #phases}.
+		 */
+		final T[][] phaseListeners;
+		/**
+		 * The listeners of all phases, in order.
+		 */
+		final T[] handlers;
+		/**
+		 * The invoker built from {@link #handlers}, or {@code null} if it wasn't built yet.
+		 */
+		@Nullable
+		private volatile T invoker;
+
+		private Snapshot(EventPhaseData<T>[] phases, T[][] phaseListeners, T[] handlers, @Nullable T invoker) {
+			this.phases = phases;
+			this.phaseListeners = phaseListeners;
+			this.handlers = handlers;
+			this.invoker = invoker;
+		}
+
+		T getInvoker() {
+			T invoker = this.invoker;
+			return invoker != null ? invoker : buildInvoker();
+		}
+
+		private synchronized T buildInvoker() {
+			T invoker = this.invoker;
+
+			if (invoker == null) {
+				this.invoker = invoker = createInvoker(phases, phaseListeners, handlers);
+			}
+
+			return invoker;
+		}
+	}
+
+	/**
+	 * Registration of a single listener, removed the first time it is closed.
+	 */
+	private static final class Subscription<T> implements EventSubscription {
+		private final ArrayBackedEvent<T> event;
+		private final EventPhaseData<T> phase;
+		private final T listener;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private Subscription(ArrayBackedEvent<T> event, EventPhaseData<T> phase, T listener) {
+			this.event = event;
+			this.phase = phase;
+			this.listener = listener;
+		}
+
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true)) {
+				event.removeListener(phase, listener);
+			}
+		}
+	}
+
+	/**
+	 * Listeners to add to an event at once, each with its phase.
+	 */
+	static final class PendingListeners<T> {
+		private final List<Identifier> phases = new ArrayList<>();
+		private final List<T> listeners = new ArrayList<>();
+
+		void add(Identifier phase, T listener) {
+			phases.add(phase);
+			listeners.add(listener);
 		}
 	}
 }
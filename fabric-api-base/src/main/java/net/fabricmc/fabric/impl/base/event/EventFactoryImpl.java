@@ -16,27 +16,37 @@
 
 package net.fabricmc.fabric.impl.base.event;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
-import java.lang.reflect.Array;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.Proxy;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.MapMaker;
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
 
 public final class EventFactoryImpl {
-	private static final Set<ArrayBackedEvent<?>> ARRAY_BACKED_EVENTS
+	static final Set<ArrayBackedEvent<?>> ARRAY_BACKED_EVENTS
 			= Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
 
+	/**
+	 * Whether events created with {@link #createSequential} use generated unrolled invokers, see {@link InvokerGenerator}.
+	 * Opt-in for now, since each invoker rebuild defines a new hidden class.
+	 * This does not affect empty invokers, of which there is only one class per listener type.
+	 */
+	private static final boolean GENERATE_INVOKERS = Boolean.getBoolean("fabric.event.generateInvokers");
+
+	/**
+	 * The registration batch open on each thread, if any.
+	 */
+	private static final ThreadLocal<RegistrationBatchImpl> CURRENT_BATCH = new ThreadLocal<>();
+
 	private EventFactoryImpl() { }
 
 	public static void invalidate() {
@@ -49,77 +59,138 @@ public final class EventFactoryImpl {
 		return event;
 	}
 
-	public static void ensureContainsDefault(Identifier[] defaultPhases) {
-		for (Identifier id : defaultPhases) {
-			if (id.equals(Event.DEFAULT_PHASE)) {
-				return;
+	public static <T> Event<T> createSequential(Class<T> type, @Nullable Object passValue, Function<T[], T> invokerFactory) {
+		return createSequential(type, passValue, invokerFactory, GENERATE_INVOKERS);
+	}
+
+	/**
+	 * Same as {@link #createSequential(Class, Object, Function)}, but with generated invokers forced on or off.
+	 */
+	@VisibleForTesting
+	public static <T> Event<T> createSequential(Class<T> type, @Nullable Object passValue, Function<T[], T> invokerFactory, boolean generateInvokers) {
+		InvokerGenerator.checkPassValue(type, passValue);
+
+		return createArrayBacked(type, listeners -> {
+			if (listeners.length == 0) {
+				T invoker = InvokerGenerator.empty(type, passValue);
+
+				if (invoker != null) {
+					return invoker;
+				}
+			} else if (listeners.length == 1) {
+				return listeners[0];
 			}
-		}
 
-		throw new IllegalArgumentException("The event phases must contain Event.DEFAULT_PHASE.");
-	}
+			if (generateInvokers) {
+				T invoker = InvokerGenerator.unrolled(type, listeners, passValue);
 
-	public static void ensureNoDuplicates(Identifier[] defaultPhases) {
-		for (int i = 0; i < defaultPhases.length; ++i) {
-			for (int j = i+1; j < defaultPhases.length; ++j) {
-				if (defaultPhases[i].equals(defaultPhases[j])) {
-					throw new IllegalArgumentException("Duplicate event phase: " + defaultPhases[i]);
+				if (invoker != null) {
+					return invoker;
 				}
 			}
-		}
+
+			return invokerFactory.apply(listeners);
+		});
 	}
 
-	// Code originally by sfPlayer1.
-	// Unfortunately, it's slightly slower than just passing an empty array in the first place.
-	private static <T> T buildEmptyInvoker(Class<T> handlerClass, Function<T[], T> invokerSetup) {
-		// find the functional interface method
-		Method funcIfMethod = null;
+	public static <T> Event<T> createParallel(Class<? super T> type, Function<EventFactory.ParallelDispatcher<T>, T> invokerFactory) {
+		ArrayBackedEvent<T> event = new ArrayBackedEvent<>(type, null, phases -> invokerFactory.apply(new ParallelDispatcherImpl<>(phases)));
+		ARRAY_BACKED_EVENTS.add(event);
+		return event;
+	}
 
-		for (Method m : handlerClass.getMethods()) {
-			if ((m.getModifiers() & (Modifier.STRICT | Modifier.PRIVATE)) == 0) {
-				if (funcIfMethod != null) {
-					throw new IllegalStateException("Multiple virtual methods in " + handlerClass + "; cannot build empty invoker!");
-				}
+	public static EventFactory.RegistrationBatch batchRegistrations() {
+		RegistrationBatchImpl batch = CURRENT_BATCH.get();
 
-				funcIfMethod = m;
-			}
+		if (batch == null) {
+			batch = new RegistrationBatchImpl();
+			CURRENT_BATCH.set(batch);
 		}
 
-		if (funcIfMethod == null) {
-			throw new IllegalStateException("No virtual methods in " + handlerClass + "; cannot build empty invoker!");
+		batch.depth++;
+		return batch;
+	}
+
+	/**
+	 * Add a listener to the current batch instead of registering it immediately, if there is a batch.
+	 *
+	 * @return {@code true} if the registration was deferred, {@code false} if the caller must register the listener immediately
+	 */
+	static <T> boolean deferRegistration(ArrayBackedEvent<T> event, Identifier phase, T listener) {
+		RegistrationBatchImpl batch = CURRENT_BATCH.get();
+
+		if (batch == null) {
+			return false;
 		}
 
-		Object defValue = null;
+		batch.getPendingListeners(event).add(phase, listener);
+		return true;
+	}
+
+	/**
+	 * Defer the invoker rebuild of an event to the end of the current batch, if there is one.
+	 *
+	 * @return {@code true} if the rebuild was deferred, {@code false} if the caller must rebuild the invoker immediately
+	 */
+	static boolean deferRebuild(ArrayBackedEvent<?> event) {
+		RegistrationBatchImpl batch = CURRENT_BATCH.get();
+
+		if (batch == null) {
+			return false;
+		}
+
+		batch.getPendingListeners(event);
+		return true;
+	}
+
+	private static final class RegistrationBatchImpl implements EventFactory.RegistrationBatch {
+		/**
+		 * Listeners to add to each modified event. Events whose phases were reordered may have no pending listeners.
+		 */
+		private final Map<ArrayBackedEvent<?>, ArrayBackedEvent.PendingListeners<?>> pendingEvents = new LinkedHashMap<>();
+		private int depth = 0;
 
-		try {
-			// concert to mh, determine its type without the "this" reference
-			MethodHandle target = MethodHandles.lookup().unreflect(funcIfMethod);
-			MethodType type = target.type().dropParameterTypes(0, 1);
+		@SuppressWarnings("unchecked")
+		private <T> ArrayBackedEvent.PendingListeners<T> getPendingListeners(ArrayBackedEvent<T> event) {
+			return (ArrayBackedEvent.PendingListeners<T>) pendingEvents.computeIfAbsent(event, e -> new ArrayBackedEvent.PendingListeners<>());
+		}
 
-			if (type.returnType() != void.class) {
-				// determine default return value by invoking invokerSetup.apply(T[0]) with all-jvm-default args (null for refs, false for boolean, etc.)
-				// explicitCastArguments is being used to cast Object=null to the jvm default value for the correct type
+		@SuppressWarnings("unchecked")
+		private static <T> void addListeners(ArrayBackedEvent<T> event, ArrayBackedEvent.PendingListeners<?> pending) {
+			event.addListeners((ArrayBackedEvent.PendingListeners<T>) pending);
+		}
 
-				// construct method desc (TLjava/lang/Object;Ljava/lang/Object;...)R where T = invoker ref ("this"), R = invoker ret type and args 1+ are Object for each non-"this" invoker arg
-				MethodType objTargetType = MethodType.genericMethodType(type.parameterCount()).changeReturnType(type.returnType()).insertParameterTypes(0, target.type().parameterType(0));
-				// explicit cast to translate to the invoker args from Object to their real type, inferring jvm default values
-				MethodHandle objTarget = MethodHandles.explicitCastArguments(target, objTargetType);
+		@Override
+		public void close() {
+			if (CURRENT_BATCH.get() != this || depth <= 0) {
+				throw new IllegalStateException("Registration batch closed twice or from another thread.");
+			}
 
-				// build invocation args with 0 = "this", 1+ = null
-				Object[] args = new Object[target.type().parameterCount()];
-				//noinspection unchecked
-				args[0] = invokerSetup.apply((T[]) Array.newInstance(handlerClass, 0));
+			if (--depth == 0) {
+				CURRENT_BATCH.remove();
+				pendingEvents.forEach(RegistrationBatchImpl::addListeners);
+				pendingEvents.clear();
+			}
+		}
+	}
 
-				// retrieve default by invoking invokerSetup.apply(T[0]).targetName(def,def,...)
-				defValue = objTarget.invokeWithArguments(args);
+	public static void ensureContainsDefault(Identifier[] defaultPhases) {
+		for (Identifier id : defaultPhases) {
+			if (id.equals(Event.DEFAULT_PHASE)) {
+				return;
 			}
-		} catch (Throwable t) {
-			throw new RuntimeException(t);
 		}
 
-		final Object returnValue = defValue;
-		//noinspection unchecked
-		return (T) Proxy.newProxyInstance(EventFactoryImpl.class.getClassLoader(), new Class[]{handlerClass},
-			(proxy, method, args) -> returnValue);
+		throw new IllegalArgumentException("The event phases must contain Event.DEFAULT_PHASE.");
+	}
+
+	public static void ensureNoDuplicates(Identifier[] defaultPhases) {
+		for (int i = 0; i < defaultPhases.length; ++i) {
+			for (int j = i+1; j < defaultPhases.length; ++j) {
+				if (defaultPhases[i].equals(defaultPhases[j])) {
+					throw new IllegalArgumentException("Duplicate event phase: " + defaultPhases[i]);
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.base.event;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventMetrics;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.fabricmc.loader.api.metadata.ModOrigin;
+
+/**
+ * Implementation of {@link EventMetrics}.
+ *
+ * <p>When enabled, {@link ArrayBackedEvent} passes timing wrappers of its listeners to the invoker factory
+ * instead of the listeners themselves. Swapping the invokers rather than checking a flag in every invocation
+ * means that disabled metrics have no cost at all.
+ *
+ * <p>The same wrappers report slow invocations to the JDK Flight Recorder as {@link ListenerInvocationEvent}s.
+ * They are only installed while a recording has that event enabled, independently of the metrics.
+ */
+public final class EventMetricsImpl {
+	private static final String UNKNOWN_MOD = "unknown";
+	private static volatile boolean enabled = Boolean.getBoolean("fabric.event.metrics");
+	/**
+	 * Owning mod of each code source location, to avoid scanning all mods for every listener.
+	 */
+	private static final Map<String, String> MOD_IDS = new ConcurrentHashMap<>();
+	/**
+	 * Whether a flight recording has {@link ListenerInvocationEvent} enabled, which also requires the timing wrappers.
+	 */
+	private static volatile boolean flightRecorderActive = false;
+
+	static {
+		// The jdk.jfr module may be missing from custom runtime images, in which case the event class can't be loaded.
+		if (ModuleLayer.boot().findModule("jdk.jfr").isPresent() && !Boolean.getBoolean("fabric.event.disableFlightRecorder")) {
+			flightRecorderActive = ListenerInvocationEvent.registerRecorderListener();
+		}
+	}
+
+	private EventMetricsImpl() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static synchronized void setEnabled(boolean enabled) {
+		if (EventMetricsImpl.enabled != enabled) {
+			boolean wasInstrumented = isInstrumented();
+			EventMetricsImpl.enabled = enabled;
+
+			if (isInstrumented() != wasInstrumented) {
+				EventFactoryImpl.invalidate();
+			}
+		}
+	}
+
+	static boolean isFlightRecorderActive() {
+		return flightRecorderActive;
+	}
+
+	static synchronized void setFlightRecorderActive(boolean active) {
+		if (flightRecorderActive != active) {
+			boolean wasInstrumented = isInstrumented();
+			flightRecorderActive = active;
+
+			if (isInstrumented() != wasInstrumented) {
+				EventFactoryImpl.invalidate();
+			}
+		}
+	}
+
+	/**
+	 * @return {@code true} if invokers should be built from the timing wrappers of the listeners.
+	 */
+	static boolean isInstrumented() {
+		return enabled || flightRecorderActive;
+	}
+
+	public static void reset() {
+		for (ArrayBackedEvent<?> event : EventFactoryImpl.ARRAY_BACKED_EVENTS) {
+			event.forEachListenerStats(ListenerStats::reset);
+		}
+	}
+
+	public static List<EventMetrics.ListenerMetrics> getListenerMetrics() {
+		List<EventMetrics.ListenerMetrics> metrics = new ArrayList<>();
+
+		for (ArrayBackedEvent<?> event : EventFactoryImpl.ARRAY_BACKED_EVENTS) {
+			event.forEachListenerStats(stats -> {
+				EventMetrics.ListenerMetrics snapshot = stats.snapshot();
+
+				if (snapshot != null) {
+					metrics.add(snapshot);
+				}
+			});
+		}
+
+		metrics.sort(Comparator.comparingLong(EventMetrics.ListenerMetrics::getTotalNanos).reversed());
+		return metrics;
+	}
+
+	/**
+	 * Find the name of the static field holding an event, looking into the listener type and its enclosing classes.
+	 */
+	static String findEventName(ArrayBackedEvent<?> event) {
+		Class<?> type = event.getListenerType();
+
+		for (Class<?> owner = type; owner != null; owner = owner.getEnclosingClass()) {
+			for (Field field : owner.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) || !Event.class.isAssignableFrom(field.getType())) {
+					continue;
+				}
+
+				try {
+					if (field.trySetAccessible() && field.get(null) == event) {
+						return owner.getSimpleName() + "." + field.getName();
+					}
+				} catch (ReflectiveOperationException ignored) {
+					// Try the other fields
+				}
+			}
+		}
+
+		return type.getName() + "@" + Integer.toHexString(System.identityHashCode(event));
+	}
+
+	/**
+	 * Find the id of the mod that a class was loaded from, by comparing its code source with the paths of each mod.
+	 * Nested mods are loaded from extracted jars that their origin doesn't list,
+	 * so they are found by looking for the class file in the root paths of each mod instead.
+	 */
+	static String getModId(Class<?> cls) {
+		CodeSource codeSource = cls.getProtectionDomain().getCodeSource();
+
+		if (codeSource == null || codeSource.getLocation() == null) {
+			return UNKNOWN_MOD;
+		}
+
+		return MOD_IDS.computeIfAbsent(codeSource.getLocation().toString(), location -> {
+			Path path;
+
+			try {
+				path = Path.of(codeSource.getLocation().toURI()).toAbsolutePath().normalize();
+			} catch (Exception e) {
+				path = null;
+			}
+
+			if (path != null) {
+				for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+					if (mod.getOrigin().getKind() != ModOrigin.Kind.PATH) {
+						continue;
+					}
+
+					for (Path modPath : mod.getOrigin().getPaths()) {
+						if (modPath.toAbsolutePath().normalize().equals(path)) {
+							return mod.getMetadata().getId();
+						}
+					}
+				}
+			}
+
+			// Lambdas are hidden classes without a class file, but their host class is in the same mod.
+			String className = cls.getName();
+			int lambdaIndex = className.indexOf("$$Lambda");
+
+			if (lambdaIndex >= 0) {
+				className = className.substring(0, lambdaIndex);
+			}
+
+			String classFile = className.replace('.', '/') + ".class";
+
+			for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+				if (mod.getOrigin().getKind() != ModOrigin.Kind.NESTED) {
+					continue;
+				}
+
+				for (Path rootPath : mod.getRootPaths()) {
+					if (Files.isRegularFile(rootPath.resolve(classFile))) {
+						return mod.getMetadata().getId();
+					}
+				}
+			}
+
+			return UNKNOWN_MOD;
+		});
+	}
+}
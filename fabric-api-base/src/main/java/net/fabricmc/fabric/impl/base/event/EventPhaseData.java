@@ -16,34 +16,72 @@
 
 package net.fabricmc.fabric.impl.base.event;
 
-import java.lang.reflect.Array;
-import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.impl.base.toposort.SortableNode;
 
 /**
- * Data of an {@link ArrayBackedEvent} phase.
+ * Data of an {@link ArrayBackedEvent} phase. The listeners themselves are stored in the snapshots of the event.
  */
 class EventPhaseData<T> extends SortableNode<EventPhaseData<T>> {
 	final Identifier id;
-	T[] listeners;
+	/**
+	 * Timing wrappers of the listeners and their stats, created lazily for {@link EventMetricsImpl}.
+	 * Keyed by identity since listeners may be removed from the middle of a phase.
+	 * Guarded by this, since invokers may be built concurrently.
+	 */
+	private final Map<T, InstrumentedListener<T>> instrumentedListeners = new IdentityHashMap<>();
 
-	@SuppressWarnings("unchecked")
-	EventPhaseData(Identifier id, Class<?> listenerClass) {
+	EventPhaseData(Identifier id) {
 		this.id = id;
-		this.listeners = (T[]) Array.newInstance(listenerClass, 0);
 	}
 
-	void addListener(T listener) {
-		int oldLength = listeners.length;
-		listeners = Arrays.copyOf(listeners, oldLength + 1);
-		listeners[oldLength] = listener;
+	/**
+	 * Get the timing wrappers of the listeners of this phase, reusing the wrappers of known listeners.
+	 */
+	synchronized T[] getInstrumentedListeners(ArrayBackedEvent<T> event, T[] listeners) {
+		T[] instrumented = listeners.clone();
+
+		for (int i = 0; i < listeners.length; ++i) {
+			instrumented[i] = instrumentedListeners.computeIfAbsent(listeners[i], listener -> {
+				ListenerStats stats = new ListenerStats(event, id, listener);
+				T timed = InvokerGenerator.timed(event.getListenerType(), listener, stats);
+				return timed != null ? new InstrumentedListener<>(timed, stats) : new InstrumentedListener<>(listener, null);
+			}).wrapper();
+		}
+
+		return instrumented;
+	}
+
+	/**
+	 * Drop the timing wrapper of a listener that is no longer registered to this phase.
+	 */
+	synchronized void forgetListener(T listener) {
+		instrumentedListeners.remove(listener);
+	}
+
+	synchronized void forEachListenerStats(Consumer<ListenerStats> action) {
+		for (InstrumentedListener<T> instrumented : instrumentedListeners.values()) {
+			if (instrumented.stats() != null) {
+				action.accept(instrumented.stats());
+			}
+		}
 	}
 
 	@Override
 	protected String getDescription() {
 		return id.toString();
 	}
+
+	/**
+	 * @param stats {@code null} for listeners that could not be wrapped.
+	 */
+	private record InstrumentedListener<T>(T wrapper, @Nullable ListenerStats stats) {
+	}
 }
@@ -0,0 +1,563 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.base.event;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spins hidden classes implementing a listener interface, with the listeners stored in {@code static final} fields.
+ * Since the JIT treats such fields as constants, every call site in the generated invoker is monomorphic
+ * and the listeners can be inlined into it, unlike with the usual loop over the listener array.
+ */
+final class InvokerGenerator {
+	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-api-base");
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final String PACKAGE_PREFIX = InvokerGenerator.class.getPackageName().replace('.', '/') + "/";
+	/**
+	 * Huge methods are never compiled by HotSpot, so don't unroll more than this many listeners.
+	 */
+	static final int MAX_UNROLLED_LISTENERS = 128;
+	/**
+	 * Constructors of the no-op invoker classes, taking the value to return, which is ignored for {@code void} methods.
+	 * {@code null} if the listener type cannot be implemented.
+	 */
+	private static final ClassValue<MethodHandle> EMPTY_CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected MethodHandle computeValue(Class<?> type) {
+			return generateEmpty(type);
+		}
+	};
+	/**
+	 * Constructors of the timing wrapper classes, taking the listener and its {@link ListenerStats}.
+	 * {@code null} if the listener type cannot be implemented.
+	 */
+	private static final ClassValue<MethodHandle> TIMED_CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected MethodHandle computeValue(Class<?> type) {
+			return generateTimed(type);
+		}
+	};
+
+	private InvokerGenerator() {
+	}
+
+	/**
+	 * Find the single abstract method of a functional interface.
+	 *
+	 * @throws IllegalArgumentException if the class is not a functional interface
+	 */
+	static Method findFunctionalMethod(Class<?> type) {
+		if (!type.isInterface()) {
+			throw new IllegalArgumentException(type + " is not an interface.");
+		}
+
+		Method functionalMethod = null;
+
+		for (Method method : type.getMethods()) {
+			if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)) {
+				continue;
+			}
+
+			if (functionalMethod != null && !(functionalMethod.getName().equals(method.getName())
+					&& Arrays.equals(functionalMethod.getParameterTypes(), method.getParameterTypes()))) {
+				throw new IllegalArgumentException("Multiple abstract methods in " + type + ", it is not a functional interface.");
+			}
+
+			functionalMethod = method;
+		}
+
+		if (functionalMethod == null) {
+			throw new IllegalArgumentException("No abstract method in " + type + ", it is not a functional interface.");
+		}
+
+		return functionalMethod;
+	}
+
+	private static boolean isObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Check that {@code passValue} can be returned by the functional method of {@code type}.
+	 *
+	 * @throws IllegalArgumentException if it can't
+	 */
+	static void checkPassValue(Class<?> type, @Nullable Object passValue) {
+		Class<?> returnType = findFunctionalMethod(type).getReturnType();
+
+		if (returnType == void.class) {
+			if (passValue != null) {
+				throw new IllegalArgumentException("The pass value of an event returning void must be null.");
+			}
+		} else if (returnType.isPrimitive()) {
+			if (passValue == null || MethodType.methodType(returnType).wrap().returnType() != passValue.getClass()) {
+				throw new IllegalArgumentException("The pass value " + passValue + " does not match return type " + returnType + ".");
+			}
+		} else if (passValue != null && !returnType.isInstance(passValue)) {
+			throw new IllegalArgumentException("The pass value " + passValue + " does not match return type " + returnType + ".");
+		}
+	}
+
+	/**
+	 * Build an invoker calling the listeners in order, stopping at the first one returning something other than
+	 * {@code passValue}, and returning that. If all listeners pass, {@code passValue} is returned.
+	 *
+	 * @return the invoker, or {@code null} if it could not be generated for this listener type
+	 */
+	@Nullable
+	static <T> T unrolled(Class<? super T> type, T[] listeners, @Nullable Object passValue) {
+		if (listeners.length > MAX_UNROLLED_LISTENERS || !canImplement(type)) {
+			return null;
+		}
+
+		Method method = findFunctionalMethod(type);
+		Class<?> returnType = method.getReturnType();
+
+		if (returnType == float.class || returnType == double.class) {
+			// No sane event compares floating point results, don't bother.
+			return null;
+		}
+
+		String typeName = Type.getInternalName(type);
+		String typeDesc = Type.getDescriptor(type);
+		String methodDesc = Type.getMethodDescriptor(method);
+		Type[] argumentTypes = Type.getArgumentTypes(method);
+		Type resultType = Type.getReturnType(method);
+		boolean referencePass = !returnType.isPrimitive();
+
+		ClassWriter cw = newClassWriter();
+		String className = PACKAGE_PREFIX + "UnrolledInvoker";
+		cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, className, null, "java/lang/Object", new String[] { typeName });
+
+		for (int i = 0; i < listeners.length; ++i) {
+			cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "listener" + i, typeDesc, null, null).visitEnd();
+		}
+
+		if (referencePass) {
+			cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "pass", resultType.getDescriptor(), null, null).visitEnd();
+		}
+
+		// Static initializer: copy the class data into the static fields.
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+		mv.visitCode();
+		visitLoadClassData(mv);
+
+		for (int i = 0; i < listeners.length; ++i) {
+			mv.visitInsn(Opcodes.DUP);
+			visitPushInt(mv, i);
+			mv.visitInsn(Opcodes.AALOAD);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, typeName);
+			mv.visitFieldInsn(Opcodes.PUTSTATIC, className, "listener" + i, typeDesc);
+		}
+
+		if (referencePass) {
+			mv.visitInsn(Opcodes.DUP);
+			visitPushInt(mv, listeners.length);
+			mv.visitInsn(Opcodes.AALOAD);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, resultType.getInternalName());
+			mv.visitFieldInsn(Opcodes.PUTSTATIC, className, "pass", resultType.getDescriptor());
+		}
+
+		mv.visitInsn(Opcodes.POP);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		visitConstructor(cw);
+
+		// The functional method: call every listener in order.
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), methodDesc, null, null);
+		mv.visitCode();
+		int resultSlot = 1;
+
+		for (Type argumentType : argumentTypes) {
+			resultSlot += argumentType.getSize();
+		}
+
+		for (int i = 0; i < listeners.length; ++i) {
+			mv.visitFieldInsn(Opcodes.GETSTATIC, className, "listener" + i, typeDesc);
+			visitLoadArguments(mv, argumentTypes);
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, typeName, method.getName(), methodDesc, true);
+
+			if (returnType == void.class) {
+				continue;
+			}
+
+			Label next = new Label();
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ISTORE), resultSlot);
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ILOAD), resultSlot);
+
+			if (referencePass) {
+				mv.visitFieldInsn(Opcodes.GETSTATIC, className, "pass", resultType.getDescriptor());
+				mv.visitJumpInsn(Opcodes.IF_ACMPEQ, next);
+			} else if (returnType == long.class) {
+				mv.visitLdcInsn(passValue);
+				mv.visitInsn(Opcodes.LCMP);
+				mv.visitJumpInsn(Opcodes.IFEQ, next);
+			} else {
+				visitPushInt(mv, primitiveIntValue(passValue));
+				mv.visitJumpInsn(Opcodes.IF_ICMPEQ, next);
+			}
+
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ILOAD), resultSlot);
+			mv.visitInsn(resultType.getOpcode(Opcodes.IRETURN));
+			mv.visitLabel(next);
+		}
+
+		visitReturnPassValue(mv, className, resultType, passValue);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+
+		Object[] classData = Arrays.copyOf(listeners, listeners.length + 1, Object[].class);
+		classData[listeners.length] = passValue;
+		return instantiate(type, cw.toByteArray(), classData);
+	}
+
+	/**
+	 * Build an invoker that does nothing but return {@code value}.
+	 * A single class is generated per listener type, and its instances are as cheap to call as an empty lambda.
+	 *
+	 * @return the invoker, or {@code null} if it could not be generated for this listener type
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <T> T empty(Class<? super T> type, @Nullable Object value) {
+		MethodHandle constructor = EMPTY_CONSTRUCTORS.get(type);
+
+		if (constructor == null) {
+			return null;
+		}
+
+		try {
+			return (T) constructor.invoke(value);
+		} catch (Throwable t) {
+			throw new RuntimeException("Failed to instantiate empty invoker for " + type.getName(), t);
+		}
+	}
+
+	@Nullable
+	private static MethodHandle generateEmpty(Class<?> type) {
+		if (!canImplement(type)) {
+			return null;
+		}
+
+		Method method = findFunctionalMethod(type);
+		Class<?> returnType = method.getReturnType();
+		Type resultType = Type.getReturnType(method);
+
+		ClassWriter cw = newClassWriter();
+		String className = PACKAGE_PREFIX + "EmptyInvoker";
+		cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, className, null, "java/lang/Object", new String[] { Type.getInternalName(type) });
+		MethodVisitor mv;
+
+		if (returnType == void.class) {
+			visitConstructor(cw);
+		} else {
+			cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "value", resultType.getDescriptor(), null, null).visitEnd();
+
+			mv = cw.visitMethod(Opcodes.ACC_PRIVATE, "<init>", Type.getMethodDescriptor(Type.VOID_TYPE, resultType), null, null);
+			mv.visitCode();
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ILOAD), 1);
+			mv.visitFieldInsn(Opcodes.PUTFIELD, className, "value", resultType.getDescriptor());
+			mv.visitInsn(Opcodes.RETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), Type.getMethodDescriptor(method), null, null);
+		mv.visitCode();
+
+		if (returnType != void.class) {
+			mv.visitVarInsn(Opcodes.ALOAD, 0);
+			mv.visitFieldInsn(Opcodes.GETFIELD, className, "value", resultType.getDescriptor());
+		}
+
+		mv.visitInsn(resultType.getOpcode(Opcodes.IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+
+		try {
+			MethodHandles.Lookup hiddenLookup = LOOKUP.defineHiddenClass(cw.toByteArray(), true);
+			MethodHandle constructor;
+
+			if (returnType == void.class) {
+				constructor = hiddenLookup.findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class));
+				constructor = MethodHandles.dropArguments(constructor, 0, Object.class);
+			} else {
+				constructor = hiddenLookup.findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class, returnType));
+			}
+
+			return constructor.asType(MethodType.methodType(Object.class, Object.class));
+		} catch (ReflectiveOperationException e) {
+			LOGGER.warn("Failed to generate empty invoker class for {}.", type.getName(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Wrap a listener so that the duration of each invocation is recorded in {@code stats},
+	 * and reported to the flight recorder if it is recording listener invocations.
+	 * Invocations throwing an exception are not recorded.
+	 *
+	 * @return the wrapped listener, or {@code null} if the wrapper could not be generated for this listener type
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <T> T timed(Class<? super T> type, T listener, ListenerStats stats) {
+		MethodHandle constructor = TIMED_CONSTRUCTORS.get(type);
+
+		if (constructor == null) {
+			return null;
+		}
+
+		try {
+			return (T) constructor.invoke(listener, stats);
+		} catch (Throwable t) {
+			throw new RuntimeException("Failed to instantiate timed listener for " + type.getName(), t);
+		}
+	}
+
+	@Nullable
+	private static MethodHandle generateTimed(Class<?> type) {
+		if (!canImplement(type)) {
+			return null;
+		}
+
+		Method method = findFunctionalMethod(type);
+		String typeName = Type.getInternalName(type);
+		String typeDesc = Type.getDescriptor(type);
+		String statsName = Type.getInternalName(ListenerStats.class);
+		String methodDesc = Type.getMethodDescriptor(method);
+		Type[] argumentTypes = Type.getArgumentTypes(method);
+		Type resultType = Type.getReturnType(method);
+
+		ClassWriter cw = newClassWriter();
+		String className = PACKAGE_PREFIX + "TimedListener";
+		cw.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, className, null, "java/lang/Object", new String[] { typeName });
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "delegate", typeDesc, null, null).visitEnd();
+		cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "stats", Type.getDescriptor(ListenerStats.class), null, null).visitEnd();
+
+		String constructorDesc = Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(type), Type.getType(ListenerStats.class));
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE, "<init>", constructorDesc, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "delegate", typeDesc);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitVarInsn(Opcodes.ALOAD, 2);
+		mv.visitFieldInsn(Opcodes.PUTFIELD, className, "stats", Type.getDescriptor(ListenerStats.class));
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Object flightEvent = stats.begin(); long start = System.nanoTime(); result = delegate.method(args);
+		// stats.record(System.nanoTime() - start, flightEvent); return result;
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, method.getName(), methodDesc, null, null);
+		mv.visitCode();
+		int startSlot = 1;
+
+		for (Type argumentType : argumentTypes) {
+			startSlot += argumentType.getSize();
+		}
+
+		int flightEventSlot = startSlot + 2;
+		int resultSlot = flightEventSlot + 1;
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "stats", Type.getDescriptor(ListenerStats.class));
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, statsName, "begin", "()Ljava/lang/Object;", false);
+		mv.visitVarInsn(Opcodes.ASTORE, flightEventSlot);
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+		mv.visitVarInsn(Opcodes.LSTORE, startSlot);
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "delegate", typeDesc);
+		visitLoadArguments(mv, argumentTypes);
+		mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, typeName, method.getName(), methodDesc, true);
+
+		if (resultType.getSort() != Type.VOID) {
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ISTORE), resultSlot);
+		}
+
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitFieldInsn(Opcodes.GETFIELD, className, "stats", Type.getDescriptor(ListenerStats.class));
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+		mv.visitVarInsn(Opcodes.LLOAD, startSlot);
+		mv.visitInsn(Opcodes.LSUB);
+		mv.visitVarInsn(Opcodes.ALOAD, flightEventSlot);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, statsName, "record", "(JLjava/lang/Object;)V", false);
+
+		if (resultType.getSort() != Type.VOID) {
+			mv.visitVarInsn(resultType.getOpcode(Opcodes.ILOAD), resultSlot);
+		}
+
+		mv.visitInsn(resultType.getOpcode(Opcodes.IRETURN));
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+		cw.visitEnd();
+
+		try {
+			MethodHandles.Lookup hiddenLookup = LOOKUP.defineHiddenClass(cw.toByteArray(), true);
+			MethodType constructorType = MethodType.methodType(void.class, type, ListenerStats.class);
+			return hiddenLookup.findConstructor(hiddenLookup.lookupClass(), constructorType).asType(MethodType.methodType(Object.class, Object.class, ListenerStats.class));
+		} catch (ReflectiveOperationException e) {
+			LOGGER.warn("Failed to generate timed listener class for {}, its listeners will not be recorded.", type.getName(), e);
+			return null;
+		}
+	}
+
+	static boolean canImplement(Class<?> type) {
+		try {
+			LOOKUP.accessClass(type);
+			return true;
+		} catch (IllegalAccessException e) {
+			return false;
+		}
+	}
+
+	static ClassWriter newClassWriter() {
+		return new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+			@Override
+			protected String getCommonSuperClass(String type1, String type2) {
+				// Generated code never merges different reference types, and the default implementation would load classes.
+				return "java/lang/Object";
+			}
+		};
+	}
+
+	/**
+	 * Push the {@code Object[]} class data of the hidden class being generated onto the stack.
+	 */
+	static void visitLoadClassData(MethodVisitor mv) {
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+		mv.visitLdcInsn("_");
+		mv.visitLdcInsn(Type.getType(Object[].class));
+		mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;", false);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+	}
+
+	static void visitConstructor(ClassWriter cw) {
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+	}
+
+	static void visitLoadArguments(MethodVisitor mv, Type[] argumentTypes) {
+		int slot = 1;
+
+		for (Type argumentType : argumentTypes) {
+			mv.visitVarInsn(argumentType.getOpcode(Opcodes.ILOAD), slot);
+			slot += argumentType.getSize();
+		}
+	}
+
+	/**
+	 * Return {@code passValue} from the method being generated. Reference values are read from the {@code pass} field.
+	 */
+	static void visitReturnPassValue(MethodVisitor mv, String className, Type resultType, @Nullable Object passValue) {
+		switch (resultType.getSort()) {
+		case Type.VOID -> mv.visitInsn(Opcodes.RETURN);
+		case Type.OBJECT, Type.ARRAY -> {
+			mv.visitFieldInsn(Opcodes.GETSTATIC, className, "pass", resultType.getDescriptor());
+			mv.visitInsn(Opcodes.ARETURN);
+		}
+		case Type.LONG -> {
+			mv.visitLdcInsn(passValue);
+			mv.visitInsn(Opcodes.LRETURN);
+		}
+		case Type.FLOAT -> {
+			mv.visitLdcInsn(passValue);
+			mv.visitInsn(Opcodes.FRETURN);
+		}
+		case Type.DOUBLE -> {
+			mv.visitLdcInsn(passValue);
+			mv.visitInsn(Opcodes.DRETURN);
+		}
+		default -> {
+			visitPushInt(mv, primitiveIntValue(passValue));
+			mv.visitInsn(Opcodes.IRETURN);
+		}
+		}
+	}
+
+	static int primitiveIntValue(Object value) {
+		if (value instanceof Boolean b) {
+			return b ? 1 : 0;
+		} else if (value instanceof Character c) {
+			return c;
+		} else {
+			return ((Number) value).intValue();
+		}
+	}
+
+	static void visitPushInt(MethodVisitor mv, int value) {
+		if (value >= -1 && value <= 5) {
+			mv.visitInsn(Opcodes.ICONST_0 + value);
+		} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			mv.visitIntInsn(Opcodes.BIPUSH, value);
+		} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			mv.visitIntInsn(Opcodes.SIPUSH, value);
+		} else {
+			mv.visitLdcInsn(value);
+		}
+	}
+
+	/**
+	 * Define the generated class as a hidden class and create its single instance.
+	 *
+	 * @return the instance, or {@code null} if the class could not be defined
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <T> T instantiate(Class<? super T> type, byte[] bytes, Object classData) {
+		try {
+			MethodHandles.Lookup hiddenLookup = LOOKUP.defineHiddenClassWithClassData(bytes, classData, true);
+			return (T) type.cast(hiddenLookup.findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class)).invoke());
+		} catch (Throwable t) {
+			LOGGER.warn("Failed to generate invoker class for {}, falling back to the regular invoker.", type.getName(), t);
+			return null;
+		}
+	}
+}
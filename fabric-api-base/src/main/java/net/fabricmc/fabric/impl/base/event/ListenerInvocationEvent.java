@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.base.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for a single listener invocation, emitted by the timing wrappers of {@link ListenerStats}.
+ *
+ * <p>Disabled by default, since enabling it instruments the invokers of all events.
+ * It can be enabled in a recording configuration, for example with
+ * {@code -XX:StartFlightRecording:fabric.EventListenerInvocation#enabled=true,fabric.EventListenerInvocation#threshold=5ms}.
+ * Only invocations lasting longer than the threshold are recorded.
+ *
+ * <p>Only referenced after checking that the {@code jdk.jfr} module is present.
+ */
+@Name(ListenerInvocationEvent.NAME)
+@Label("Event Listener Invocation")
+@Category({"Fabric", "Events"})
+@Description("Invocation of a listener of a Fabric event")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+final class ListenerInvocationEvent extends jdk.jfr.Event {
+	static final String NAME = "fabric.EventListenerInvocation";
+
+	@Label("Event")
+	@Description("Name of the field holding the event")
+	String event;
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Mod")
+	@Description("Id of the mod owning the listener class")
+	String modId;
+
+	@Label("Listener")
+	@Description("Class of the listener")
+	String listener;
+
+	/**
+	 * Start listening to recording changes, and register the event once the flight recorder is initialized.
+	 *
+	 * @return {@code true} if a recording is already recording listener invocations.
+	 */
+	static boolean registerRecorderListener() {
+		FlightRecorder.addListener(new FlightRecorderListener() {
+			@Override
+			public void recorderInitialized(FlightRecorder recorder) {
+				FlightRecorder.register(ListenerInvocationEvent.class);
+			}
+
+			@Override
+			public void recordingStateChanged(Recording recording) {
+				EventMetricsImpl.setFlightRecorderActive(isRecording());
+			}
+		});
+
+		return FlightRecorder.isInitialized() && isRecording();
+	}
+
+	private static boolean isRecording() {
+		return EventType.getEventType(ListenerInvocationEvent.class).isEnabled();
+	}
+
+	static Object start() {
+		ListenerInvocationEvent event = new ListenerInvocationEvent();
+		event.begin();
+		return event;
+	}
+
+	static void finish(Object flightEvent, ListenerStats stats) {
+		ListenerInvocationEvent event = (ListenerInvocationEvent) flightEvent;
+		event.end();
+
+		if (event.shouldCommit()) {
+			event.event = stats.getEvent().getName();
+			event.phase = stats.getPhase().toString();
+			event.modId = stats.getModId();
+			event.listener = stats.getListenerName();
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.base.event;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.api.event.EventMetrics;
+
+/**
+ * Invocation counters of a single listener, updated by its timing wrapper.
+ * Striped counters are used since some events are invoked from multiple threads at once.
+ */
+final class ListenerStats {
+	private final ArrayBackedEvent<?> event;
+	private final Identifier phase;
+	private final String modId;
+	private final String listenerName;
+	private final LongAdder invocations = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	ListenerStats(ArrayBackedEvent<?> event, Identifier phase, Object listener) {
+		this.event = event;
+		this.phase = phase;
+		this.modId = EventMetricsImpl.getModId(listener.getClass());
+		// Strip the unique suffix of hidden classes, such as lambdas.
+		this.listenerName = listener.getClass().getName().split("/", 2)[0];
+	}
+
+	/**
+	 * Called by the generated timing wrappers before each invocation.
+	 *
+	 * @return The flight recorder event of the invocation, or {@code null} if listener invocations are not being recorded.
+	 */
+	@Nullable
+	Object begin() {
+		return EventMetricsImpl.isFlightRecorderActive() ? ListenerInvocationEvent.start() : null;
+	}
+
+	/**
+	 * Called by the generated timing wrappers after each invocation.
+	 */
+	void record(long nanos, @Nullable Object flightEvent) {
+		if (flightEvent != null) {
+			ListenerInvocationEvent.finish(flightEvent, this);
+		}
+
+		if (EventMetricsImpl.isEnabled()) {
+			invocations.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+		}
+	}
+
+	ArrayBackedEvent<?> getEvent() {
+		return event;
+	}
+
+	Identifier getPhase() {
+		return phase;
+	}
+
+	String getModId() {
+		return modId;
+	}
+
+	String getListenerName() {
+		return listenerName;
+	}
+
+	void reset() {
+		invocations.reset();
+		totalNanos.reset();
+		maxNanos.reset();
+	}
+
+	/**
+	 * @return A snapshot of the current values, or {@code null} if the listener was never invoked.
+	 */
+	@Nullable
+	EventMetrics.ListenerMetrics snapshot() {
+		long invocations = this.invocations.sum();
+
+		if (invocations == 0) {
+			return null;
+		}
+
+		return new Snapshot(event.getName(), phase, modId, listenerName, invocations, totalNanos.sum(), maxNanos.get());
+	}
+
+	private record Snapshot(String eventName, Identifier phase, String modId, String listenerName, long invocations, long totalNanos, long maxNanos) implements EventMetrics.ListenerMetrics {
+		@Override
+		public String getEventName() {
+			return eventName;
+		}
+
+		@Override
+		public Identifier getPhase() {
+			return phase;
+		}
+
+		@Override
+		public String getModId() {
+			return modId;
+		}
+
+		@Override
+		public String getListenerName() {
+			return listenerName;
+		}
+
+		@Override
+		public long getInvocations() {
+			return invocations;
+		}
+
+		@Override
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		@Override
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+	}
+}
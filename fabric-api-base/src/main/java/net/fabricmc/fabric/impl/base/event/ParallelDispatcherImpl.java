@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.base.event;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Dispatcher of the events created by {@link EventFactoryImpl#createParallel}.
+ *
+ * <p>The listeners of each phase are forked into the common {@link ForkJoinPool}, except the first one which runs
+ * on the invoking thread, and all of them are joined before moving on to the next phase.
+ * Phases with a single listener don't fork anything.
+ */
+final class ParallelDispatcherImpl<T> implements EventFactory.ParallelDispatcher<T> {
+	/**
+	 * Can be used to run the listeners of parallel events sequentially, for example when debugging a listener.
+	 */
+	private static final boolean ENABLED = !Boolean.getBoolean("fabric.event.disableParallelDispatch")
+			&& ForkJoinPool.getCommonPoolParallelism() > 1;
+
+	private final T[][] phases;
+
+	ParallelDispatcherImpl(T[][] phases) {
+		this.phases = phases;
+	}
+
+	@Override
+	public void dispatch(Consumer<? super T> action) {
+		Objects.requireNonNull(action, "action may not be null");
+
+		for (T[] listeners : phases) {
+			if (!ENABLED || listeners.length == 1) {
+				for (T listener : listeners) {
+					action.accept(listener);
+				}
+			} else {
+				dispatchParallel(listeners, action);
+			}
+		}
+	}
+
+	private static <T> void dispatchParallel(T[] listeners, Consumer<? super T> action) {
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[listeners.length];
+
+		for (int i = 1; i < listeners.length; ++i) {
+			T listener = listeners[i];
+			tasks[i] = ForkJoinTask.adapt(() -> action.accept(listener)).fork();
+		}
+
+		Throwable failure = null;
+
+		try {
+			action.accept(listeners[0]);
+		} catch (Throwable t) {
+			failure = t;
+		}
+
+		// Always join every task, so that no listener of this phase is still running when the invoker returns.
+		for (int i = 1; i < tasks.length; ++i) {
+			tasks[i].quietlyJoin();
+			Throwable taskFailure = tasks[i].getException();
+
+			if (taskFailure != null) {
+				if (failure == null) {
+					failure = taskFailure;
+				} else {
+					failure.addSuppressed(taskFailure);
+				}
+			}
+		}
+
+		if (failure instanceof RuntimeException runtimeException) {
+			throw runtimeException;
+		} else if (failure instanceof Error error) {
+			throw error;
+		} else if (failure != null) {
+			throw new RuntimeException("Exception in parallel event listener", failure);
+		}
+	}
+}
@@ -115,11 +115,18 @@ public class NodeSorting {
 		}
 
 		boolean noCycle = true;
+		int sccIndex = 0;
 
 		while (!pq.isEmpty()) {
 			NodeScc<N> scc = pq.poll();
 			sortedNodes.addAll(scc.nodes);
 
+			for (N node : scc.nodes) {
+				node.sccIndex = sccIndex;
+			}
+
+			sccIndex++;
+
 			if (scc.nodes.size() > 1) {
 				noCycle = false;
 
@@ -148,6 +155,73 @@ public class NodeSorting {
 		return noCycle;
 	}
 
+	/**
+	 * Insert a node that is not linked to any other node into a list sorted by {@link #sort},
+	 * at the position that {@link #sort} would give it, without sorting the whole list again.
+	 *
+	 * <p>{@link #sort} picks the smallest available SCC at each step, and a node without links is always available.
+	 * It is therefore placed right before the first SCC whose smallest node is greater than it.
+	 *
+	 * @param sortedNodes The list of nodes sorted by {@link #sort} or by this class. Will be modified in-place.
+	 * @param node The node to insert.
+	 * @param comparator The comparator that was used to sort the list.
+	 */
+	public static <N extends SortableNode<N>> void insertUnlinked(List<N> sortedNodes, N node, Comparator<N> comparator) {
+		if (!node.subsequentNodes.isEmpty() || !node.previousNodes.isEmpty()) {
+			throw new IllegalArgumentException("Cannot insert a linked node without sorting.");
+		}
+
+		int index = sortedNodes.size();
+
+		for (int i = 0; i < sortedNodes.size(); ++i) {
+			N current = sortedNodes.get(i);
+			boolean firstOfScc = i == 0 || sortedNodes.get(i - 1).sccIndex != current.sccIndex;
+
+			if (firstOfScc && comparator.compare(node, current) < 0) {
+				index = i;
+				break;
+			}
+		}
+
+		sortedNodes.add(index, node);
+		// Renumber the SCCs, the inserted node being in its own SCC.
+		node.sccIndex = -1;
+		int previousIndex = -2;
+		int sccIndex = -1;
+
+		for (N current : sortedNodes) {
+			if (current.sccIndex != previousIndex || current == node) {
+				sccIndex++;
+			}
+
+			previousIndex = current.sccIndex;
+			current.sccIndex = sccIndex;
+		}
+	}
+
+	/**
+	 * Link two nodes of a list sorted by {@link #sort}, and sort the list again only if the new link changes the order.
+	 *
+	 * <p>If the SCC of {@code first} is the same as or comes before the SCC of {@code second}, the current order
+	 * already satisfies the new link, and it is also the order {@link #sort} would compute: the SCCs are not modified,
+	 * and the SCC that {@link #sort} picks at each step remains available. Otherwise, the whole list is sorted again.
+	 *
+	 * @param sortedNodes The list of nodes sorted by {@link #sort} or by this class. Will be modified in-place.
+	 * @param elementDescription A description of the elements, used for logging in the presence of cycles.
+	 * @param comparator The comparator that was used to sort the list.
+	 * @return {@code true} if the list had to be sorted again.
+	 */
+	public static <N extends SortableNode<N>> boolean link(List<N> sortedNodes, N first, N second, String elementDescription, Comparator<N> comparator) {
+		SortableNode.link(first, second);
+
+		if (first.sccIndex <= second.sccIndex) {
+			return false;
+		}
+
+		sort(sortedNodes, elementDescription, comparator);
+		return true;
+	}
+
 	private static <N extends SortableNode<N>> void forwardVisit(N node, N parent, List<N> toposort) {
 		if (!node.visited) {
 			// Not yet visited.
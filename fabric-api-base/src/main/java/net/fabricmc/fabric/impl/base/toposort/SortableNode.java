@@ -23,6 +23,10 @@ public abstract class SortableNode<N extends SortableNode<N>> {
 	final List<N> subsequentNodes = new ArrayList<>();
 	final List<N> previousNodes = new ArrayList<>();
 	boolean visited = false;
+	/**
+	 * Index of the SCC of this node in the last order computed by {@link NodeSorting}.
+	 */
+	int sccIndex = 0;
 
 	/**
 	 * @return Description of this node, used to print the cycle warning.
@@ -16,12 +16,24 @@
 
 package net.fabricmc.fabric.test.base;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,6 +41,11 @@ import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.api.event.EventMetrics;
+import net.fabricmc.fabric.api.event.EventScope;
+import net.fabricmc.fabric.api.event.EventSubscription;
+import net.fabricmc.fabric.api.util.TriState;
+import net.fabricmc.fabric.impl.base.event.EventFactoryImpl;
 import net.fabricmc.fabric.impl.base.toposort.NodeSorting;
 
 public class EventTests {
@@ -45,6 +62,14 @@ public class EventTests {
 		testDeterministicOrdering();
 		testTwoCycles();
 		NodeSorting.ENABLE_CYCLE_WARNING = true;
+		testSequentialInvokers(false);
+		testSequentialInvokers(true);
+		testMetrics();
+		testBatchedRegistrations();
+		testParallelDispatch();
+		testConcurrentRegistration();
+		testUnregistration();
+		testFlightRecorder();
 
 		long time2 = System.currentTimeMillis();
 		LOGGER.info("Event unit tests succeeded in {} milliseconds.", time2 - time1);
@@ -201,13 +226,7 @@ public class EventTests {
 				ev -> ev.addPhaseOrdering(y, z)
 		);
 
-		testAllPermutations(new ArrayList<>(), dependencies, selectedDependencies -> {
-			Event<Test> event = createEvent();
-
-			for (Consumer<Event<Test>> dependency : selectedDependencies) {
-				dependency.accept(event);
-			}
-
+		Consumer<Event<Test>> registerListeners = event -> {
 			event.register(a, ensureOrder(0));
 			event.register(d, ensureOrder(1));
 			event.register(e, ensureOrder(2));
@@ -215,10 +234,29 @@ public class EventTests {
 			event.register(y, ensureOrder(4));
 			event.register(z, ensureOrder(5));
 			event.register(f, ensureOrder(6));
+		};
 
-			event.invoker().onTest();
-			assertEquals(7, currentListener);
-			currentListener = 0;
+		testAllPermutations(new ArrayList<>(), dependencies, selectedDependencies -> {
+			// Add the orderings before the phases are created, and after, to test both ways of updating the phase order.
+			for (boolean registerFirst : new boolean[] { false, true }) {
+				Event<Test> event = createEvent();
+
+				if (registerFirst) {
+					registerListeners.accept(event);
+				}
+
+				for (Consumer<Event<Test>> dependency : selectedDependencies) {
+					dependency.accept(event);
+				}
+
+				if (!registerFirst) {
+					registerListeners.accept(event);
+				}
+
+				event.invoker().onTest();
+				assertEquals(7, currentListener);
+				currentListener = 0;
+			}
 		});
 	}
 
@@ -263,6 +301,369 @@ public class EventTests {
 		});
 	}
 
+	/**
+	 * Test that events created with {@link EventFactory#createSequential} short-circuit correctly,
+	 * with and without generated invokers.
+	 */
+	private static void testSequentialInvokers(boolean generateInvokers) {
+		Event<SequentialTest> event = EventFactoryImpl.createSequential(SequentialTest.class, TriState.DEFAULT, listeners -> value -> {
+			for (SequentialTest listener : listeners) {
+				TriState result = listener.onTest(value);
+
+				if (result != TriState.DEFAULT) {
+					return result;
+				}
+			}
+
+			return TriState.DEFAULT;
+		}, generateInvokers);
+		Identifier early = Identifier.of("fabric", "early");
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+		assertEquals(false, event.hasListeners());
+		assertEquals(TriState.DEFAULT, event.invoker().onTest(0));
+
+		event.register(value -> value == 1 ? TriState.TRUE : TriState.DEFAULT);
+		assertEquals(true, event.hasListeners());
+		assertEquals(TriState.TRUE, event.invoker().onTest(1));
+		assertEquals(TriState.DEFAULT, event.invoker().onTest(2));
+
+		event.register(value -> value <= 2 ? TriState.FALSE : TriState.DEFAULT);
+		event.register(early, value -> value == 2 ? TriState.TRUE : TriState.DEFAULT);
+		assertEquals(TriState.FALSE, event.invoker().onTest(0));
+		assertEquals(TriState.TRUE, event.invoker().onTest(1));
+		assertEquals(TriState.TRUE, event.invoker().onTest(2));
+		assertEquals(TriState.DEFAULT, event.invoker().onTest(3));
+	}
+
+	private static void testMetrics() {
+		Event<SequentialTest> event = EventFactory.createArrayBacked(SequentialTest.class, listeners -> value -> {
+			for (SequentialTest listener : listeners) {
+				listener.onTest(value);
+			}
+
+			return TriState.DEFAULT;
+		});
+		SequentialTest listener = value -> TriState.of(value > 0);
+		event.register(listener);
+		SequentialTest uninstrumentedInvoker = event.invoker();
+
+		boolean wasEnabled = EventMetrics.isEnabled();
+		EventMetrics.setEnabled(true);
+
+		try {
+			assertEquals(false, event.invoker() == uninstrumentedInvoker);
+			event.invoker().onTest(1);
+			event.invoker().onTest(2);
+
+			EventMetrics.ListenerMetrics metrics = findMetrics(listener);
+			assertEquals(2L, metrics.getInvocations());
+			assertEquals(Event.DEFAULT_PHASE, metrics.getPhase());
+			assertEquals(true, metrics.getMaxNanos() <= metrics.getTotalNanos());
+		} finally {
+			EventMetrics.setEnabled(wasEnabled);
+		}
+
+		if (!wasEnabled) {
+			// Invocations are no longer recorded.
+			event.invoker().onTest(3);
+			assertEquals(2L, findMetrics(listener).getInvocations());
+		}
+	}
+
+	private static EventMetrics.ListenerMetrics findMetrics(Object listener) {
+		String listenerName = listener.getClass().getName().split("/", 2)[0];
+
+		return EventMetrics.getListenerMetrics().stream()
+				.filter(metrics -> metrics.getListenerName().equals(listenerName))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("Missing metrics for listener " + listenerName));
+	}
+
+	private static void testBatchedRegistrations() {
+		Identifier early = Identifier.of("fabric", "early");
+		Event<Test> event = createEvent();
+		event.register(ensureOrder(1));
+
+		try (EventFactory.RegistrationBatch batch = EventFactory.batchRegistrations()) {
+			try (EventFactory.RegistrationBatch nestedBatch = EventFactory.batchRegistrations()) {
+				event.register(ensureOrder(2));
+				event.register(early, ensureOrder(0));
+			}
+
+			event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+
+			// The invoker is only rebuilt when the outermost batch is closed.
+			currentListener = 1;
+			event.invoker().onTest();
+			assertEquals(2, currentListener);
+			currentListener = 0;
+		}
+
+		event.invoker().onTest();
+		assertEquals(3, currentListener);
+		currentListener = 0;
+	}
+
+	private static void testParallelDispatch() {
+		Identifier early = Identifier.of("fabric", "early");
+		Event<Test> event = EventFactory.createParallel(Test.class, dispatcher -> () -> dispatcher.dispatch(Test::onTest));
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+		event.invoker().onTest();
+
+		AtomicInteger earlyCount = new AtomicInteger();
+		AtomicInteger defaultCount = new AtomicInteger();
+
+		for (int i = 0; i < 8; ++i) {
+			event.register(early, () -> {
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+
+				earlyCount.incrementAndGet();
+			});
+			event.register(() -> {
+				// Phases are barriers: all listeners of the previous phase must have completed.
+				assertEquals(8, earlyCount.get());
+				defaultCount.incrementAndGet();
+			});
+		}
+
+		event.invoker().onTest();
+		assertEquals(8, earlyCount.get());
+		assertEquals(8, defaultCount.get());
+
+		// Exceptions are rethrown once every listener of the phase has completed.
+		event.register(early, () -> {
+			throw new IllegalStateException("Expected exception");
+		});
+		earlyCount.set(0);
+		defaultCount.set(0);
+
+		try {
+			event.invoker().onTest();
+			throw new AssertionError("Exception was not rethrown");
+		} catch (IllegalStateException expected) {
+			assertEquals(8, earlyCount.get());
+			assertEquals(0, defaultCount.get());
+		}
+	}
+
+	/**
+	 * Stress test registering listeners from multiple threads while another thread keeps invoking the event.
+	 */
+	private static void testConcurrentRegistration() {
+		int threadCount = 8;
+		int listenersPerThread = 500;
+		Identifier early = Identifier.of("fabric", "early");
+		Event<Test> event = createEvent();
+
+		// Counts of early and default listeners called in the current invocation, and whether the order was wrong.
+		ThreadLocal<int[]> invocationState = ThreadLocal.withInitial(() -> new int[3]);
+		Test earlyListener = () -> {
+			int[] state = invocationState.get();
+			state[0]++;
+			if (state[1] != 0) state[2] = 1;
+		};
+		Test defaultListener = () -> invocationState.get()[1]++;
+
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean registering = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int t = 0; t < threadCount; ++t) {
+			int threadIndex = t;
+
+			threads.add(new Thread(() -> {
+				try {
+					start.await();
+
+					for (int i = 0; i < listenersPerThread; ++i) {
+						if (threadIndex == 0 && i == listenersPerThread / 2) {
+							event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+						}
+
+						if (threadIndex % 2 == 0) {
+							event.register(early, earlyListener);
+						} else {
+							event.register(defaultListener);
+						}
+					}
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			}));
+		}
+
+		Thread reader = new Thread(() -> {
+			try {
+				int lastCount = 0;
+				start.await();
+
+				while (registering.get()) {
+					int[] state = invocationState.get();
+					Arrays.fill(state, 0);
+					event.invoker().onTest();
+					int count = state[0] + state[1];
+
+					if (count < lastCount) {
+						throw new AssertionError("Listener count went from " + lastCount + " to " + count);
+					}
+
+					lastCount = count;
+				}
+			} catch (Throwable e) {
+				failure.compareAndSet(null, e);
+			}
+		});
+
+		threads.forEach(Thread::start);
+		reader.start();
+		start.countDown();
+
+		try {
+			for (Thread thread : threads) {
+				thread.join();
+			}
+
+			registering.set(false);
+			reader.join();
+		} catch (InterruptedException e) {
+			throw new RuntimeException(e);
+		}
+
+		if (failure.get() != null) {
+			throw new AssertionError("Concurrent registration failed", failure.get());
+		}
+
+		int[] state = invocationState.get();
+		Arrays.fill(state, 0);
+		event.invoker().onTest();
+		assertEquals(threadCount * listenersPerThread / 2, state[0]);
+		assertEquals(threadCount * listenersPerThread / 2, state[1]);
+		assertEquals(0, state[2]);
+	}
+
+	private static void testUnregistration() {
+		Identifier early = Identifier.of("fabric", "early");
+		Event<Test> event = createEvent();
+		event.addPhaseOrdering(early, Event.DEFAULT_PHASE);
+		AtomicInteger removedCalls = new AtomicInteger();
+		Test removed = removedCalls::incrementAndGet;
+
+		event.register(ensureOrder(1));
+		EventSubscription subscription = event.subscribe(removed);
+		event.subscribe(ensureOrder(2));
+		event.subscribe(early, ensureOrder(0));
+
+		subscription.close();
+		event.invoker().onTest();
+		assertEquals(3, currentListener);
+		assertEquals(0, removedCalls.get());
+		currentListener = 0;
+
+		// Closing twice must not remove anything else.
+		subscription.close();
+		event.invoker().onTest();
+		assertEquals(3, currentListener);
+		currentListener = 0;
+
+		// Scopes remove all their listeners, including those registered in a batch.
+		Event<Test> scopedEvent = createEvent();
+		EventScope scope = new EventScope();
+
+		try (EventFactory.RegistrationBatch batch = EventFactory.batchRegistrations()) {
+			scope.subscribe(scopedEvent, removed);
+			scope.subscribe(scopedEvent, early, removed);
+			scope.subscribe(scopedEvent, removed).close();
+		}
+
+		scopedEvent.invoker().onTest();
+		assertEquals(2, removedCalls.get());
+		scope.close();
+		assertEquals(true, scope.isClosed());
+		assertEquals(false, scopedEvent.hasListeners());
+		scopedEvent.invoker().onTest();
+		assertEquals(2, removedCalls.get());
+		scope.close();
+
+		try {
+			scope.subscribe(scopedEvent, removed);
+			throw new AssertionError("Subscribing to a closed scope should fail");
+		} catch (IllegalStateException expected) {
+			// Expected
+		}
+
+		// Instrumented invokers must also drop removed listeners.
+		boolean wasEnabled = EventMetrics.isEnabled();
+		EventMetrics.setEnabled(true);
+
+		try {
+			EventSubscription instrumented = event.subscribe(removed);
+			event.invoker().onTest();
+			assertEquals(3, removedCalls.get());
+			currentListener = 0;
+
+			instrumented.close();
+			event.invoker().onTest();
+			assertEquals(3, currentListener);
+			assertEquals(3, removedCalls.get());
+			currentListener = 0;
+		} finally {
+			EventMetrics.setEnabled(wasEnabled);
+		}
+	}
+
+	private static void testFlightRecorder() {
+		if (ModuleLayer.boot().findModule("jdk.jfr").isEmpty()) {
+			LOGGER.info("Skipping flight recorder test, jdk.jfr is not available.");
+			return;
+		}
+
+		Event<SequentialTest> event = EventFactory.createArrayBacked(SequentialTest.class, listeners -> value -> {
+			for (SequentialTest listener : listeners) {
+				listener.onTest(value);
+			}
+
+			return TriState.DEFAULT;
+		});
+		SequentialTest listener = value -> TriState.DEFAULT;
+		event.register(listener);
+		SequentialTest uninstrumentedInvoker = event.invoker();
+		List<RecordedEvent> recordedEvents;
+
+		try (Recording recording = new Recording()) {
+			recording.enable("fabric.EventListenerInvocation").withThreshold(Duration.ZERO);
+			recording.start();
+			// The invokers are only instrumented while the event is being recorded.
+			assertEquals(false, event.invoker() == uninstrumentedInvoker);
+			event.invoker().onTest(1);
+			recording.stop();
+
+			Path file = Files.createTempFile("fabric-event-tests", ".jfr");
+
+			try {
+				recording.dump(file);
+				recordedEvents = RecordingFile.readAllEvents(file);
+			} finally {
+				Files.delete(file);
+			}
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		String listenerName = listener.getClass().getName().split("/", 2)[0];
+		RecordedEvent recorded = recordedEvents.stream()
+				.filter(e -> e.getEventType().getName().equals("fabric.EventListenerInvocation"))
+				.filter(e -> e.getString("listener").equals(listenerName))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("Missing flight recorder event for listener " + listenerName));
+		assertEquals(Event.DEFAULT_PHASE.toString(), recorded.getString("phase"));
+	}
+
 	@SuppressWarnings("SuspiciousListRemoveInLoop")
 	private static <T> void testAllPermutations(List<T> selected, List<T> toSelect, Consumer<List<T>> action) {
 		if (toSelect.size() == 0) {
@@ -283,6 +684,14 @@ public class EventTests {
 		void onTest();
 	}
 
+	/**
+	 * Public, so that generated invokers can implement it.
+	 */
+	@FunctionalInterface
+	public interface SequentialTest {
+		TriState onTest(int value);
+	}
+
 	private static void assertEquals(Object expected, Object actual) {
 		if (!Objects.equals(expected, actual)) {
 			throw new AssertionError(String.format("assertEquals failed%nexpected: %s%n but was: %s", expected, actual));
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.loader.impl.launch.knot.Knot;
+
+/**
+ * Creates benchmark workloads inside a headless Fabric Loader environment,
+ * the same way {@code fabric-loader-junit} runs the unit tests of Fabric API.
+ *
+ * <p>JMH loads the benchmark classes with the application class loader, which doesn't apply mixins.
+ * The workloads are therefore loaded by name with the Knot class loader,
+ * and only exchanged with the benchmark classes through JDK types such as {@link java.util.function.Supplier}.
+ * Workloads initialize the vanilla registries themselves, see {@code BenchmarkBootstrap}.
+ */
+public final class FabricBenchmarkBootstrap {
+	private static ClassLoader knotClassLoader;
+
+	private FabricBenchmarkBootstrap() {
+	}
+
+	/**
+	 * Create a workload with the Knot class loader.
+	 *
+	 * @param type The JDK interface implemented by the workload.
+	 * @param className The name of the workload class, which must have a public constructor matching the arguments.
+	 * @param args The constructor arguments, which must be JDK types.
+	 */
+	public static synchronized <T> T create(Class<T> type, String className, Object... args) {
+		ClassLoader classLoader = getKnotClassLoader();
+		Thread currentThread = Thread.currentThread();
+		ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+		currentThread.setContextClassLoader(classLoader);
+
+		try {
+			Class<?> workloadClass = Class.forName(className, true, classLoader);
+
+			for (Constructor<?> constructor : workloadClass.getConstructors()) {
+				if (constructor.getParameterCount() == args.length) {
+					return type.cast(constructor.newInstance(args));
+				}
+			}
+
+			throw new IllegalArgumentException("No constructor of " + className + " takes " + args.length + " arguments");
+		} catch (InvocationTargetException e) {
+			throw new RuntimeException("Failed to create workload " + className, e.getCause());
+		} catch (ReflectiveOperationException e) {
+			throw new RuntimeException("Failed to create workload " + className, e);
+		} finally {
+			currentThread.setContextClassLoader(originalClassLoader);
+		}
+	}
+
+	private static ClassLoader getKnotClassLoader() {
+		if (knotClassLoader == null) {
+			Thread currentThread = Thread.currentThread();
+			ClassLoader originalClassLoader = currentThread.getContextClassLoader();
+
+			try {
+				knotClassLoader = new Knot(EnvType.SERVER).init(new String[0]);
+			} finally {
+				currentThread.setContextClassLoader(originalClassLoader);
+			}
+		}
+
+		return knotClassLoader;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.event;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.fabricmc.fabric.benchmark.FabricBenchmarkBootstrap;
+
+/**
+ * Time to register many listeners over many phases, as happens during mod initialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EventRegistrationBenchmark {
+	@Param({"10000"})
+	public int listeners;
+
+	@Param({"50"})
+	public int phases;
+
+	@Param({"false", "true"})
+	public boolean batched;
+
+	private Supplier<?> workload;
+
+	@Setup
+	public void setup() {
+		workload = FabricBenchmarkBootstrap.create(Supplier.class, "net.fabricmc.fabric.benchmark.event.EventRegistrationWorkload", listeners, phases, batched);
+	}
+
+	@Benchmark
+	public Object register() {
+		return workload.get();
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.transfer;
+
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.fabricmc.fabric.benchmark.FabricBenchmarkBootstrap;
+
+/**
+ * Cost and allocations of committed hopper transfers between inventory wrappers.
+ * Run it with the GC profiler to count the allocations,
+ * for example {@code ./gradlew :fabric-api-benchmarks:jmh -Pbenchmarks=HopperTransfer -Pprofilers=gc}:
+ * {@code gc.alloc.rate.norm} is the number of bytes allocated per operation, and should be 0 for the {@code slot} and {@code link} transfers.
+ * The {@code TransferAllocationTests} unit tests of the transfer API fail if these transfers allocate.
+ */
+@State(Scope.Benchmark)
+public class HopperTransferBenchmark {
+	@Param({"slot", "inventory", "link"})
+	public String transferKind;
+
+	private LongSupplier workload;
+
+	@Setup
+	public void setup() {
+		workload = FabricBenchmarkBootstrap.create(LongSupplier.class, "net.fabricmc.fabric.benchmark.transfer.HopperTransferWorkload", transferKind);
+	}
+
+	@Benchmark
+	public long transfer() {
+		return workload.getAsLong();
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.transfer;
+
+import java.util.function.BooleanSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import net.fabricmc.fabric.benchmark.FabricBenchmarkBootstrap;
+
+/**
+ * Cost of {@code ItemVariantImpl.equals} for variants with components.
+ */
+@State(Scope.Benchmark)
+public class ItemVariantEqualsBenchmark {
+	@Param({"identical", "equal", "different_components", "different_items"})
+	public String comparison;
+
+	private BooleanSupplier workload;
+
+	@Setup
+	public void setup() {
+		workload = FabricBenchmarkBootstrap.create(BooleanSupplier.class, "net.fabricmc.fabric.benchmark.transfer.ItemVariantEqualsWorkload", comparison);
+	}
+
+	@Benchmark
+	public boolean compare() {
+		return workload.getAsBoolean();
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.event;
+
+import net.fabricmc.fabric.api.util.TriState;
+
+/**
+ * Listener type of the benchmarked events.
+ * Public, so that generated invokers can implement it.
+ */
+@FunctionalInterface
+public interface BenchmarkCallback {
+	/**
+	 * Listeners of different classes, so that the call site of the loop invoker is megamorphic as in game.
+	 */
+	BenchmarkCallback[] LISTENERS = {
+			value -> value == -1 ? TriState.TRUE : TriState.DEFAULT,
+			value -> value == -2 ? TriState.TRUE : TriState.DEFAULT,
+			value -> value == -3 ? TriState.TRUE : TriState.DEFAULT,
+			value -> value == -4 ? TriState.TRUE : TriState.DEFAULT,
+			value -> value == -5 ? TriState.FALSE : TriState.DEFAULT,
+			value -> value == -6 ? TriState.FALSE : TriState.DEFAULT,
+			value -> value == -7 ? TriState.FALSE : TriState.DEFAULT,
+			value -> value == -8 ? TriState.FALSE : TriState.DEFAULT,
+	};
+
+	TriState onEvent(int value);
+
+	static BenchmarkCallback invoker(BenchmarkCallback[] listeners) {
+		return value -> {
+			for (BenchmarkCallback listener : listeners) {
+				TriState result = listener.onEvent(value);
+
+				if (result != TriState.DEFAULT) {
+					return result;
+				}
+			}
+
+			return TriState.DEFAULT;
+		};
+	}
+}
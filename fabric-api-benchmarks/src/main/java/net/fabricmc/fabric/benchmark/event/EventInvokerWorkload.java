@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.event;
+
+import java.util.function.Supplier;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.util.TriState;
+import net.fabricmc.fabric.impl.base.event.EventFactoryImpl;
+
+/**
+ * Invokes a sequential event whose listeners all pass, with either the loop invoker or the generated unrolled invoker.
+ */
+public final class EventInvokerWorkload implements Supplier<Object> {
+	private final Event<BenchmarkCallback> event;
+	private int value = 0;
+
+	public EventInvokerWorkload(int listeners, boolean generateInvokers) {
+		event = EventFactoryImpl.createSequential(BenchmarkCallback.class, TriState.DEFAULT, BenchmarkCallback::invoker, generateInvokers);
+
+		for (int i = 0; i < listeners; ++i) {
+			event.register(BenchmarkCallback.LISTENERS[i % BenchmarkCallback.LISTENERS.length]);
+		}
+	}
+
+	@Override
+	public Object get() {
+		return event.invoker().onEvent(value++);
+	}
+}
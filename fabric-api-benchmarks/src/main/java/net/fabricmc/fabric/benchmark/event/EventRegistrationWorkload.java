@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.event;
+
+import java.util.function.Supplier;
+
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.api.util.TriState;
+
+/**
+ * Creates an event with a chain of phases, and registers listeners spread over all phases.
+ */
+public final class EventRegistrationWorkload implements Supplier<Object> {
+	private final int listeners;
+	private final Identifier[] phases;
+	private final boolean batched;
+
+	public EventRegistrationWorkload(int listeners, int phases, boolean batched) {
+		this.listeners = listeners;
+		this.phases = new Identifier[phases];
+		this.batched = batched;
+
+		for (int i = 0; i < phases; ++i) {
+			// Lexicographic order differs from the phase order, so that some orderings do change the sorted phases.
+			this.phases[i] = Identifier.of("fabric-api-benchmarks", "phase_" + i);
+		}
+	}
+
+	@Override
+	public Object get() {
+		Event<BenchmarkCallback> event = EventFactory.createSequential(BenchmarkCallback.class, TriState.DEFAULT, BenchmarkCallback::invoker);
+
+		if (batched) {
+			try (EventFactory.RegistrationBatch batch = EventFactory.batchRegistrations()) {
+				register(event);
+			}
+		} else {
+			register(event);
+		}
+
+		return event.invoker();
+	}
+
+	private void register(Event<BenchmarkCallback> event) {
+		for (int i = 1; i < phases.length; ++i) {
+			event.addPhaseOrdering(phases[i - 1], phases[i]);
+		}
+
+		for (int i = 0; i < listeners; ++i) {
+			event.register(phases[i % phases.length], BenchmarkCallback.LISTENERS[i % BenchmarkCallback.LISTENERS.length]);
+		}
+	}
+}
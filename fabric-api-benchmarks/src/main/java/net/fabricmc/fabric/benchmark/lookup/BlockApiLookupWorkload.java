@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.lookup;
+
+import java.util.function.Supplier;
+
+import org.mockito.Mockito;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+import net.fabricmc.fabric.benchmark.BenchmarkBootstrap;
+
+/**
+ * Queries a block API lookup for a block with a registered provider, or for a block that is only handled by fallback providers.
+ * The world is a mock that the lookup does not query since the block state is passed.
+ */
+public final class BlockApiLookupWorkload implements Supplier<Object> {
+	private static final Object API = new Object();
+	private static BlockApiLookup<Object, Void> lookup;
+
+	private final World world = Mockito.mock(World.class);
+	private final BlockState state;
+
+	public BlockApiLookupWorkload(boolean registeredBlock) {
+		BenchmarkBootstrap.initialize();
+
+		synchronized (BlockApiLookupWorkload.class) {
+			if (lookup == null) {
+				lookup = BlockApiLookup.get(Identifier.of("fabric-api-benchmarks", "block_api"), Object.class, Void.class);
+				lookup.registerForBlocks((world, pos, state, blockEntity, context) -> API, Blocks.STONE);
+				// Most lookups have a few fallback providers, for example for blocks implementing the API.
+				lookup.registerFallback((world, pos, state, blockEntity, context) -> null);
+				// Fallbacks for block entities can be skipped for the other blocks.
+				lookup.registerFallback((world, pos, state, blockEntity, context) -> null, BlockState::hasBlockEntity);
+			}
+		}
+
+		state = registeredBlock ? Blocks.STONE.getDefaultState() : Blocks.DIRT.getDefaultState();
+	}
+
+	@Override
+	public Object get() {
+		return lookup.find(world, BlockPos.ORIGIN, state, null, null);
+	}
+}
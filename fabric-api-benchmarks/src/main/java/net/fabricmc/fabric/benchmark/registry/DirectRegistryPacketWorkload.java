@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.registry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.benchmark.BenchmarkBootstrap;
+import net.fabricmc.fabric.impl.registry.sync.packet.DirectRegistryPacketHandler;
+
+/**
+ * Encodes the raw ids of all static vanilla registries into registry sync packets.
+ */
+public final class DirectRegistryPacketWorkload implements Supplier<Object> {
+	private final DirectRegistryPacketHandler handler = new DirectRegistryPacketHandler();
+	private final Map<Identifier, Object2IntMap<Identifier>> registryMap = new LinkedHashMap<>();
+
+	public DirectRegistryPacketWorkload() {
+		BenchmarkBootstrap.initialize();
+
+		for (Registry<?> registry : Registries.REGISTRIES) {
+			addRegistry(registry);
+		}
+	}
+
+	private <T> void addRegistry(Registry<T> registry) {
+		Object2IntMap<Identifier> idMap = new Object2IntLinkedOpenHashMap<>();
+
+		for (T entry : registry) {
+			idMap.put(registry.getId(entry), registry.getRawId(entry));
+		}
+
+		if (!idMap.isEmpty()) {
+			registryMap.put(registry.getKey().getValue(), idMap);
+		}
+	}
+
+	@Override
+	public Object get() {
+		List<DirectRegistryPacketHandler.Payload> payloads = new ArrayList<>();
+		handler.sendPacket(payloads::add, registryMap);
+		return payloads;
+	}
+}
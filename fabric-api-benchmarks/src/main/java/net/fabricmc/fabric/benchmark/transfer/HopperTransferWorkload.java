@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.transfer;
+
+import java.util.function.LongSupplier;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.benchmark.BenchmarkBootstrap;
+import net.fabricmc.fabric.impl.transfer.item.HopperStorageLink;
+
+/**
+ * Moves one item from a hopper-sized inventory to a chest-sized inventory in a committed transaction, then moves it back,
+ * either directly between the two slots, with {@code StorageUtil.move} between the whole inventories,
+ * or with the {@link HopperStorageLink}s that the hopper hooks use, in which case the hopper is a real hopper block entity.
+ * Both inventories keep a partial stack of the item in their first slot, so every transfer reuses the existing stacks.
+ */
+public final class HopperTransferWorkload implements LongSupplier {
+	private static final ItemVariant DIAMOND = ItemVariant.of(Items.DIAMOND);
+
+	private final InventoryStorage hopper;
+	private final InventoryStorage chest;
+	private final String transferKind;
+	private final HopperStorageLink outputLink;
+	private final HopperStorageLink inputLink;
+
+	public HopperTransferWorkload(String transferKind) {
+		BenchmarkBootstrap.initialize();
+
+		HopperBlockEntity hopperBlockEntity = new HopperBlockEntity(BlockPos.ORIGIN, Blocks.HOPPER.getDefaultState());
+		SimpleInventory hopperInventory = new SimpleInventory(5);
+		SimpleInventory chestInventory = new SimpleInventory(27);
+		chestInventory.setStack(0, new ItemStack(Items.DIAMOND, 32));
+
+		this.transferKind = switch (transferKind) {
+		case "slot", "inventory", "link" -> transferKind;
+		default -> throw new IllegalArgumentException("Unknown transfer kind: " + transferKind);
+		};
+
+		if (transferKind.equals("link")) {
+			hopperBlockEntity.setStack(0, new ItemStack(Items.DIAMOND, 32));
+			hopper = InventoryStorage.of(hopperBlockEntity, null);
+		} else {
+			hopperInventory.setStack(0, new ItemStack(Items.DIAMOND, 32));
+			hopper = InventoryStorage.of(hopperInventory, null);
+		}
+
+		chest = InventoryStorage.of(chestInventory, null);
+		outputLink = new HopperStorageLink(hopperBlockEntity, Direction.DOWN);
+		inputLink = new HopperStorageLink(hopperBlockEntity, Direction.UP);
+	}
+
+	@Override
+	public long getAsLong() {
+		return switch (transferKind) {
+		case "inventory" -> StorageUtil.move(hopper, chest, iv -> true, 1, null) + StorageUtil.move(chest, hopper, iv -> true, 1, null);
+		case "link" -> (outputLink.insert(chest) ? 1 : 0) + (inputLink.extract(chest) ? 1 : 0);
+		default -> transfer(hopper.getSlot(0), chest.getSlot(0)) + transfer(chest.getSlot(0), hopper.getSlot(0));
+		};
+	}
+
+	private static long transfer(SingleSlotStorage<ItemVariant> from, SingleSlotStorage<ItemVariant> to) {
+		try (Transaction transaction = Transaction.openOuter()) {
+			long moved = to.insert(DIAMOND, from.extract(DIAMOND, 1, transaction), transaction);
+			transaction.commit();
+			return moved;
+		}
+	}
+}
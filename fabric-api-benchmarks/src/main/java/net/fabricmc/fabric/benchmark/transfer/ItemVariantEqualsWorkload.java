@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.transfer;
+
+import java.util.function.BooleanSupplier;
+
+import net.minecraft.component.ComponentChanges;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.item.Items;
+import net.minecraft.text.Text;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.benchmark.BenchmarkBootstrap;
+
+/**
+ * Compares two item variants, which are the same instance, equal but distinct instances, or different.
+ */
+public final class ItemVariantEqualsWorkload implements BooleanSupplier {
+	private final ItemVariant first;
+	private final ItemVariant second;
+
+	public ItemVariantEqualsWorkload(String comparison) {
+		BenchmarkBootstrap.initialize();
+
+		first = ItemVariant.of(Items.DIAMOND_SWORD, named("Sword"));
+		second = switch (comparison) {
+		case "identical" -> first;
+		case "equal" -> ItemVariant.of(Items.DIAMOND_SWORD, named("Sword"));
+		case "different_components" -> ItemVariant.of(Items.DIAMOND_SWORD, named("Other sword"));
+		case "different_items" -> ItemVariant.of(Items.IRON_SWORD, named("Sword"));
+		default -> throw new IllegalArgumentException("Unknown comparison: " + comparison);
+		};
+	}
+
+	private static ComponentChanges named(String name) {
+		return ComponentChanges.builder().add(DataComponentTypes.CUSTOM_NAME, Text.literal(name)).build();
+	}
+
+	@Override
+	public boolean getAsBoolean() {
+		return first.equals(second);
+	}
+}
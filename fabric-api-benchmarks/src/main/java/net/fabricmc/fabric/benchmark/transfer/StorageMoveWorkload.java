@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.benchmark.transfer;
+
+import java.util.function.LongSupplier;
+
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleVariantStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.benchmark.BenchmarkBootstrap;
+
+/**
+ * Moves everything from one storage to another in a transaction that is then aborted,
+ * either between two single slot storages or between two chest-sized inventories.
+ */
+public final class StorageMoveWorkload implements LongSupplier {
+	private final Storage<ItemVariant> from;
+	private final Storage<ItemVariant> to;
+
+	public StorageMoveWorkload(String storageKind) {
+		BenchmarkBootstrap.initialize();
+
+		switch (storageKind) {
+		case "single_slot" -> {
+			SingleVariantStorage<ItemVariant> fromSlot = new ItemSlot();
+			fromSlot.variant = ItemVariant.of(Items.COBBLESTONE);
+			fromSlot.amount = 64;
+			from = fromSlot;
+			to = new ItemSlot();
+		}
+		case "inventory" -> {
+			SimpleInventory fromInventory = new SimpleInventory(27);
+
+			for (int i = 0; i < fromInventory.size(); i += 2) {
+				fromInventory.setStack(i, new ItemStack(i % 4 == 0 ? Items.COBBLESTONE : Items.DIAMOND, 64));
+			}
+
+			from = InventoryStorage.of(fromInventory, null);
+			to = InventoryStorage.of(new SimpleInventory(27), null);
+		}
+		default -> throw new IllegalArgumentException("Unknown storage kind: " + storageKind);
+		}
+	}
+
+	@Override
+	public long getAsLong() {
+		try (Transaction transaction = Transaction.openOuter()) {
+			return StorageUtil.move(from, to, variant -> true, Long.MAX_VALUE, transaction);
+		}
+	}
+
+	private static class ItemSlot extends SingleVariantStorage<ItemVariant> {
+		@Override
+		protected ItemVariant getBlankVariant() {
+			return ItemVariant.blank();
+		}
+
+		@Override
+		protected long getCapacity(ItemVariant variant) {
+			return variant.getItem().getMaxCount();
+		}
+	}
+}
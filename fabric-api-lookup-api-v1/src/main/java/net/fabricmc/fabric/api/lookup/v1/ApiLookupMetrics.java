@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.lookup.v1;
+
+import java.util.List;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.impl.lookup.ApiLookupMetricsImpl;
+import net.fabricmc.fabric.impl.lookup.block.BlockApiCacheIndex;
+
+/**
+ * Per-lookup query metrics for the block, item and entity API lookups.
+ *
+ * <p>Metrics are disabled by default, and only cost a volatile read per query while disabled.
+ * When they are enabled, each query records whether it was answered by the provider registered for the block, item or entity type,
+ * by a fallback provider, or not at all, as well as the time it took.
+ * Queries going through {@link net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache BlockApiCache} and
+ * {@link net.fabricmc.fabric.api.lookup.v1.entity.EntityApiCache EntityApiCache} are recorded as queries of their lookup,
+ * and each position with providers counts as a query in batch block queries.
+ *
+ * <p>Metrics can also be enabled from startup with the {@code fabric.lookup.metrics} system property,
+ * and are available in game through the {@code /fabric lookups} command if the command API is installed.
+ *
+ * <p>The {@link net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache BlockApiCache}s of each server world
+ * are always counted, see {@link #getBlockApiCacheMetrics}.
+ */
+@ApiStatus.Experimental
+public final class ApiLookupMetrics {
+	private ApiLookupMetrics() {
+	}
+
+	/**
+	 * @return {@code true} if queries are currently being recorded.
+	 */
+	public static boolean isEnabled() {
+		return ApiLookupMetricsImpl.isEnabled();
+	}
+
+	/**
+	 * Enable or disable the recording of queries.
+	 * Recorded metrics are kept when recording is disabled.
+	 */
+	public static void setEnabled(boolean enabled) {
+		ApiLookupMetricsImpl.setEnabled(enabled);
+	}
+
+	/**
+	 * Clear all recorded metrics.
+	 */
+	public static void reset() {
+		ApiLookupMetricsImpl.reset();
+	}
+
+	/**
+	 * @return A snapshot of the metrics of all lookups that were queried at least once,
+	 * sorted by decreasing total time.
+	 */
+	public static List<LookupMetrics> getLookupMetrics() {
+		return ApiLookupMetricsImpl.getLookupMetrics();
+	}
+
+	/**
+	 * Return the current counts of the block API caches of a server world.
+	 * The returned object reflects later changes, and must only be used on the server thread.
+	 */
+	public static BlockApiCacheMetrics getBlockApiCacheMetrics(ServerWorld world) {
+		return BlockApiCacheIndex.get(world);
+	}
+
+	/**
+	 * Query metrics of a single lookup.
+	 */
+	@ApiStatus.NonExtendable
+	public interface LookupMetrics {
+		/**
+		 * @return The kind of lookup: {@code "block"}, {@code "item"} or {@code "entity"}.
+		 */
+		String getLookupType();
+
+		/**
+		 * @return The identifier of the lookup.
+		 */
+		Identifier getLookupId();
+
+		long getQueries();
+
+		/**
+		 * @return The number of queries answered by the provider registered for the block, item or entity type.
+		 */
+		long getProviderHits();
+
+		/**
+		 * @return The number of queries answered by a fallback provider.
+		 */
+		long getFallbackHits();
+
+		/**
+		 * @return The number of queries that returned {@code null}.
+		 */
+		long getNullResults();
+
+		long getTotalNanos();
+	}
+
+	/**
+	 * Counts of the block API caches of a server world.
+	 */
+	@ApiStatus.NonExtendable
+	public interface BlockApiCacheMetrics {
+		/**
+		 * @return The number of caches that were not garbage collected yet.
+		 */
+		int getLiveCaches();
+
+		/**
+		 * @return The number of caches that are notified of block state changes,
+		 * because they cache null results or have invalidation listeners.
+		 */
+		int getWatchingCaches();
+
+		/**
+		 * @return The number of positions with at least one cache.
+		 */
+		int getIndexedPositions();
+
+		/**
+		 * @return The number of chunk sections with at least one cache.
+		 */
+		int getIndexedSections();
+
+		/**
+		 * @return The number of times a live cache was invalidated.
+		 */
+		long getInvalidations();
+	}
+}
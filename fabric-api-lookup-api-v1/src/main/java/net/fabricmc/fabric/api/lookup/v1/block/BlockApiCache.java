@@ -36,6 +36,12 @@ import net.fabricmc.fabric.impl.lookup.block.BlockApiLookupImpl;
  * <p>This object caches the block entity at the target position, and the last used API provider, removing those queries.
  * If a block entity is available or if the block state is passed as a parameter, the block state doesn't have to be looked up either.
  *
+ * <p>Caches {@linkplain #create(BlockApiLookup, ServerWorld, BlockPos, boolean) created with null result caching}
+ * also remember the last query that returned {@code null}, and return {@code null} for the same query without calling any provider
+ * until the block state or the block entity at the target position changes.
+ * {@linkplain #addInvalidationListener Invalidation listeners} are notified of these changes,
+ * so that users of the cache don't have to poll it every tick to notice that an API appeared.
+ *
  * @param <A> The type of the API.
  * @param <C> The type of the additional context object.
  * @see BlockApiLookup
@@ -74,6 +80,26 @@ public interface BlockApiCache<A, C> {
 	@Nullable
 	BlockEntity getBlockEntity();
 
+	/**
+	 * Register a listener that is called on the server thread when the result of the queries of this cache may have changed,
+	 * that is when the block entity at the target position is loaded or unloaded, when the block state at the target position changes,
+	 * or when the chunk of the target position is unloaded.
+	 *
+	 * <p>The listener is called while the world is being modified, so it should not query the cache right away:
+	 * it should rather record that the cache must be queried again, for example on the next tick.
+	 * The listener is kept as long as this cache is.
+	 *
+	 * @param listener The listener to call when the cache is invalidated.
+	 */
+	void addInvalidationListener(Runnable listener);
+
+	/**
+	 * Return whether this cache remembers null results until the block state or the block entity at the target position changes.
+	 *
+	 * @see #create(BlockApiLookup, ServerWorld, BlockPos, boolean)
+	 */
+	boolean cachesNullResults();
+
 	/**
 	 * Return the lookup this cache is bound to.
 	 */
@@ -93,6 +119,21 @@ public interface BlockApiCache<A, C> {
 	 * Create a new instance bound to the passed {@link ServerWorld} and position, and querying the same API as the passed lookup.
 	 */
 	static <A, C> BlockApiCache<A, C> create(BlockApiLookup<A, C> lookup, ServerWorld world, BlockPos pos) {
+		return create(lookup, world, pos, false);
+	}
+
+	/**
+	 * Create a new instance bound to the passed {@link ServerWorld} and position, and querying the same API as the passed lookup.
+	 *
+	 * <p>If {@code cacheNullResults} is {@code true}, the last query that returned {@code null} will return {@code null} again
+	 * without calling any provider, until the block state or the block entity at the target position changes.
+	 * Queries are the same if they pass the same block state (or none) and equal contexts.
+	 * This is only correct if the providers of the lookup return {@code null} based on the block state and the block entity alone,
+	 * and not for example on the contents of the block entity.
+	 *
+	 * @param cacheNullResults Whether null results should be remembered.
+	 */
+	static <A, C> BlockApiCache<A, C> create(BlockApiLookup<A, C> lookup, ServerWorld world, BlockPos pos, boolean cacheNullResults) {
 		Objects.requireNonNull(pos, "BlockPos may not be null.");
 		Objects.requireNonNull(world, "ServerWorld may not be null.");
 
@@ -100,6 +141,6 @@ public interface BlockApiCache<A, C> {
 			throw new IllegalArgumentException("Cannot cache foreign implementation of BlockApiLookup. Use `BlockApiLookup#get(Identifier, Class<A>, Class<C>);` to get instances.");
 		}
 
-		return new BlockApiCacheImpl<>((BlockApiLookupImpl<A, C>) lookup, world, pos);
+		return new BlockApiCacheImpl<>((BlockApiLookupImpl<A, C>) lookup, world, pos, cacheNullResults);
 	}
 }
@@ -16,7 +16,9 @@
 
 package net.fabricmc.fabric.api.lookup.v1.block;
 
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -26,7 +28,9 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.world.World;
 
 import net.fabricmc.fabric.impl.lookup.block.BlockApiLookupImpl;
@@ -183,6 +187,49 @@ public interface BlockApiLookup<A, C> {
 	@Nullable
 	A find(World world, BlockPos pos, @Nullable BlockState state, @Nullable BlockEntity blockEntity, C context);
 
+	/**
+	 * Retrieve the API from every block in a box, for example to rebuild a network of pipes after a chunk was loaded.
+	 * This is much faster than calling {@link #find(World, BlockPos, Object)} for each position: the chunks and their sections
+	 * are only looked up once, and whole sections without any block that the API could be found for are skipped.
+	 *
+	 * <p>Positions in chunks that are not loaded are skipped, without loading the chunks.
+	 * The consumer is called for each position where the API was found, in an unspecified order.
+	 *
+	 * @param world The world.
+	 * @param box The box of positions to query, with inclusive bounds.
+	 * @param context Additional context for the queries, defined by type parameter C.
+	 * @param consumer The consumer of each position and the API that was found there.
+	 */
+	default void findAll(World world, BlockBox box, C context, BiConsumer<BlockPos, A> consumer) {
+		findAll(world, BlockPos.iterate(box.getMinX(), box.getMinY(), box.getMinZ(), box.getMaxX(), box.getMaxY(), box.getMaxZ()), context, consumer);
+	}
+
+	/**
+	 * Retrieve the API from the blocks at multiple positions, for example from all the neighbors of a block.
+	 * This is faster than calling {@link #find(World, BlockPos, Object)} for each position:
+	 * the chunk and the section of consecutive positions are only looked up once if they are the same.
+	 *
+	 * <p>Positions in chunks that are not loaded are skipped, without loading the chunks.
+	 * The consumer is called in iteration order for each position where the API was found.
+	 * The iterated positions may be mutable, in which case a copy is passed to the consumer.
+	 *
+	 * @param world The world.
+	 * @param positions The positions to query.
+	 * @param context Additional context for the queries, defined by type parameter C.
+	 * @param consumer The consumer of each position and the API that was found there.
+	 */
+	default void findAll(World world, Iterable<BlockPos> positions, C context, BiConsumer<BlockPos, A> consumer) {
+		for (BlockPos pos : positions) {
+			if (world.getChunkManager().isChunkLoaded(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()))) {
+				A api = find(world, pos, context);
+
+				if (api != null) {
+					consumer.accept(pos.toImmutable(), api);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Expose the API for the passed block entities directly implementing it.
 	 *
@@ -244,6 +291,31 @@ public interface BlockApiLookup<A, C> {
 	 */
 	void registerFallback(BlockApiProvider<A, C> fallbackProvider);
 
+	/**
+	 * Expose the API for the queries on block states matching a predicate: the provider will be invoked if no object was found
+	 * using the block or block entity providers, but only for the block states accepted by {@code statePredicate}.
+	 *
+	 * <p>The lookup keeps a table of the providers to query for each block state, and the predicate is only evaluated when it is built.
+	 * The predicate must therefore only depend on the block state, and not on the world or on registration order.
+	 * Block states that no provider applies to are then skipped immediately by {@link #find}, without even getting their block entity,
+	 * so this should be preferred over {@link #registerFallback(BlockApiProvider)} whenever possible.
+	 *
+	 * <p>For example, a fallback for all the blocks of some block entity type:
+	 * <pre>{@code
+	 * MyApi.FLUID_CONTAINER.registerFallback((world, pos, state, blockEntity, direction) -> {
+	 *     // ...
+	 * }, state -> state.hasBlockEntity());
+	 * }</pre>
+	 *
+	 * @param fallbackProvider The fallback provider.
+	 * @param statePredicate The block states the fallback provider applies to.
+	 */
+	default void registerFallback(BlockApiProvider<A, C> fallbackProvider, Predicate<BlockState> statePredicate) {
+		registerFallback((world, pos, state, blockEntity, context) -> {
+			return statePredicate.test(state) ? fallbackProvider.find(world, pos, state, blockEntity, context) : null;
+		});
+	}
+
 	/**
 	 * Return the identifier of this lookup.
 	 */
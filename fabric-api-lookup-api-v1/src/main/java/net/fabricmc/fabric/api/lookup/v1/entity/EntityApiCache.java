@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.lookup.v1.entity;
+
+import java.util.Objects;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+
+import net.fabricmc.fabric.impl.lookup.entity.EntityApiCacheImpl;
+import net.fabricmc.fabric.impl.lookup.entity.EntityApiLookupImpl;
+
+/**
+ * An {@link EntityApiLookup} bound to an entity in a {@link ServerWorld}, providing faster API access
+ * for code that queries the same entity repeatedly, for example every tick.
+ *
+ * <p>This object caches the providers registered for the type of the entity, removing the provider lookups.
+ * The cache is invalidated when the entity is unloaded or removed from its world, including when it changes dimension:
+ * after that, {@link #find} always returns {@code null} and a new cache should be created for the new entity if needed.
+ *
+ * @param <A> The type of the API.
+ * @param <C> The type of the additional context object.
+ * @see EntityApiLookup
+ */
+@ApiStatus.NonExtendable
+public interface EntityApiCache<A, C> {
+	/**
+	 * Attempt to retrieve an API from the entity passed at creation time.
+	 *
+	 * @param context Additional context for the query, defined by type parameter C.
+	 * @return The retrieved API, or {@code null} if no API was found or if the cache was invalidated.
+	 */
+	@Nullable
+	A find(C context);
+
+	/**
+	 * Return whether the entity of this cache is still in its world.
+	 * Once the entity is unloaded or removed, the cache stays invalid.
+	 */
+	boolean isValid();
+
+	/**
+	 * Register a listener that is called on the server thread when the entity of this cache is unloaded or removed.
+	 * The listener is called before the entity is removed from its world, and at most once.
+	 * Nothing happens if the cache is already invalid.
+	 *
+	 * @param listener The listener to call when the cache is invalidated.
+	 */
+	void addInvalidationListener(Runnable listener);
+
+	/**
+	 * Return the lookup this cache is bound to.
+	 */
+	EntityApiLookup<A, C> getLookup();
+
+	/**
+	 * Return the entity this cache is bound to.
+	 */
+	Entity getEntity();
+
+	/**
+	 * Create a new instance bound to the passed entity, and querying the same API as the passed lookup.
+	 *
+	 * @throws IllegalArgumentException If the entity is not in a {@link ServerWorld}.
+	 */
+	static <A, C> EntityApiCache<A, C> create(EntityApiLookup<A, C> lookup, Entity entity) {
+		Objects.requireNonNull(entity, "Entity may not be null.");
+
+		if (!(lookup instanceof EntityApiLookupImpl)) {
+			throw new IllegalArgumentException("Cannot cache foreign implementation of EntityApiLookup. Use `EntityApiLookup#get(Identifier, Class<A>, Class<C>);` to get instances.");
+		}
+
+		if (!(entity.getWorld() instanceof ServerWorld world)) {
+			throw new IllegalArgumentException("Can only cache entities in a ServerWorld.");
+		}
+
+		return new EntityApiCacheImpl<>((EntityApiLookupImpl<A, C>) lookup, world, entity);
+	}
+}
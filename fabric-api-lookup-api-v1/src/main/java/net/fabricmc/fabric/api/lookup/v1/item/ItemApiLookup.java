@@ -121,6 +121,26 @@ public interface ItemApiLookup<A, C> {
 	@Nullable
 	A find(ItemStack itemStack, C context);
 
+	/**
+	 * Attempt to retrieve an API from an item stack without context,
+	 * reusing the result of a previous query for a stack with the same item and components.
+	 *
+	 * <p>This is meant for context-free APIs that are queried for many stacks, for example when scanning large inventories.
+	 * The providers are queried with a {@code null} context, and the returned instance is shared by all the stacks with the same item and components,
+	 * so this is only correct if the providers:
+	 * <ul>
+	 *     <li>accept a {@code null} context,</li>
+	 *     <li>return a result that only depends on the item and the components of the stack, and not on its count,</li>
+	 *     <li>return an API instance that does not capture the stack.</li>
+	 * </ul>
+	 * Results are forgotten when a provider is registered.
+	 *
+	 * @param itemStack The item stack.
+	 * @return The retrieved API, or {@code null} if no API was found.
+	 */
+	@Nullable
+	A findMemoized(ItemStack itemStack);
+
 	/**
 	 * Expose the API for the passed items directly implementing it.
 	 *
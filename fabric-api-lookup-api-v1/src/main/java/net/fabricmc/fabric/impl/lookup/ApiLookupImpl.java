@@ -19,10 +19,15 @@ package net.fabricmc.fabric.impl.lookup;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.impl.lookup.entity.EntityApiLookupImpl;
+import net.fabricmc.loader.api.FabricLoader;
 
 public class ApiLookupImpl implements ModInitializer {
 	@Override
 	public void onInitialize() {
 		ServerLifecycleEvents.SERVER_STARTED.register(EntityApiLookupImpl::checkSelfImplementingTypes);
+
+		if (FabricLoader.getInstance().isModLoaded("fabric-command-api-v2")) {
+			ApiLookupMetricsCommand.init();
+		}
 	}
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.lookup.v1.ApiLookupMetrics;
+
+/**
+ * Registers the {@code /fabric lookups} subcommand, to record and dump {@link ApiLookupMetrics}.
+ * Only loaded if the command API is present, since the lookup API doesn't depend on it.
+ */
+final class ApiLookupMetricsCommand {
+	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-api-lookup-api-v1");
+	private static final int DEFAULT_DUMP_LIMIT = 10;
+
+	private ApiLookupMetricsCommand() {
+	}
+
+	static void init() {
+		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+	}
+
+	private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(literal("fabric")
+				.requires(source -> source.hasPermissionLevel(4))
+				.then(literal("lookups")
+						.then(literal("start").executes(context -> setMetricsEnabled(context, true)))
+						.then(literal("stop").executes(context -> setMetricsEnabled(context, false)))
+						.then(literal("reset").executes(context -> {
+							ApiLookupMetrics.reset();
+							context.getSource().sendFeedback(() -> Text.literal("Reset API lookup metrics"), true);
+							return 1;
+						}))
+						.then(literal("dump")
+								.executes(context -> dumpMetrics(context, DEFAULT_DUMP_LIMIT))
+								.then(argument("limit", IntegerArgumentType.integer(1))
+										.executes(context -> dumpMetrics(context, IntegerArgumentType.getInteger(context, "limit")))))
+						.then(literal("caches").executes(ApiLookupMetricsCommand::dumpCacheMetrics))));
+	}
+
+	private static int setMetricsEnabled(CommandContext<ServerCommandSource> context, boolean enabled) {
+		ApiLookupMetrics.setEnabled(enabled);
+		context.getSource().sendFeedback(() -> Text.literal((enabled ? "Started" : "Stopped") + " recording API lookup metrics"), true);
+		return 1;
+	}
+
+	/**
+	 * Send the {@code limit} most expensive lookups to the command source, and log all of them.
+	 */
+	private static int dumpMetrics(CommandContext<ServerCommandSource> context, int limit) {
+		List<ApiLookupMetrics.LookupMetrics> metrics = ApiLookupMetrics.getLookupMetrics();
+
+		if (metrics.isEmpty()) {
+			context.getSource().sendFeedback(() -> Text.literal("No API lookup query recorded, use /fabric lookups start"), false);
+			return 0;
+		}
+
+		StringBuilder log = new StringBuilder("API lookup metrics, sorted by total time:");
+
+		for (int i = 0; i < metrics.size(); ++i) {
+			String line = formatMetrics(metrics.get(i));
+			log.append("\n\t").append(line);
+
+			if (i < limit) {
+				context.getSource().sendFeedback(() -> Text.literal(line), false);
+			}
+		}
+
+		LOGGER.info(log.toString());
+		context.getSource().sendFeedback(() -> Text.literal("Logged the metrics of %d lookups".formatted(metrics.size())), false);
+		return metrics.size();
+	}
+
+	/**
+	 * Send the block API cache counts of each world to the command source.
+	 */
+	private static int dumpCacheMetrics(CommandContext<ServerCommandSource> context) {
+		int liveCaches = 0;
+
+		for (ServerWorld world : context.getSource().getServer().getWorlds()) {
+			ApiLookupMetrics.BlockApiCacheMetrics metrics = ApiLookupMetrics.getBlockApiCacheMetrics(world);
+			String line = String.format(Locale.ROOT, "%s: %d block API caches, %d watching, at %d positions in %d sections, %d invalidations",
+					world.getRegistryKey().getValue(),
+					metrics.getLiveCaches(),
+					metrics.getWatchingCaches(),
+					metrics.getIndexedPositions(),
+					metrics.getIndexedSections(),
+					metrics.getInvalidations());
+			context.getSource().sendFeedback(() -> Text.literal(line), false);
+			liveCaches += metrics.getLiveCaches();
+		}
+
+		return liveCaches;
+	}
+
+	private static String formatMetrics(ApiLookupMetrics.LookupMetrics metrics) {
+		return String.format(Locale.ROOT, "%s [%s]: %d queries, %d provider hits, %d fallback hits, %d null, %.3f ms total, %.3f us avg",
+				metrics.getLookupId(),
+				metrics.getLookupType(),
+				metrics.getQueries(),
+				metrics.getProviderHits(),
+				metrics.getFallbackHits(),
+				metrics.getNullResults(),
+				metrics.getTotalNanos() / 1e6,
+				metrics.getTotalNanos() / 1e3 / metrics.getQueries());
+	}
+}
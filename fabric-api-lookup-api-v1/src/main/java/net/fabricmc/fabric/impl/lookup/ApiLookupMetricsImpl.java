@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.api.lookup.v1.ApiLookupMetrics;
+
+/**
+ * Global state of {@link ApiLookupMetrics}.
+ * Every block, item and entity lookup creates its {@link LookupStats} on construction, so that they can be listed and reset.
+ */
+public final class ApiLookupMetricsImpl {
+	private static volatile boolean enabled = Boolean.getBoolean("fabric.lookup.metrics");
+	private static final List<LookupStats> STATS = new CopyOnWriteArrayList<>();
+
+	private ApiLookupMetricsImpl() {
+	}
+
+	public static LookupStats register(String type, Identifier lookupId) {
+		LookupStats stats = new LookupStats(type, lookupId);
+		STATS.add(stats);
+		return stats;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean enabled) {
+		ApiLookupMetricsImpl.enabled = enabled;
+	}
+
+	public static void reset() {
+		for (LookupStats stats : STATS) {
+			stats.reset();
+		}
+	}
+
+	public static List<ApiLookupMetrics.LookupMetrics> getLookupMetrics() {
+		List<ApiLookupMetrics.LookupMetrics> metrics = new ArrayList<>();
+
+		for (LookupStats stats : STATS) {
+			long queries = stats.queries.sum();
+
+			if (queries > 0) {
+				metrics.add(new Snapshot(stats.type, stats.lookupId, queries, stats.providerHits.sum(), stats.fallbackHits.sum(), stats.nullResults.sum(), stats.totalNanos.sum()));
+			}
+		}
+
+		metrics.sort(Comparator.comparingLong(ApiLookupMetrics.LookupMetrics::getTotalNanos).reversed());
+		return metrics;
+	}
+
+	private static final class Snapshot implements ApiLookupMetrics.LookupMetrics {
+		private final String type;
+		private final Identifier lookupId;
+		private final long queries;
+		private final long providerHits;
+		private final long fallbackHits;
+		private final long nullResults;
+		private final long totalNanos;
+
+		private Snapshot(String type, Identifier lookupId, long queries, long providerHits, long fallbackHits, long nullResults, long totalNanos) {
+			this.type = type;
+			this.lookupId = lookupId;
+			this.queries = queries;
+			this.providerHits = providerHits;
+			this.fallbackHits = fallbackHits;
+			this.nullResults = nullResults;
+			this.totalNanos = totalNanos;
+		}
+
+		@Override
+		public String getLookupType() {
+			return type;
+		}
+
+		@Override
+		public Identifier getLookupId() {
+			return lookupId;
+		}
+
+		@Override
+		public long getQueries() {
+			return queries;
+		}
+
+		@Override
+		public long getProviderHits() {
+			return providerHits;
+		}
+
+		@Override
+		public long getFallbackHits() {
+			return fallbackHits;
+		}
+
+		@Override
+		public long getNullResults() {
+			return nullResults;
+		}
+
+		@Override
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * Query counters of a single lookup, updated by the lookup implementations.
+ * Call sites get a start timestamp from {@link #start()} and pass it back to one of the {@code record} methods,
+ * which do nothing if metrics were disabled when the query started.
+ */
+public final class LookupStats {
+	private static final long NOT_RECORDING = Long.MIN_VALUE;
+
+	final String type;
+	final Identifier lookupId;
+	final LongAdder queries = new LongAdder();
+	final LongAdder providerHits = new LongAdder();
+	final LongAdder fallbackHits = new LongAdder();
+	final LongAdder nullResults = new LongAdder();
+	final LongAdder totalNanos = new LongAdder();
+
+	LookupStats(String type, Identifier lookupId) {
+		this.type = type;
+		this.lookupId = lookupId;
+	}
+
+	/**
+	 * @return The start timestamp of a query, or a marker value if metrics are disabled.
+	 */
+	public long start() {
+		return ApiLookupMetricsImpl.isEnabled() ? System.nanoTime() : NOT_RECORDING;
+	}
+
+	public static boolean isRecording(long start) {
+		return start != NOT_RECORDING;
+	}
+
+	public void recordHit(long start, boolean fallback) {
+		if (start != NOT_RECORDING) {
+			record(start, fallback ? fallbackHits : providerHits);
+		}
+	}
+
+	public void recordNull(long start) {
+		if (start != NOT_RECORDING) {
+			record(start, nullResults);
+		}
+	}
+
+	private void record(long start, LongAdder outcome) {
+		totalNanos.add(System.nanoTime() - start);
+		outcome.increment();
+		queries.increment();
+	}
+
+	void reset() {
+		queries.reset();
+		providerHits.reset();
+		fallbackHits.reset();
+		nullResults.reset();
+		totalNanos.reset();
+	}
+}
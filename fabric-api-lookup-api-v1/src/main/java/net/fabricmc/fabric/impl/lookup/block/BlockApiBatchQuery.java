@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.block;
+
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+
+/**
+ * Implementation of {@link BlockApiLookup#findAll}, querying many positions with a single lookup of each chunk and section.
+ * Sections are skipped entirely if their palette doesn't contain any block state with providers.
+ */
+final class BlockApiBatchQuery<A, C> {
+	private final BlockApiLookupImpl<A, C> lookup;
+	private final World world;
+	private final C context;
+	private final BiConsumer<BlockPos, A> consumer;
+	private final Predicate<BlockState> hasProviders;
+	/**
+	 * Chunk and section of the last queried position, for {@link #query(BlockPos)}.
+	 */
+	private boolean chunkCached = false;
+	private int cachedChunkX;
+	private int cachedChunkZ;
+	@Nullable
+	private WorldChunk cachedChunk;
+	private int cachedSectionIndex = -1;
+	/**
+	 * {@code null} if the cached section can be skipped.
+	 */
+	@Nullable
+	private ChunkSection cachedSection;
+
+	BlockApiBatchQuery(BlockApiLookupImpl<A, C> lookup, World world, C context, BiConsumer<BlockPos, A> consumer) {
+		this.lookup = lookup;
+		this.world = world;
+		this.context = context;
+		this.consumer = consumer;
+		this.hasProviders = state -> lookup.getProviders(state).length != 0;
+	}
+
+	void queryBox(BlockBox box) {
+		int minY = Math.max(box.getMinY(), world.getBottomY());
+		int maxY = Math.min(box.getMaxY(), world.getTopYInclusive());
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+
+		for (int chunkX = ChunkSectionPos.getSectionCoord(box.getMinX()); chunkX <= ChunkSectionPos.getSectionCoord(box.getMaxX()); ++chunkX) {
+			for (int chunkZ = ChunkSectionPos.getSectionCoord(box.getMinZ()); chunkZ <= ChunkSectionPos.getSectionCoord(box.getMaxZ()); ++chunkZ) {
+				WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+
+				if (chunk == null) {
+					continue;
+				}
+
+				int minX = Math.max(box.getMinX(), ChunkSectionPos.getBlockCoord(chunkX));
+				int maxX = Math.min(box.getMaxX(), ChunkSectionPos.getBlockCoord(chunkX) + 15);
+				int minZ = Math.max(box.getMinZ(), ChunkSectionPos.getBlockCoord(chunkZ));
+				int maxZ = Math.min(box.getMaxZ(), ChunkSectionPos.getBlockCoord(chunkZ) + 15);
+
+				for (int sectionY = ChunkSectionPos.getSectionCoord(minY); sectionY <= ChunkSectionPos.getSectionCoord(maxY); ++sectionY) {
+					ChunkSection section = chunk.getSection(chunk.sectionCoordToIndex(sectionY));
+
+					if (!section.hasAny(hasProviders)) {
+						continue;
+					}
+
+					int sectionMinY = Math.max(minY, ChunkSectionPos.getBlockCoord(sectionY));
+					int sectionMaxY = Math.min(maxY, ChunkSectionPos.getBlockCoord(sectionY) + 15);
+
+					for (int y = sectionMinY; y <= sectionMaxY; ++y) {
+						for (int z = minZ; z <= maxZ; ++z) {
+							for (int x = minX; x <= maxX; ++x) {
+								BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+								query(state, pos.set(x, y, z));
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	void query(BlockPos pos) {
+		if (world.isOutOfHeightLimit(pos)) {
+			return;
+		}
+
+		int chunkX = ChunkSectionPos.getSectionCoord(pos.getX());
+		int chunkZ = ChunkSectionPos.getSectionCoord(pos.getZ());
+
+		if (!chunkCached || chunkX != cachedChunkX || chunkZ != cachedChunkZ) {
+			chunkCached = true;
+			cachedChunkX = chunkX;
+			cachedChunkZ = chunkZ;
+			cachedChunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+			cachedSectionIndex = -1;
+		}
+
+		if (cachedChunk == null) {
+			return;
+		}
+
+		int sectionIndex = cachedChunk.getSectionIndex(pos.getY());
+
+		if (sectionIndex != cachedSectionIndex) {
+			ChunkSection section = cachedChunk.getSection(sectionIndex);
+			cachedSectionIndex = sectionIndex;
+			cachedSection = section.hasAny(hasProviders) ? section : null;
+		}
+
+		if (cachedSection != null) {
+			query(cachedSection.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15), pos);
+		}
+	}
+
+	private void query(BlockState state, BlockPos pos) {
+		BlockApiLookup.BlockApiProvider<A, C>[] providers = lookup.getProviders(state);
+
+		if (providers.length == 0) {
+			return;
+		}
+
+		long start = lookup.getStats().start();
+		// Providers may keep the position, so only pass immutable positions.
+		BlockPos immutablePos = pos.toImmutable();
+		BlockEntity blockEntity = state.hasBlockEntity() ? world.getBlockEntity(immutablePos) : null;
+		A instance = lookup.queryProviders(providers, start, world, immutablePos, state, blockEntity, context);
+
+		if (instance != null) {
+			consumer.accept(immutablePos, instance);
+		}
+	}
+}
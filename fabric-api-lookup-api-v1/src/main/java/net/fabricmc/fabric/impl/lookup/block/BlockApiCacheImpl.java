@@ -16,6 +16,10 @@
 
 package net.fabricmc.fabric.impl.lookup.block;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.block.BlockState;
@@ -24,8 +28,8 @@ import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerBlockEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
-import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 
 public final class BlockApiCacheImpl<A, C> implements BlockApiCache<A, C> {
 	private final BlockApiLookupImpl<A, C> lookup;
@@ -37,30 +41,82 @@ public final class BlockApiCacheImpl<A, C> implements BlockApiCache<A, C> {
 	 */
 	private boolean blockEntityCacheValid = false;
 	private BlockEntity cachedBlockEntity = null;
+	private final BlockApiCacheIndex index;
+	private final BlockApiCacheIndex.CacheReference indexReference;
+	private final boolean cacheNullResults;
 	/**
-	 * We also cache the BlockApiProvider at the target position. We check if the block state has changed to invalidate the cache.
-	 * lastState maintains for which block state the cachedProvider is valid.
+	 * The last query that returned null, if null results are cached. We rely on BE and block state change notifications to clear it.
+	 * The block state is that of the query, it is null if the query used the state in the world.
 	 */
-	private BlockState lastState = null;
-	private BlockApiLookup.BlockApiProvider<A, C> cachedProvider = null;
+	private boolean nullResultValid = false;
+	@Nullable
+	private BlockState nullResultState = null;
+	@Nullable
+	private C nullResultContext = null;
+	@Nullable
+	private List<Runnable> invalidationListeners = null;
 
-	public BlockApiCacheImpl(BlockApiLookupImpl<A, C> lookup, ServerWorld world, BlockPos pos) {
-		((ServerWorldCache) world).fabric_registerCache(pos, this);
+	public BlockApiCacheImpl(BlockApiLookupImpl<A, C> lookup, ServerWorld world, BlockPos pos, boolean cacheNullResults) {
+		this.index = BlockApiCacheIndex.get(world);
+		this.indexReference = index.register(pos, this);
 		this.lookup = lookup;
 		this.world = world;
 		this.pos = pos.toImmutable();
+		this.cacheNullResults = cacheNullResults;
+
+		if (cacheNullResults) {
+			index.watch(indexReference);
+		}
 	}
 
 	public void invalidate() {
 		blockEntityCacheValid = false;
 		cachedBlockEntity = null;
-		lastState = null;
-		cachedProvider = null;
+		onStateChanged();
+	}
+
+	void onStateChanged() {
+		nullResultValid = false;
+		nullResultState = null;
+		nullResultContext = null;
+
+		if (invalidationListeners != null) {
+			// Copy since listeners may register other listeners.
+			for (Runnable listener : invalidationListeners.toArray(new Runnable[0])) {
+				listener.run();
+			}
+		}
+	}
+
+	@Override
+	public void addInvalidationListener(Runnable listener) {
+		Objects.requireNonNull(listener, "Invalidation listener may not be null.");
+
+		if (invalidationListeners == null) {
+			invalidationListeners = new ArrayList<>();
+			index.watch(indexReference);
+		}
+
+		invalidationListeners.add(listener);
+	}
+
+	@Override
+	public boolean cachesNullResults() {
+		return cacheNullResults;
 	}
 
 	@Nullable
 	@Override
 	public A find(@Nullable BlockState state, C context) {
+		long start = lookup.getStats().start();
+
+		if (nullResultValid && nullResultState == state && Objects.equals(nullResultContext, context)) {
+			lookup.getStats().recordNull(start);
+			return null;
+		}
+
+		BlockState queriedState = state;
+
 		// Update block entity cache
 		getBlockEntity();
 
@@ -73,30 +129,17 @@ public final class BlockApiCacheImpl<A, C> implements BlockApiCache<A, C> {
 			}
 		}
 
-		// Get provider
-		if (lastState != state) {
-			cachedProvider = lookup.getProvider(state.getBlock());
-			lastState = state;
-		}
-
-		// Query the provider
-		A instance = null;
-
-		if (cachedProvider != null) {
-			instance = cachedProvider.find(world, pos, state, cachedBlockEntity, context);
-		}
+		// Query the block provider, then the fallback providers. The lookup has a table of them by block state, so there's nothing to cache.
+		A instance = lookup.queryProviders(lookup.getProviders(state), start, world, pos, state, cachedBlockEntity, context);
 
 		if (instance != null) {
 			return instance;
 		}
 
-		// Query the fallback providers
-		for (BlockApiLookup.BlockApiProvider<A, C> fallbackProvider : lookup.getFallbackProviders()) {
-			instance = fallbackProvider.find(world, pos, state, cachedBlockEntity, context);
-
-			if (instance != null) {
-				return instance;
-			}
+		if (cacheNullResults) {
+			nullResultValid = true;
+			nullResultState = queriedState;
+			nullResultContext = context;
 		}
 
 		return null;
@@ -130,11 +173,15 @@ public final class BlockApiCacheImpl<A, C> implements BlockApiCache<A, C> {
 
 	static {
 		ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register((blockEntity, world) -> {
-			((ServerWorldCache) world).fabric_invalidateCache(blockEntity.getPos());
+			BlockApiCacheIndex.get(world).invalidate(blockEntity.getPos());
 		});
 
 		ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register((blockEntity, world) -> {
-			((ServerWorldCache) world).fabric_invalidateCache(blockEntity.getPos());
+			BlockApiCacheIndex.get(world).invalidate(blockEntity.getPos());
+		});
+
+		ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+			BlockApiCacheIndex.get(world).invalidateChunk(chunk);
 		});
 	}
 }
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.block;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.Chunk;
+
+import net.fabricmc.fabric.api.lookup.v1.ApiLookupMetrics;
+
+/**
+ * Index of the {@link BlockApiCacheImpl}s of a server world, used to invalidate them when block entities are loaded or unloaded.
+ * Caches that cache null results or have invalidation listeners are also notified of block state changes:
+ * they are marked as watching, and state changes are ignored as long as no cache is watching.
+ *
+ * <p>Caches are grouped by chunk section, then by position, in maps keyed by packed longs.
+ * Sections keep the per-position maps small, and a chunk is invalidated by looking up each of its sections.
+ * The caches at a given position form a linked list of weak references, so that each cache costs a single object in the index.
+ * Collected caches are removed from the index through a reference queue, instead of scanning the whole index.
+ *
+ * <p>Only accessed from the server thread.
+ */
+public final class BlockApiCacheIndex implements ApiLookupMetrics.BlockApiCacheMetrics {
+	/**
+	 * Head of the list of caches at each position of each chunk section.
+	 */
+	private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<CacheReference>> sections = new Long2ObjectOpenHashMap<>();
+	private final ReferenceQueue<BlockApiCacheImpl<?, ?>> collectedCaches = new ReferenceQueue<>();
+	private int liveCaches = 0;
+	private int indexedPositions = 0;
+	private int watchingCaches = 0;
+	private long invalidations = 0;
+
+	public static BlockApiCacheIndex get(ServerWorld world) {
+		return ((ServerWorldCache) world).fabric_getApiCacheIndex();
+	}
+
+	CacheReference register(BlockPos pos, BlockApiCacheImpl<?, ?> cache) {
+		removeCollected();
+
+		long sectionKey = ChunkSectionPos.toLong(pos);
+		Long2ObjectOpenHashMap<CacheReference> section = sections.get(sectionKey);
+
+		if (section == null) {
+			section = new Long2ObjectOpenHashMap<>();
+			sections.put(sectionKey, section);
+		}
+
+		long packedPos = pos.asLong();
+		CacheReference head = section.get(packedPos);
+
+		if (head == null) {
+			indexedPositions++;
+		}
+
+		CacheReference reference = new CacheReference(cache, collectedCaches, sectionKey, packedPos, head);
+		section.put(packedPos, reference);
+		liveCaches++;
+		return reference;
+	}
+
+	/**
+	 * Notify a cache of the block state changes at its position from now on.
+	 */
+	void watch(CacheReference reference) {
+		if (!reference.watching) {
+			reference.watching = true;
+			watchingCaches++;
+		}
+	}
+
+	/**
+	 * Invalidate the caches at a position.
+	 */
+	void invalidate(BlockPos pos) {
+		Long2ObjectOpenHashMap<CacheReference> section = sections.get(ChunkSectionPos.toLong(pos));
+
+		if (section != null) {
+			invalidateAll(section.get(pos.asLong()));
+		}
+
+		removeCollected();
+	}
+
+	/**
+	 * Invalidate all the caches in a chunk at once.
+	 * The caches stay indexed, since they may be queried again once the chunk is reloaded.
+	 */
+	void invalidateChunk(Chunk chunk) {
+		ChunkPos chunkPos = chunk.getPos();
+		int bottomSectionY = chunk.getBottomSectionCoord();
+
+		for (int i = 0; i < chunk.countVerticalSections(); ++i) {
+			Long2ObjectOpenHashMap<CacheReference> section = sections.get(ChunkSectionPos.asLong(chunkPos.x, bottomSectionY + i, chunkPos.z));
+
+			if (section != null) {
+				for (CacheReference head : section.values()) {
+					invalidateAll(head);
+				}
+			}
+		}
+
+		removeCollected();
+	}
+
+	/**
+	 * Notify the watching caches at a position that the block state changed.
+	 */
+	public void onStateChanged(BlockPos pos) {
+		if (watchingCaches == 0) {
+			return;
+		}
+
+		Long2ObjectOpenHashMap<CacheReference> section = sections.get(ChunkSectionPos.toLong(pos));
+
+		if (section != null) {
+			for (CacheReference reference = section.get(pos.asLong()); reference != null; reference = reference.next) {
+				BlockApiCacheImpl<?, ?> cache = reference.watching ? reference.get() : null;
+
+				if (cache != null) {
+					cache.onStateChanged();
+				}
+			}
+		}
+	}
+
+	private void invalidateAll(@Nullable CacheReference head) {
+		for (CacheReference reference = head; reference != null; reference = reference.next) {
+			BlockApiCacheImpl<?, ?> cache = reference.get();
+
+			if (cache != null) {
+				cache.invalidate();
+				invalidations++;
+			}
+		}
+	}
+
+	private void removeCollected() {
+		Reference<? extends BlockApiCacheImpl<?, ?>> collected;
+
+		while ((collected = collectedCaches.poll()) != null) {
+			unlink((CacheReference) collected);
+		}
+	}
+
+	private void unlink(CacheReference reference) {
+		Long2ObjectOpenHashMap<CacheReference> section = sections.get(reference.sectionKey);
+		CacheReference head = section.get(reference.packedPos);
+
+		if (head == reference) {
+			if (reference.next == null) {
+				section.remove(reference.packedPos);
+				indexedPositions--;
+
+				if (section.isEmpty()) {
+					sections.remove(reference.sectionKey);
+				}
+			} else {
+				section.put(reference.packedPos, reference.next);
+			}
+		} else {
+			CacheReference previous = head;
+
+			while (previous.next != reference) {
+				previous = previous.next;
+			}
+
+			previous.next = reference.next;
+		}
+
+		liveCaches--;
+
+		if (reference.watching) {
+			watchingCaches--;
+		}
+	}
+
+	@Override
+	public int getLiveCaches() {
+		removeCollected();
+		return liveCaches;
+	}
+
+	@Override
+	public int getWatchingCaches() {
+		removeCollected();
+		return watchingCaches;
+	}
+
+	@Override
+	public int getIndexedPositions() {
+		removeCollected();
+		return indexedPositions;
+	}
+
+	@Override
+	public int getIndexedSections() {
+		removeCollected();
+		return sections.size();
+	}
+
+	@Override
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	static final class CacheReference extends WeakReference<BlockApiCacheImpl<?, ?>> {
+		private final long sectionKey;
+		private final long packedPos;
+		/**
+		 * Next cache at the same position.
+		 */
+		@Nullable
+		private CacheReference next;
+		private boolean watching = false;
+
+		private CacheReference(BlockApiCacheImpl<?, ?> cache, ReferenceQueue<BlockApiCacheImpl<?, ?>> queue, long sectionKey, long packedPos, @Nullable CacheReference next) {
+			super(cache, queue);
+			this.sectionKey = sectionKey;
+			this.packedPos = packedPos;
+			this.next = next;
+		}
+	}
+}
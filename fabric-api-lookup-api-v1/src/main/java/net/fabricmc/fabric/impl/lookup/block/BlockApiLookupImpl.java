@@ -16,9 +16,14 @@
 
 package net.fabricmc.fabric.impl.lookup.block;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -30,12 +35,15 @@ import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiLookupMap;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiProviderMap;
+import net.fabricmc.fabric.impl.lookup.ApiLookupMetricsImpl;
+import net.fabricmc.fabric.impl.lookup.LookupStats;
 import net.fabricmc.fabric.mixin.lookup.BlockEntityTypeAccessor;
 
 public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
@@ -51,13 +59,22 @@ public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
 	private final Class<A> apiClass;
 	private final Class<C> contextClass;
 	private final ApiProviderMap<Block, BlockApiProvider<A, C>> providerMap = ApiProviderMap.create();
-	private final List<BlockApiProvider<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	private final List<Fallback<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	/**
+	 * Providers to query for each block state, indexed by {@link BlockStateIndex}: the block provider if any, then the applicable fallbacks.
+	 * An empty array means that there is nothing to query for the state.
+	 * Built lazily, and discarded when a provider is registered. Guarded by this for writes.
+	 */
+	@Nullable
+	private volatile BlockApiProvider<A, C>[][] providerTable = null;
+	private final LookupStats stats;
 
 	@SuppressWarnings("unchecked")
 	private BlockApiLookupImpl(Identifier identifier, Class<?> apiClass, Class<?> contextClass) {
 		this.identifier = identifier;
 		this.apiClass = (Class<A>) apiClass;
 		this.contextClass = (Class<C>) contextClass;
+		this.stats = ApiLookupMetricsImpl.register("block", identifier);
 	}
 
 	@Nullable
@@ -66,46 +83,77 @@ public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
 		Objects.requireNonNull(world, "World may not be null.");
 		Objects.requireNonNull(pos, "BlockPos may not be null.");
 		// Providers have the final say whether a null context is allowed.
+		long start = stats.start();
 
-		// Get the block state and the block entity
-		if (blockEntity == null) {
-			if (state == null) {
-				state = world.getBlockState(pos);
-			}
-
-			if (state.hasBlockEntity()) {
-				blockEntity = world.getBlockEntity(pos);
-			}
-		} else {
-			if (state == null) {
-				state = blockEntity.getCachedState();
-			}
+		// Get the block state
+		if (state == null) {
+			state = blockEntity != null ? blockEntity.getCachedState() : world.getBlockState(pos);
 		}
 
-		@Nullable
-		BlockApiProvider<A, C> provider = getProvider(state.getBlock());
-		A instance = null;
+		BlockApiProvider<A, C>[] providers = getProviders(state);
 
-		if (provider != null) {
-			instance = provider.find(world, pos, state, blockEntity, context);
+		if (providers.length == 0) {
+			// Nothing can match this state, skip the block entity lookup.
+			stats.recordNull(start);
+			return null;
 		}
 
-		if (instance != null) {
-			return instance;
+		// Get the block entity
+		if (blockEntity == null && state.hasBlockEntity()) {
+			blockEntity = world.getBlockEntity(pos);
 		}
 
-		// Query the fallback providers
-		for (BlockApiProvider<A, C> fallbackProvider : fallbackProviders) {
-			instance = fallbackProvider.find(world, pos, state, blockEntity, context);
+		return queryProviders(providers, start, world, pos, state, blockEntity, context);
+	}
+
+	/**
+	 * Query the providers returned by {@link #getProviders} for a state in order, and record the query if {@code start} is a recording timestamp.
+	 */
+	@Nullable
+	A queryProviders(BlockApiProvider<A, C>[] providers, long start, World world, BlockPos pos, BlockState state, @Nullable BlockEntity blockEntity, C context) {
+		for (int i = 0; i < providers.length; ++i) {
+			A instance = providers[i].find(world, pos, state, blockEntity, context);
 
 			if (instance != null) {
+				if (LookupStats.isRecording(start)) {
+					// Only the first provider can be the block provider.
+					stats.recordHit(start, i > 0 || providerMap.get(state.getBlock()) == null);
+				}
+
 				return instance;
 			}
 		}
 
+		stats.recordNull(start);
 		return null;
 	}
 
+	LookupStats getStats() {
+		return stats;
+	}
+
+	@Override
+	public void findAll(World world, BlockBox box, C context, BiConsumer<BlockPos, A> consumer) {
+		Objects.requireNonNull(world, "World may not be null.");
+		Objects.requireNonNull(box, "BlockBox may not be null.");
+		Objects.requireNonNull(consumer, "Consumer may not be null.");
+
+		new BlockApiBatchQuery<>(this, world, context, consumer).queryBox(box);
+	}
+
+	@Override
+	public void findAll(World world, Iterable<BlockPos> positions, C context, BiConsumer<BlockPos, A> consumer) {
+		Objects.requireNonNull(world, "World may not be null.");
+		Objects.requireNonNull(positions, "Positions may not be null.");
+		Objects.requireNonNull(consumer, "Consumer may not be null.");
+
+		BlockApiBatchQuery<A, C> query = new BlockApiBatchQuery<>(this, world, context, consumer);
+
+		for (BlockPos pos : positions) {
+			query.query(pos);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void registerSelf(BlockEntityType<?>... blockEntityTypes) {
@@ -143,6 +191,8 @@ public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
 				LOGGER.warn("Encountered duplicate API provider registration for block: " + Registries.BLOCK.getId(block));
 			}
 		}
+
+		invalidateProviderTable();
 	}
 
 	@Override
@@ -173,7 +223,17 @@ public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
 	public void registerFallback(BlockApiProvider<A, C> fallbackProvider) {
 		Objects.requireNonNull(fallbackProvider, "BlockApiProvider may not be null.");
 
-		fallbackProviders.add(fallbackProvider);
+		fallbackProviders.add(new Fallback<>(fallbackProvider, null));
+		invalidateProviderTable();
+	}
+
+	@Override
+	public void registerFallback(BlockApiProvider<A, C> fallbackProvider, Predicate<BlockState> statePredicate) {
+		Objects.requireNonNull(fallbackProvider, "BlockApiProvider may not be null.");
+		Objects.requireNonNull(statePredicate, "Block state predicate may not be null.");
+
+		fallbackProviders.add(new Fallback<>(fallbackProvider, statePredicate));
+		invalidateProviderTable();
 	}
 
 	@Override
@@ -197,7 +257,64 @@ public final class BlockApiLookupImpl<A, C> implements BlockApiLookup<A, C> {
 		return providerMap.get(block);
 	}
 
-	public List<BlockApiProvider<A, C>> getFallbackProviders() {
-		return fallbackProviders;
+	/**
+	 * Get the providers to query for a block state, in order: the block provider if any, then the applicable fallbacks.
+	 */
+	public BlockApiProvider<A, C>[] getProviders(BlockState state) {
+		int index = BlockStateIndex.get(state);
+		BlockApiProvider<A, C>[][] table = providerTable;
+
+		if (table == null || index >= table.length) {
+			table = buildProviderTable(index);
+		}
+
+		return table[index];
+	}
+
+	private synchronized void invalidateProviderTable() {
+		providerTable = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized BlockApiProvider<A, C>[][] buildProviderTable(int requiredIndex) {
+		BlockApiProvider<A, C>[][] table = providerTable;
+
+		if (table != null && requiredIndex < table.length) {
+			// Another thread built it already.
+			return table;
+		}
+
+		List<BlockState> states = BlockStateIndex.getAllStates();
+		table = new BlockApiProvider[states.size()][];
+		// Most states share their providers with the other states of their block, so share the arrays too.
+		Map<List<BlockApiProvider<A, C>>, BlockApiProvider<A, C>[]> sharedArrays = new HashMap<>();
+		List<BlockApiProvider<A, C>> providers = new ArrayList<>();
+
+		for (int i = 0; i < table.length; ++i) {
+			BlockState state = states.get(i);
+			BlockApiProvider<A, C> blockProvider = providerMap.get(state.getBlock());
+
+			if (blockProvider != null) {
+				providers.add(blockProvider);
+			}
+
+			for (Fallback<A, C> fallback : fallbackProviders) {
+				if (fallback.statePredicate() == null || fallback.statePredicate().test(state)) {
+					providers.add(fallback.provider());
+				}
+			}
+
+			table[i] = sharedArrays.computeIfAbsent(List.copyOf(providers), list -> list.toArray(new BlockApiProvider[0]));
+			providers.clear();
+		}
+
+		providerTable = table;
+		return table;
+	}
+
+	/**
+	 * @param statePredicate The states the fallback applies to, or {@code null} if it applies to every state.
+	 */
+	private record Fallback<A, C>(BlockApiProvider<A, C> provider, @Nullable Predicate<BlockState> statePredicate) {
 	}
 }
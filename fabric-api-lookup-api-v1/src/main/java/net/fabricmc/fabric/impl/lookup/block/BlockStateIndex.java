@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.block;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+
+/**
+ * Dense indices of block states, used to look up per-state data with a field read and an array load.
+ * Raw ids from {@link Block#STATE_IDS} are not used directly, since getting them is a hash lookup,
+ * and since they may change when registries are synchronized with a server.
+ * Indices are assigned on demand and never change.
+ */
+final class BlockStateIndex {
+	/**
+	 * States by index. Guarded by the class.
+	 */
+	private static final List<BlockState> STATES = new ArrayList<>();
+
+	private BlockStateIndex() {
+	}
+
+	static int get(BlockState state) {
+		int index = ((IndexedBlockState) state).fabric_getLookupIndex();
+		return index >= 0 ? index : assign(state);
+	}
+
+	private static synchronized int assign(BlockState state) {
+		int index = ((IndexedBlockState) state).fabric_getLookupIndex();
+
+		if (index < 0) {
+			index = STATES.size();
+			STATES.add(state);
+			((IndexedBlockState) state).fabric_setLookupIndex(index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Assign an index to every registered block state, and return all states by index.
+	 */
+	static synchronized List<BlockState> getAllStates() {
+		for (BlockState state : Block.STATE_IDS) {
+			get(state);
+		}
+
+		return List.copyOf(STATES);
+	}
+}
@@ -16,13 +16,13 @@
 
 package net.fabricmc.fabric.impl.lookup.block;
 
-import net.minecraft.util.math.BlockPos;
+import net.fabricmc.fabric.impl.lookup.entity.EntityApiCacheIndex;
 
 /**
- * Allows attachment of a BlockApiCache to a {@link net.minecraft.server.world.ServerWorld}.
+ * Allows attachment of a {@link BlockApiCacheIndex} and an {@link EntityApiCacheIndex} to a {@link net.minecraft.server.world.ServerWorld}.
  */
 public interface ServerWorldCache {
-	void fabric_registerCache(BlockPos pos, BlockApiCacheImpl<?, ?> cache);
+	BlockApiCacheIndex fabric_getApiCacheIndex();
 
-	void fabric_invalidateCache(BlockPos pos);
+	EntityApiCacheIndex fabric_getEntityApiCacheIndex();
 }
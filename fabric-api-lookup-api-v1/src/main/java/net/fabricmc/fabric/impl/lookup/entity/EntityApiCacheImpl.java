@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.predicate.entity.EntityPredicates;
+import net.minecraft.server.world.ServerWorld;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.lookup.v1.entity.EntityApiCache;
+import net.fabricmc.fabric.api.lookup.v1.entity.EntityApiLookup;
+
+public final class EntityApiCacheImpl<A, C> implements EntityApiCache<A, C> {
+	private final EntityApiLookupImpl<A, C> lookup;
+	private final Entity entity;
+	/**
+	 * Providers of the entity type, resolved when the providers of the lookup change.
+	 * The entity type never changes, so we rely on the version of the lookup to invalidate them.
+	 */
+	private EntityApiLookup.EntityApiProvider<A, C>[] providers = null;
+	private int providersVersion = -1;
+	/**
+	 * Set to false when the entity is unloaded or removed. We rely on entity unload events to invalidate the cache.
+	 */
+	private boolean valid;
+	@Nullable
+	private List<Runnable> invalidationListeners = null;
+
+	public EntityApiCacheImpl(EntityApiLookupImpl<A, C> lookup, ServerWorld world, Entity entity) {
+		this.lookup = lookup;
+		this.entity = entity;
+		this.valid = !entity.isRemoved();
+
+		if (valid) {
+			EntityApiCacheIndex.get(world).register(entity, this);
+		}
+	}
+
+	void invalidate() {
+		valid = false;
+		providers = null;
+
+		if (invalidationListeners != null) {
+			for (Runnable listener : invalidationListeners.toArray(new Runnable[0])) {
+				listener.run();
+			}
+
+			invalidationListeners = null;
+		}
+	}
+
+	@Nullable
+	@Override
+	public A find(C context) {
+		long start = lookup.getStats().start();
+
+		if (!valid || !EntityPredicates.VALID_ENTITY.test(entity)) {
+			lookup.getStats().recordNull(start);
+			return null;
+		}
+
+		int version = lookup.getProvidersVersion();
+
+		if (providersVersion != version) {
+			providers = lookup.getProviders(entity.getType());
+			providersVersion = version;
+		}
+
+		return lookup.queryProviders(providers, start, entity, context);
+	}
+
+	@Override
+	public boolean isValid() {
+		return valid;
+	}
+
+	@Override
+	public void addInvalidationListener(Runnable listener) {
+		Objects.requireNonNull(listener, "Invalidation listener may not be null.");
+
+		if (!valid) {
+			return;
+		}
+
+		if (invalidationListeners == null) {
+			invalidationListeners = new ArrayList<>();
+		}
+
+		invalidationListeners.add(listener);
+	}
+
+	@Override
+	public EntityApiLookupImpl<A, C> getLookup() {
+		return lookup;
+	}
+
+	@Override
+	public Entity getEntity() {
+		return entity;
+	}
+
+	static {
+		ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+			EntityApiCacheIndex.get(world).invalidate(entity);
+		});
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.entity;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.world.ServerWorld;
+
+import net.fabricmc.fabric.impl.lookup.block.ServerWorldCache;
+
+/**
+ * Index of the {@link EntityApiCacheImpl}s of a server world, used to invalidate them when their entity is unloaded or removed.
+ *
+ * <p>Caches are keyed by entity id. The caches of an entity form a linked list of weak references,
+ * and collected caches are removed from the index through a reference queue.
+ *
+ * <p>Only accessed from the server thread.
+ */
+public final class EntityApiCacheIndex {
+	private final Int2ObjectOpenHashMap<CacheReference> entities = new Int2ObjectOpenHashMap<>();
+	private final ReferenceQueue<EntityApiCacheImpl<?, ?>> collectedCaches = new ReferenceQueue<>();
+	private int liveCaches = 0;
+
+	public static EntityApiCacheIndex get(ServerWorld world) {
+		return ((ServerWorldCache) world).fabric_getEntityApiCacheIndex();
+	}
+
+	void register(Entity entity, EntityApiCacheImpl<?, ?> cache) {
+		removeCollected();
+
+		int id = entity.getId();
+		entities.put(id, new CacheReference(cache, collectedCaches, id, entities.get(id)));
+		liveCaches++;
+	}
+
+	/**
+	 * Invalidate the caches of an entity that is being unloaded, and forget them since the entity will not come back.
+	 * Entities that change dimension are recreated in the new world, so the caches of the old instance are invalidated too.
+	 */
+	void invalidate(Entity entity) {
+		removeCollected();
+
+		CacheReference head = entities.remove(entity.getId());
+
+		for (CacheReference reference = head; reference != null; reference = reference.next) {
+			EntityApiCacheImpl<?, ?> cache = reference.get();
+			reference.removed = true;
+			liveCaches--;
+
+			// Entity ids are unique within a server, but check the entity instance anyway.
+			if (cache != null && cache.getEntity() == entity) {
+				cache.invalidate();
+			}
+		}
+	}
+
+	private void removeCollected() {
+		Reference<? extends EntityApiCacheImpl<?, ?>> collected;
+
+		while ((collected = collectedCaches.poll()) != null) {
+			CacheReference reference = (CacheReference) collected;
+
+			if (reference.removed) {
+				// Already dropped with the rest of the caches of the entity.
+				continue;
+			}
+
+			CacheReference head = entities.get(reference.entityId);
+
+			if (head == reference) {
+				if (reference.next == null) {
+					entities.remove(reference.entityId);
+				} else {
+					entities.put(reference.entityId, reference.next);
+				}
+			} else {
+				CacheReference previous = head;
+
+				while (previous.next != reference) {
+					previous = previous.next;
+				}
+
+				previous.next = reference.next;
+			}
+
+			liveCaches--;
+		}
+	}
+
+	/**
+	 * @return The number of caches that were not garbage collected or invalidated yet.
+	 */
+	public int getLiveCaches() {
+		removeCollected();
+		return liveCaches;
+	}
+
+	/**
+	 * @return The number of entities with at least one cache.
+	 */
+	public int getIndexedEntities() {
+		removeCollected();
+		return entities.size();
+	}
+
+	private static final class CacheReference extends WeakReference<EntityApiCacheImpl<?, ?>> {
+		private final int entityId;
+		/**
+		 * Next cache of the same entity.
+		 */
+		@Nullable
+		private CacheReference next;
+		/**
+		 * Whether the reference was removed from the index by {@link #invalidate}.
+		 */
+		private boolean removed = false;
+
+		private CacheReference(EntityApiCacheImpl<?, ?> cache, ReferenceQueue<EntityApiCacheImpl<?, ?>> queue, int entityId, @Nullable CacheReference next) {
+			super(cache, queue);
+			this.entityId = entityId;
+			this.next = next;
+		}
+	}
+}
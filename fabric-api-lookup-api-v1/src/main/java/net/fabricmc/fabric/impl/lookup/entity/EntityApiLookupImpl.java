@@ -16,6 +16,7 @@
 
 package net.fabricmc.fabric.impl.lookup.entity;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -40,6 +41,8 @@ import net.minecraft.util.Identifier;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiLookupMap;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiProviderMap;
 import net.fabricmc.fabric.api.lookup.v1.entity.EntityApiLookup;
+import net.fabricmc.fabric.impl.lookup.ApiLookupMetricsImpl;
+import net.fabricmc.fabric.impl.lookup.LookupStats;
 
 public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-api-lookup-api-v1/entity");
@@ -52,11 +55,17 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 	private final Class<C> contextClass;
 	private final ApiProviderMap<EntityType<?>, EntityApiProvider<A, C>> providerMap = ApiProviderMap.create();
 	private final List<EntityApiProvider<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	/**
+	 * Incremented when a provider is registered, so that {@link EntityApiCacheImpl} knows when to resolve its providers again.
+	 */
+	private volatile int providersVersion = 0;
+	private final LookupStats stats;
 
 	private EntityApiLookupImpl(Identifier identifier, Class<A> apiClass, Class<C> contextClass) {
 		this.identifier = identifier;
 		this.apiClass = apiClass;
 		this.contextClass = contextClass;
+		this.stats = ApiLookupMetricsImpl.register("entity", identifier);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -101,6 +110,8 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 	public A find(Entity entity, C context) {
 		Objects.requireNonNull(entity, "Entity may not be null.");
 
+		long start = stats.start();
+
 		if (EntityPredicates.VALID_ENTITY.test(entity)) {
 			EntityApiProvider<A, C> provider = providerMap.get(entity.getType());
 
@@ -108,6 +119,7 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 				A instance = provider.find(entity, context);
 
 				if (instance != null) {
+					stats.recordHit(start, false);
 					return instance;
 				}
 			}
@@ -116,14 +128,43 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 				A instance = fallback.find(entity, context);
 
 				if (instance != null) {
+					stats.recordHit(start, true);
 					return instance;
 				}
 			}
 		}
 
+		stats.recordNull(start);
 		return null;
 	}
 
+	/**
+	 * Query the providers returned by {@link #getProviders} for the type of an entity in order,
+	 * and record the query if {@code start} is a recording timestamp.
+	 */
+	@Nullable
+	A queryProviders(EntityApiProvider<A, C>[] providers, long start, Entity entity, C context) {
+		for (int i = 0; i < providers.length; ++i) {
+			A instance = providers[i].find(entity, context);
+
+			if (instance != null) {
+				if (LookupStats.isRecording(start)) {
+					// Only the first provider can be the entity type provider.
+					stats.recordHit(start, i > 0 || providerMap.get(entity.getType()) == null);
+				}
+
+				return instance;
+			}
+		}
+
+		stats.recordNull(start);
+		return null;
+	}
+
+	LookupStats getStats() {
+		return stats;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void registerSelf(EntityType<?>... entityTypes) {
@@ -147,6 +188,8 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 				LOGGER.warn("Encountered duplicate API provider registration for entity type: " + Registries.ENTITY_TYPE.getId(entityType));
 			}
 		}
+
+		providersVersion++;
 	}
 
 	@Override
@@ -154,6 +197,7 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 		Objects.requireNonNull(fallbackProvider, "EntityApiProvider may not be null.");
 
 		fallbackProviders.add(fallbackProvider);
+		providersVersion++;
 	}
 
 	@Override
@@ -176,4 +220,24 @@ public class EntityApiLookupImpl<A, C> implements EntityApiLookup<A, C> {
 	public EntityApiProvider<A, C> getProvider(EntityType<?> entityType) {
 		return providerMap.get(entityType);
 	}
+
+	int getProvidersVersion() {
+		return providersVersion;
+	}
+
+	/**
+	 * Get the providers to query for an entity type, in order: the entity type provider if any, then the fallbacks.
+	 */
+	@SuppressWarnings("unchecked")
+	EntityApiProvider<A, C>[] getProviders(EntityType<?> entityType) {
+		List<EntityApiProvider<A, C>> providers = new ArrayList<>(fallbackProviders.size() + 1);
+		EntityApiProvider<A, C> provider = providerMap.get(entityType);
+
+		if (provider != null) {
+			providers.add(provider);
+		}
+
+		providers.addAll(fallbackProviders);
+		return providers.toArray(new EntityApiProvider[0]);
+	}
 }
@@ -16,14 +16,20 @@
 
 package net.fabricmc.fabric.impl.lookup.item;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.minecraft.component.ComponentChanges;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemConvertible;
 import net.minecraft.item.ItemStack;
@@ -33,10 +39,20 @@ import net.minecraft.util.Identifier;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiLookupMap;
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiProviderMap;
 import net.fabricmc.fabric.api.lookup.v1.item.ItemApiLookup;
+import net.fabricmc.fabric.impl.lookup.ApiLookupMetricsImpl;
+import net.fabricmc.fabric.impl.lookup.LookupStats;
 
 public class ItemApiLookupImpl<A, C> implements ItemApiLookup<A, C> {
 	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-api-lookup-api-v1/item");
 	private static final ApiLookupMap<ItemApiLookup<?, ?>> LOOKUPS = ApiLookupMap.create(ItemApiLookupImpl::new);
+	/**
+	 * Memoized result of queries that returned null.
+	 */
+	private static final Object NO_RESULT = new Object();
+	/**
+	 * Results for stacks with component changes are cleared once there are this many of them, to bound memory usage.
+	 */
+	private static final int MAX_MEMOIZED_COMPONENT_RESULTS = 4096;
 
 	@SuppressWarnings("unchecked")
 	public static <A, C> ItemApiLookup<A, C> get(Identifier lookupId, Class<A> apiClass, Class<C> contextClass) {
@@ -48,38 +64,92 @@ public class ItemApiLookupImpl<A, C> implements ItemApiLookup<A, C> {
 	private final Class<C> contextClass;
 	private final ApiProviderMap<Item, ItemApiProvider<A, C>> providerMap = ApiProviderMap.create();
 	private final List<ItemApiProvider<A, C>> fallbackProviders = new CopyOnWriteArrayList<>();
+	/**
+	 * Providers to query for each item, indexed by {@link ItemIndex}: the item provider if any, then the fallbacks.
+	 * Built lazily, and discarded when a provider is registered. Guarded by this for writes.
+	 */
+	@Nullable
+	private volatile ItemApiProvider<A, C>[][] providerTable = null;
+	/**
+	 * Results of {@link #findMemoized}, created lazily, and discarded when a provider is registered.
+	 */
+	@Nullable
+	private volatile MemoizedResults memoizedResults = null;
+	private final LookupStats stats;
 
 	@SuppressWarnings("unchecked")
 	private ItemApiLookupImpl(Identifier identifier, Class<?> apiClass, Class<?> contextClass) {
 		this.identifier = identifier;
 		this.apiClass = (Class<A>) apiClass;
 		this.contextClass = (Class<C>) contextClass;
+		this.stats = ApiLookupMetricsImpl.register("item", identifier);
 	}
 
 	@Override
 	public @Nullable A find(ItemStack itemStack, C context) {
 		Objects.requireNonNull(itemStack, "ItemStack may not be null.");
 
-		@Nullable
-		ItemApiProvider<A, C> provider = providerMap.get(itemStack.getItem());
+		long start = stats.start();
+		ItemApiProvider<A, C>[] providers = getProviders(itemStack.getItem());
 
-		if (provider != null) {
-			A instance = provider.find(itemStack, context);
+		// Query the item provider, then the fallback providers
+		for (int i = 0; i < providers.length; ++i) {
+			A instance = providers[i].find(itemStack, context);
 
 			if (instance != null) {
+				if (LookupStats.isRecording(start)) {
+					// Only the first provider can be the item provider.
+					stats.recordHit(start, i > 0 || providerMap.get(itemStack.getItem()) == null);
+				}
+
 				return instance;
 			}
 		}
 
-		for (ItemApiProvider<A, C> fallbackProvider : fallbackProviders) {
-			A instance = fallbackProvider.find(itemStack, context);
+		stats.recordNull(start);
+		return null;
+	}
 
-			if (instance != null) {
-				return instance;
+	@SuppressWarnings("unchecked")
+	@Override
+	public @Nullable A findMemoized(ItemStack itemStack) {
+		Objects.requireNonNull(itemStack, "ItemStack may not be null.");
+
+		MemoizedResults memoized = memoizedResults;
+
+		if (memoized == null) {
+			memoized = createMemoizedResults();
+		}
+
+		Item item = itemStack.getItem();
+		ComponentChanges changes = itemStack.getComponentChanges();
+		int index = ItemIndex.get(item);
+		Object result;
+
+		if (changes.isEmpty() && index < memoized.byItem.length()) {
+			// Most stacks have no component changes: use the per-item slot, without allocating a key.
+			result = memoized.byItem.get(index);
+
+			if (result == null) {
+				result = Objects.requireNonNullElse(find(itemStack, null), NO_RESULT);
+				memoized.byItem.set(index, result);
+			}
+		} else {
+			MemoizedKey key = new MemoizedKey(item, changes);
+			result = memoized.byComponents.get(key);
+
+			if (result == null) {
+				result = Objects.requireNonNullElse(find(itemStack, null), NO_RESULT);
+
+				if (memoized.byComponents.size() >= MAX_MEMOIZED_COMPONENT_RESULTS) {
+					memoized.byComponents.clear();
+				}
+
+				memoized.byComponents.put(key, result);
 			}
 		}
 
-		return null;
+		return result == NO_RESULT ? null : (A) result;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -117,6 +187,8 @@ public class ItemApiLookupImpl<A, C> implements ItemApiLookup<A, C> {
 				LOGGER.warn("Encountered duplicate API provider registration for item: " + Registries.ITEM.getId(item));
 			}
 		}
+
+		invalidateProviderTable();
 	}
 
 	@Override
@@ -124,6 +196,7 @@ public class ItemApiLookupImpl<A, C> implements ItemApiLookup<A, C> {
 		Objects.requireNonNull(fallbackProvider, "ItemApiProvider may not be null.");
 
 		fallbackProviders.add(fallbackProvider);
+		invalidateProviderTable();
 	}
 
 	@Override
@@ -146,4 +219,78 @@ public class ItemApiLookupImpl<A, C> implements ItemApiLookup<A, C> {
 	public ItemApiProvider<A, C> getProvider(Item item) {
 		return providerMap.get(item);
 	}
+
+	/**
+	 * Get the providers to query for an item, in order: the item provider if any, then the fallbacks.
+	 */
+	ItemApiProvider<A, C>[] getProviders(Item item) {
+		int index = ItemIndex.get(item);
+		ItemApiProvider<A, C>[][] table = providerTable;
+
+		if (table == null || index >= table.length) {
+			table = buildProviderTable(index);
+		}
+
+		return table[index];
+	}
+
+	private synchronized void invalidateProviderTable() {
+		providerTable = null;
+		memoizedResults = null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized ItemApiProvider<A, C>[][] buildProviderTable(int requiredIndex) {
+		ItemApiProvider<A, C>[][] table = providerTable;
+
+		if (table != null && requiredIndex < table.length) {
+			// Another thread built it already.
+			return table;
+		}
+
+		List<Item> items = ItemIndex.getAllItems();
+		table = new ItemApiProvider[items.size()][];
+		// Most items only have the fallbacks, so share the arrays.
+		Map<ItemApiProvider<A, C>, ItemApiProvider<A, C>[]> sharedArrays = new HashMap<>();
+		ItemApiProvider<A, C>[] fallbacksOnly = fallbackProviders.toArray(new ItemApiProvider[0]);
+
+		for (int i = 0; i < table.length; ++i) {
+			ItemApiProvider<A, C> itemProvider = providerMap.get(items.get(i));
+
+			if (itemProvider == null) {
+				table[i] = fallbacksOnly;
+			} else {
+				table[i] = sharedArrays.computeIfAbsent(itemProvider, provider -> {
+					List<ItemApiProvider<A, C>> providers = new ArrayList<>(fallbacksOnly.length + 1);
+					providers.add(provider);
+					providers.addAll(List.of(fallbacksOnly));
+					return providers.toArray(new ItemApiProvider[0]);
+				});
+			}
+		}
+
+		providerTable = table;
+		return table;
+	}
+
+	private synchronized MemoizedResults createMemoizedResults() {
+		MemoizedResults memoized = memoizedResults;
+
+		if (memoized == null) {
+			memoized = new MemoizedResults(new AtomicReferenceArray<>(ItemIndex.getAllItems().size()), new ConcurrentHashMap<>());
+			memoizedResults = memoized;
+		}
+
+		return memoized;
+	}
+
+	/**
+	 * @param byItem Results for stacks without component changes, indexed by {@link ItemIndex}.
+	 * @param byComponents Results for the other stacks.
+	 */
+	private record MemoizedResults(AtomicReferenceArray<Object> byItem, Map<MemoizedKey, Object> byComponents) {
+	}
+
+	private record MemoizedKey(Item item, ComponentChanges changes) {
+	}
 }
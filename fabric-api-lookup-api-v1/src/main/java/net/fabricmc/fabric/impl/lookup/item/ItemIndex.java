@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.lookup.item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+/**
+ * Dense indices of items, used to look up per-item data with a field read and an array load.
+ * Raw ids from {@link Registries#ITEM} are not used directly, since getting them is a hash lookup,
+ * and since they may change when registries are synchronized with a server.
+ * Indices are assigned on demand and never change.
+ */
+final class ItemIndex {
+	/**
+	 * Items by index. Guarded by the class.
+	 */
+	private static final List<Item> ITEMS = new ArrayList<>();
+
+	private ItemIndex() {
+	}
+
+	static int get(Item item) {
+		int index = ((IndexedItem) item).fabric_getLookupIndex();
+		return index >= 0 ? index : assign(item);
+	}
+
+	private static synchronized int assign(Item item) {
+		int index = ((IndexedItem) item).fabric_getLookupIndex();
+
+		if (index < 0) {
+			index = ITEMS.size();
+			ITEMS.add(item);
+			((IndexedItem) item).fabric_setLookupIndex(index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Assign an index to every registered item, and return all items by index.
+	 */
+	static synchronized List<Item> getAllItems() {
+		for (Item item : Registries.ITEM) {
+			get(item);
+		}
+
+		return List.copyOf(ITEMS);
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.lookup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+import net.fabricmc.fabric.api.lookup.v1.ApiLookupMetrics;
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.test.lookup.api.ItemApis;
+import net.fabricmc.fabric.test.lookup.api.ItemExtractable;
+
+public class BlockApiLookupGameTests {
+	/**
+	 * Check that {@code findAll} finds the same APIs as {@code find} at each position, for a box and for a list of positions.
+	 */
+	@GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+	public void testFindAllMatchesFind(TestContext context) {
+		context.setBlockState(new BlockPos(0, 1, 0), Blocks.CHEST);
+		context.setBlockState(new BlockPos(2, 1, 0), Blocks.HOPPER);
+		context.setBlockState(new BlockPos(0, 2, 2), Blocks.DROPPER);
+		context.setBlockState(new BlockPos(2, 3, 2), FabricApiLookupTest.COBBLE_GEN_BLOCK);
+		context.setBlockState(new BlockPos(1, 1, 1), Blocks.STONE);
+		context.setBlockState(new BlockPos(3, 1, 3), Blocks.FURNACE);
+
+		BlockPos min = context.getAbsolutePos(BlockPos.ORIGIN);
+		BlockPos max = context.getAbsolutePos(new BlockPos(4, 4, 4));
+		BlockBox box = BlockBox.create(min, max);
+
+		Set<BlockPos> expected = new HashSet<>();
+		List<BlockPos> positions = new ArrayList<>();
+
+		for (BlockPos pos : BlockPos.iterate(min, max)) {
+			positions.add(pos.toImmutable());
+
+			if (ItemApis.EXTRACTABLE.find(context.getWorld(), pos, Direction.UP) != null) {
+				expected.add(pos.toImmutable());
+			}
+		}
+
+		context.assertTrue(expected.size() == 4, "Expected 4 extractables, found " + expected.size());
+
+		Set<BlockPos> foundInBox = new HashSet<>();
+		ItemApis.EXTRACTABLE.findAll(context.getWorld(), box, Direction.UP, (pos, extractable) -> foundInBox.add(pos));
+		context.assertTrue(expected.equals(foundInBox), "findAll in a box found %s, but find found %s".formatted(foundInBox, expected));
+
+		Set<BlockPos> foundAtPositions = new HashSet<>();
+		ItemApis.EXTRACTABLE.findAll(context.getWorld(), positions, Direction.UP, (pos, extractable) -> foundAtPositions.add(pos));
+		context.assertTrue(expected.equals(foundAtPositions), "findAll at positions found %s, but find found %s".formatted(foundAtPositions, expected));
+
+		context.complete();
+	}
+
+	/**
+	 * Check that the block API cache metrics of a world count a live cache and its invalidations.
+	 */
+	@GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+	public void testBlockApiCacheMetrics(TestContext context) {
+		BlockPos pos = context.getAbsolutePos(new BlockPos(0, 1, 0));
+		ApiLookupMetrics.BlockApiCacheMetrics metrics = ApiLookupMetrics.getBlockApiCacheMetrics(context.getWorld());
+		BlockApiCache<ItemExtractable, Direction> cache = BlockApiCache.create(ItemApis.EXTRACTABLE, context.getWorld(), pos);
+		context.assertTrue(cache.find(Direction.UP) == null, "Expected no extractable before placing the chest");
+		context.assertTrue(metrics.getLiveCaches() >= 1 && metrics.getIndexedPositions() >= 1, "Expected the cache to be counted");
+
+		long invalidations = metrics.getInvalidations();
+		context.setBlockState(new BlockPos(0, 1, 0), Blocks.CHEST);
+		context.assertTrue(metrics.getInvalidations() > invalidations, "Expected the chest to invalidate the cache");
+		context.assertTrue(cache.find(Direction.UP) != null, "Expected the cache to find the chest");
+		context.complete();
+	}
+}
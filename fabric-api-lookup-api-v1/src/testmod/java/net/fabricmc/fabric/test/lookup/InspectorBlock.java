@@ -16,19 +16,27 @@
 
 package net.fabricmc.fabric.test.lookup;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockBox;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 
+import net.fabricmc.fabric.api.lookup.v1.entity.EntityApiCache;
 import net.fabricmc.fabric.test.lookup.api.Inspectable;
+import net.fabricmc.fabric.test.lookup.api.ItemApis;
 import net.fabricmc.fabric.test.lookup.entity.FabricEntityApiLookupTest;
 import net.fabricmc.fabric.test.lookup.item.FabricItemApiLookupTest;
 
@@ -52,10 +60,40 @@ public class InspectorBlock extends Block {
 		return ActionResult.PASS_TO_DEFAULT_BLOCK_ACTION;
 	}
 
+	@Override
+	protected ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
+		if (!world.isClient()) {
+			// Count the insertables around the inspector, and check that the batch query agrees with individual queries.
+			BlockBox box = BlockBox.create(pos.add(-8, -8, -8), pos.add(8, 8, 8));
+			List<BlockPos> found = new ArrayList<>();
+			ItemApis.INSERTABLE.findAll(world, box, Direction.UP, (insertablePos, insertable) -> found.add(insertablePos));
+			int expected = 0;
+
+			for (BlockPos insertablePos : BlockPos.iterate(pos.add(-8, -8, -8), pos.add(8, 8, 8))) {
+				if (ItemApis.INSERTABLE.find(world, insertablePos, Direction.UP) != null) {
+					expected++;
+				}
+			}
+
+			if (found.size() != expected) {
+				throw new AssertionError("findAll found %d insertables, but find found %d.".formatted(found.size(), expected));
+			}
+
+			player.sendMessage(Text.literal("Found %d insertables nearby.".formatted(found.size())), true);
+		}
+
+		return ActionResult.SUCCESS;
+	}
+
 	@Override
 	public void onSteppedOn(World world, BlockPos pos, BlockState state, Entity entity) {
 		if (!world.isClient()) {
 			Inspectable inspectable = FabricEntityApiLookupTest.INSPECTABLE.find(entity, null);
+			EntityApiCache<Inspectable, Void> cache = EntityApiCache.create(FabricEntityApiLookupTest.INSPECTABLE, entity);
+
+			if ((cache.find(null) != null) != (inspectable != null)) {
+				throw new AssertionError("EntityApiCache and EntityApiLookup disagree for entity " + entity);
+			}
 
 			if (inspectable != null) {
 				for (ServerPlayerEntity player : world.getServer().getPlayerManager().getPlayerList()) {
@@ -20,6 +20,7 @@ import static net.fabricmc.fabric.test.lookup.FabricApiLookupTest.ensureExceptio
 
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.registry.Registries;
 import net.minecraft.registry.Registry;
@@ -28,6 +29,7 @@ import net.minecraft.registry.RegistryKeys;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
 
+import net.fabricmc.fabric.api.lookup.v1.ApiLookupMetrics;
 import net.fabricmc.fabric.api.lookup.v1.item.ItemApiLookup;
 import net.fabricmc.fabric.test.lookup.FabricApiLookupTest;
 import net.fabricmc.fabric.test.lookup.api.Inspectable;
@@ -54,6 +56,8 @@ public class FabricItemApiLookupTest {
 		INSPECTABLE.registerSelf(HELLO_ITEM);
 
 		testSelfRegistration();
+		testMemoizedFind();
+		testMetrics();
 	}
 
 	private static void testSelfRegistration() {
@@ -61,4 +65,42 @@ public class FabricItemApiLookupTest {
 			INSPECTABLE.registerSelf(Items.WATER_BUCKET);
 		}, "The ItemApiLookup should have prevented self-registration of incompatible items.");
 	}
+
+	private static void testMemoizedFind() {
+		// The self-registered item does not depend on the stack, so it is safe to memoize.
+		if (INSPECTABLE.findMemoized(new ItemStack(HELLO_ITEM)) != HELLO_ITEM) {
+			throw new AssertionError("Memoized lookup should have found the self-registered item.");
+		}
+
+		if (INSPECTABLE.findMemoized(new ItemStack(HELLO_ITEM, 3)) != HELLO_ITEM) {
+			throw new AssertionError("Memoized lookup should not depend on the stack count.");
+		}
+
+		for (int i = 0; i < 2; ++i) {
+			if (INSPECTABLE.findMemoized(new ItemStack(Items.STONE)) != null) {
+				throw new AssertionError("Memoized lookup should not have found an API for stone.");
+			}
+		}
+	}
+
+	private static void testMetrics() {
+		boolean wasEnabled = ApiLookupMetrics.isEnabled();
+		ApiLookupMetrics.reset();
+		ApiLookupMetrics.setEnabled(true);
+		INSPECTABLE.find(new ItemStack(HELLO_ITEM), null);
+		INSPECTABLE.find(new ItemStack(Items.STONE), null);
+		ApiLookupMetrics.setEnabled(wasEnabled);
+
+		ApiLookupMetrics.LookupMetrics metrics = ApiLookupMetrics.getLookupMetrics().stream()
+				.filter(m -> m.getLookupType().equals("item") && m.getLookupId().equals(INSPECTABLE.getId()))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("Item lookup queries should have been recorded."));
+
+		if (metrics.getQueries() != 2 || metrics.getProviderHits() != 1 || metrics.getFallbackHits() != 0 || metrics.getNullResults() != 1) {
+			throw new AssertionError("Unexpected item lookup metrics: %d queries, %d provider hits, %d fallback hits, %d null".formatted(
+					metrics.getQueries(), metrics.getProviderHits(), metrics.getFallbackHits(), metrics.getNullResults()));
+		}
+
+		ApiLookupMetrics.reset();
+	}
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.command;
+
+import static net.minecraft.server.command.CommandManager.argument;
+import static net.minecraft.server.command.CommandManager.literal;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.event.EventMetrics;
+
+/**
+ * Registers the {@code /fabric} debugging command. Other modules may add their own subcommands under the same literal.
+ */
+public final class FabricCommandsImpl implements ModInitializer {
+	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-command-api-v2");
+	private static final int DEFAULT_DUMP_LIMIT = 10;
+
+	@Override
+	public void onInitialize() {
+		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerEventsCommand(dispatcher));
+	}
+
+	private static void registerEventsCommand(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(literal("fabric")
+				.requires(source -> source.hasPermissionLevel(4))
+				.then(literal("events")
+						.then(literal("start").executes(context -> setMetricsEnabled(context, true)))
+						.then(literal("stop").executes(context -> setMetricsEnabled(context, false)))
+						.then(literal("reset").executes(context -> {
+							EventMetrics.reset();
+							context.getSource().sendFeedback(() -> Text.literal("Reset event listener metrics"), true);
+							return 1;
+						}))
+						.then(literal("dump")
+								.executes(context -> dumpMetrics(context, DEFAULT_DUMP_LIMIT))
+								.then(argument("limit", IntegerArgumentType.integer(1))
+										.executes(context -> dumpMetrics(context, IntegerArgumentType.getInteger(context, "limit")))))));
+	}
+
+	private static int setMetricsEnabled(CommandContext<ServerCommandSource> context, boolean enabled) {
+		EventMetrics.setEnabled(enabled);
+		context.getSource().sendFeedback(() -> Text.literal((enabled ? "Started" : "Stopped") + " recording event listener metrics"), true);
+		return 1;
+	}
+
+	/**
+	 * Send the {@code limit} most expensive listeners to the command source, and log all of them.
+	 */
+	private static int dumpMetrics(CommandContext<ServerCommandSource> context, int limit) {
+		List<EventMetrics.ListenerMetrics> metrics = EventMetrics.getListenerMetrics();
+
+		if (metrics.isEmpty()) {
+			context.getSource().sendFeedback(() -> Text.literal("No event listener invocation recorded, use /fabric events start"), false);
+			return 0;
+		}
+
+		StringBuilder log = new StringBuilder("Event listener metrics, sorted by total time:");
+
+		for (int i = 0; i < metrics.size(); ++i) {
+			String line = formatMetrics(metrics.get(i));
+			log.append("\n\t").append(line);
+
+			if (i < limit) {
+				context.getSource().sendFeedback(() -> Text.literal(line), false);
+			}
+		}
+
+		LOGGER.info(log.toString());
+		context.getSource().sendFeedback(() -> Text.literal("Logged the metrics of %d listeners".formatted(metrics.size())), false);
+		return metrics.size();
+	}
+
+	private static String formatMetrics(EventMetrics.ListenerMetrics metrics) {
+		return String.format(Locale.ROOT, "%s [%s] %s (%s): %d calls, %.3f ms total, %.3f us avg, %.3f us max",
+				metrics.getEventName(),
+				metrics.getPhase(),
+				metrics.getModId(),
+				metrics.getListenerName(),
+				metrics.getInvocations(),
+				metrics.getTotalNanos() / 1e6,
+				metrics.getTotalNanos() / 1e3 / metrics.getInvocations(),
+				metrics.getMaxNanos() / 1e3);
+	}
+}
@@ -86,7 +86,7 @@ abstract class LivingEntityMixin {
 
 	@Inject(method = "damage", at = @At("TAIL"), locals = LocalCapture.CAPTURE_FAILHARD)
 	private void afterDamage(ServerWorld world, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir, float dealt, boolean blocked) {
-		if (!isDead()) {
+		if (ServerLivingEntityEvents.AFTER_DAMAGE.hasListeners() && !isDead()) {
 			ServerLivingEntityEvents.AFTER_DAMAGE.invoker().afterDamage((LivingEntity) (Object) this, source, dealt, amount, blocked);
 		}
 	}
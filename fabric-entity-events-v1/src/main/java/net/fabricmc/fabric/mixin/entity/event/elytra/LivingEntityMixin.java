@@ -45,7 +45,8 @@ abstract class LivingEntityMixin extends Entity {
 	void injectElytraTick(CallbackInfo info) {
 		LivingEntity self = (LivingEntity) (Object) this;
 
-		if (!EntityElytraEvents.ALLOW.invoker().allowElytraFlight(self)) {
+		// This runs every tick for every gliding entity, skip the events if nobody listens.
+		if (EntityElytraEvents.ALLOW.hasListeners() && !EntityElytraEvents.ALLOW.invoker().allowElytraFlight(self)) {
 			// The entity is already fall flying by now, we just need to stop it.
 			if (!getWorld().isClient) {
 				setFlag(Entity.GLIDING_FLAG_INDEX, false);
@@ -54,7 +55,7 @@ abstract class LivingEntityMixin extends Entity {
 			info.cancel();
 		}
 
-		if (EntityElytraEvents.CUSTOM.invoker().useCustomElytra(self, true)) {
+		if (EntityElytraEvents.CUSTOM.hasListeners() && EntityElytraEvents.CUSTOM.invoker().useCustomElytra(self, true)) {
 			// The entity is already fall flying by now, so all we need to do is an early return to bypass vanilla's own elytra check.
 			info.cancel();
 		}
@@ -16,6 +16,7 @@
 
 package net.fabricmc.fabric.api.event.player;
 
+import net.minecraft.block.Block;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
@@ -25,6 +26,7 @@ import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.impl.event.interaction.KeyedInteractionEvents;
 
 /**
  * Callback for left-clicking ("attacking") a block.
@@ -45,7 +47,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
  * </ul>
  */
 public interface AttackBlockCallback {
-	Event<AttackBlockCallback> EVENT = EventFactory.createArrayBacked(AttackBlockCallback.class,
+	Event<AttackBlockCallback> EVENT = EventFactory.createSequential(AttackBlockCallback.class, ActionResult.PASS,
 			(listeners) -> (player, world, hand, pos, direction) -> {
 				for (AttackBlockCallback event : listeners) {
 					ActionResult result = event.interact(player, world, hand, pos, direction);
@@ -59,5 +61,12 @@ public interface AttackBlockCallback {
 			}
 	);
 
+	/**
+	 * Get the event of the listeners that are only invoked when the block that was attacked is {@code block}, see {@link UseBlockCallback#forBlock} for details.
+	 */
+	static Event<AttackBlockCallback> forBlock(Block block) {
+		return KeyedInteractionEvents.ATTACK_BLOCK.forKey(block);
+	}
+
 	ActionResult interact(PlayerEntity player, World world, Hand hand, BlockPos pos, Direction direction);
 }
@@ -19,6 +19,7 @@ package net.fabricmc.fabric.api.event.player;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
@@ -27,6 +28,7 @@ import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.impl.event.interaction.KeyedInteractionEvents;
 
 /**
  * Callback for left-clicking ("attacking") an entity.
@@ -38,7 +40,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
  * <li>FAIL cancels further processing and does not send a packet to the server.</ul>
  */
 public interface AttackEntityCallback {
-	Event<AttackEntityCallback> EVENT = EventFactory.createArrayBacked(AttackEntityCallback.class,
+	Event<AttackEntityCallback> EVENT = EventFactory.createSequential(AttackEntityCallback.class, ActionResult.PASS,
 			(listeners) -> (player, world, hand, entity, hitResult) -> {
 				for (AttackEntityCallback event : listeners) {
 					ActionResult result = event.interact(player, world, hand, entity, hitResult);
@@ -52,5 +54,12 @@ public interface AttackEntityCallback {
 			}
 	);
 
+	/**
+	 * Get the event of the listeners that are only invoked when the type of the entity that was attacked is {@code entityType}, see {@link UseBlockCallback#forBlock} for details.
+	 */
+	static Event<AttackEntityCallback> forEntityType(EntityType<?> entityType) {
+		return KeyedInteractionEvents.ATTACK_ENTITY.forKey(entityType);
+	}
+
 	ActionResult interact(PlayerEntity player, World world, Hand hand, Entity entity, @Nullable EntityHitResult hitResult);
 }
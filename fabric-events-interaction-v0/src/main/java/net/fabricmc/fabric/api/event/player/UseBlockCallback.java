@@ -16,6 +16,7 @@
 
 package net.fabricmc.fabric.api.event.player;
 
+import net.minecraft.block.Block;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
@@ -24,6 +25,7 @@ import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.impl.event.interaction.KeyedInteractionEvents;
 
 /**
  * Callback for right-clicking ("using") a block.
@@ -35,7 +37,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
  * <li>FAIL cancels further processing and does not send a packet to the server.</ul>
  */
 public interface UseBlockCallback {
-	Event<UseBlockCallback> EVENT = EventFactory.createArrayBacked(UseBlockCallback.class,
+	Event<UseBlockCallback> EVENT = EventFactory.createSequential(UseBlockCallback.class, ActionResult.PASS,
 			(listeners) -> (player, world, hand, hitResult) -> {
 				for (UseBlockCallback event : listeners) {
 					ActionResult result = event.interact(player, world, hand, hitResult);
@@ -49,5 +51,20 @@ public interface UseBlockCallback {
 			}
 	);
 
+	/**
+	 * Get the event of the listeners that are only interested in a specific block.
+	 * These listeners are only invoked when the block that was used is {@code block}.
+	 *
+	 * <p>The listeners of all keys are looked up by identity in a single phase of {@link #EVENT}, which runs before the
+	 * {@linkplain Event#DEFAULT_PHASE default phase}, so registering many keyed listeners does not slow down unrelated interactions.
+	 * The returned event supports phases and {@linkplain Event#subscribe unregistration} like {@link #EVENT}.
+	 *
+	 * @param block The block the listeners are interested in.
+	 * @return The event of the block.
+	 */
+	static Event<UseBlockCallback> forBlock(Block block) {
+		return KeyedInteractionEvents.USE_BLOCK.forKey(block);
+	}
+
 	ActionResult interact(PlayerEntity player, World world, Hand hand, BlockHitResult hitResult);
 }
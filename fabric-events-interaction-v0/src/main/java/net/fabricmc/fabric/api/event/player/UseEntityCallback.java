@@ -19,6 +19,7 @@ package net.fabricmc.fabric.api.event.player;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
@@ -27,6 +28,7 @@ import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.impl.event.interaction.KeyedInteractionEvents;
 
 /**
  * Callback for right-clicking ("using") an entity.
@@ -51,7 +53,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
  * On the client, the {@link EntityHitResult} will never be null.
  */
 public interface UseEntityCallback {
-	Event<UseEntityCallback> EVENT = EventFactory.createArrayBacked(UseEntityCallback.class,
+	Event<UseEntityCallback> EVENT = EventFactory.createSequential(UseEntityCallback.class, ActionResult.PASS,
 			(listeners) -> (player, world, hand, entity, hitResult) -> {
 				for (UseEntityCallback event : listeners) {
 					ActionResult result = event.interact(player, world, hand, entity, hitResult);
@@ -65,5 +67,12 @@ public interface UseEntityCallback {
 			}
 	);
 
+	/**
+	 * Get the event of the listeners that are only invoked when the type of the entity that was used is {@code entityType}, see {@link UseBlockCallback#forBlock} for details.
+	 */
+	static Event<UseEntityCallback> forEntityType(EntityType<?> entityType) {
+		return KeyedInteractionEvents.USE_ENTITY.forKey(entityType);
+	}
+
 	ActionResult interact(PlayerEntity player, World world, Hand hand, Entity entity, @Nullable EntityHitResult hitResult);
 }
@@ -17,12 +17,14 @@
 package net.fabricmc.fabric.api.event.player;
 
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
 import net.minecraft.util.ActionResult;
 import net.minecraft.util.Hand;
 import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.event.Event;
 import net.fabricmc.fabric.api.event.EventFactory;
+import net.fabricmc.fabric.impl.event.interaction.KeyedInteractionEvents;
 
 /**
  * Callback for right-clicking ("using") an item.
@@ -34,7 +36,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
  * <li>FAIL cancels further processing and does not send a packet to the server.</ul>
  */
 public interface UseItemCallback {
-	Event<UseItemCallback> EVENT = EventFactory.createArrayBacked(UseItemCallback.class,
+	Event<UseItemCallback> EVENT = EventFactory.createSequential(UseItemCallback.class, ActionResult.PASS,
 			listeners -> (player, world, hand) -> {
 				for (UseItemCallback event : listeners) {
 					ActionResult result = event.interact(player, world, hand);
@@ -48,5 +50,12 @@ public interface UseItemCallback {
 			}
 	);
 
+	/**
+	 * Get the event of the listeners that are only invoked when the item in the hand of the player is {@code item}, see {@link UseBlockCallback#forBlock} for details.
+	 */
+	static Event<UseItemCallback> forItem(Item item) {
+		return KeyedInteractionEvents.USE_ITEM.forKey(item);
+	}
+
 	ActionResult interact(PlayerEntity player, World world, Hand hand);
 }
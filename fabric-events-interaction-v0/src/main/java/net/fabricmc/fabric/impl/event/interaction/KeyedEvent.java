@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.event.interaction;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.minecraft.util.ActionResult;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+
+/**
+ * Events of listeners that are only interested in a specific key, such as a block or an item.
+ * The listeners of each key are held by a separate event, so that the dispatcher registered to the global event
+ * only needs an identity lookup to find them instead of calling every listener.
+ *
+ * <p>The callback is adapted once, by a function that turns a {@link Dispatcher} into a callback:
+ * the callback passes the key of the interaction and a call of a listener with its arguments to the dispatcher.
+ * The same adapter builds both the invokers of the key events and the dispatcher of the global event.
+ *
+ * @param <K> The key type, compared by identity.
+ * @param <T> The listener type.
+ */
+public final class KeyedEvent<K, T> {
+	private final Class<T> type;
+	private final Event<T> globalEvent;
+	private final Function<Dispatcher<K, T>, T> adapter;
+	/**
+	 * Events of each key. Copied on write, so that lookups never block.
+	 */
+	private volatile Map<K, Event<T>> events = new IdentityHashMap<>();
+
+	/**
+	 * @param type The listener type.
+	 * @param globalEvent The event to register the dispatcher to, once the first key event is created.
+	 * @param adapter Creates a listener that calls the dispatcher with the key and the arguments of the interaction.
+	 */
+	public KeyedEvent(Class<T> type, Event<T> globalEvent, Function<Dispatcher<K, T>, T> adapter) {
+		this.type = type;
+		this.globalEvent = globalEvent;
+		this.adapter = adapter;
+	}
+
+	/**
+	 * Get the event of a key, creating it if needed.
+	 */
+	public Event<T> forKey(K key) {
+		Event<T> event = events.get(key);
+
+		if (event != null) {
+			return event;
+		}
+
+		synchronized (this) {
+			event = events.get(key);
+
+			if (event == null) {
+				if (events.isEmpty()) {
+					globalEvent.addPhaseOrdering(KeyedInteractionEvents.KEYED_PHASE, Event.DEFAULT_PHASE);
+					globalEvent.register(KeyedInteractionEvents.KEYED_PHASE, adapter.apply(this::dispatch));
+				}
+
+				event = EventFactory.createSequential(type, ActionResult.PASS, listeners -> adapter.apply((k, call) -> invokeAll(listeners, call)));
+				Map<K, Event<T>> newEvents = new IdentityHashMap<>(events);
+				newEvents.put(key, event);
+				events = newEvents;
+			}
+
+			return event;
+		}
+	}
+
+	private ActionResult dispatch(K key, Function<T, ActionResult> call) {
+		Event<T> event = events.get(key);
+		return event != null && event.hasListeners() ? call.apply(event.invoker()) : ActionResult.PASS;
+	}
+
+	private static <T> ActionResult invokeAll(T[] listeners, Function<T, ActionResult> call) {
+		for (T listener : listeners) {
+			ActionResult result = call.apply(listener);
+
+			if (result != ActionResult.PASS) {
+				return result;
+			}
+		}
+
+		return ActionResult.PASS;
+	}
+
+	@FunctionalInterface
+	public interface Dispatcher<K, T> {
+		/**
+		 * Call listeners for an interaction.
+		 *
+		 * @param key The key of the interaction.
+		 * @param call Calls a listener with the arguments of the interaction.
+		 * @return The result of the first listener that didn't return {@link ActionResult#PASS}, or {@code PASS}.
+		 */
+		ActionResult dispatch(K key, Function<T, ActionResult> call);
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.event.interaction;
+
+import net.minecraft.block.Block;
+import net.minecraft.entity.EntityType;
+import net.minecraft.item.Item;
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.api.event.player.AttackBlockCallback;
+import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.event.player.UseEntityCallback;
+import net.fabricmc.fabric.api.event.player.UseItemCallback;
+
+/**
+ * Keyed listeners of the interaction callbacks.
+ * Each dispatcher is registered to the global event in {@link #KEYED_PHASE}, which runs before the default phase.
+ */
+public final class KeyedInteractionEvents {
+	public static final Identifier KEYED_PHASE = Identifier.of("fabric-events-interaction-v0", "keyed");
+
+	public static final KeyedEvent<Block, UseBlockCallback> USE_BLOCK = new KeyedEvent<>(UseBlockCallback.class, UseBlockCallback.EVENT,
+			dispatcher -> (player, world, hand, hitResult) -> dispatcher.dispatch(world.getBlockState(hitResult.getBlockPos()).getBlock(),
+					listener -> listener.interact(player, world, hand, hitResult)));
+
+	public static final KeyedEvent<Block, AttackBlockCallback> ATTACK_BLOCK = new KeyedEvent<>(AttackBlockCallback.class, AttackBlockCallback.EVENT,
+			dispatcher -> (player, world, hand, pos, direction) -> dispatcher.dispatch(world.getBlockState(pos).getBlock(),
+					listener -> listener.interact(player, world, hand, pos, direction)));
+
+	public static final KeyedEvent<Item, UseItemCallback> USE_ITEM = new KeyedEvent<>(UseItemCallback.class, UseItemCallback.EVENT,
+			dispatcher -> (player, world, hand) -> dispatcher.dispatch(player.getStackInHand(hand).getItem(),
+					listener -> listener.interact(player, world, hand)));
+
+	public static final KeyedEvent<EntityType<?>, UseEntityCallback> USE_ENTITY = new KeyedEvent<>(UseEntityCallback.class, UseEntityCallback.EVENT,
+			dispatcher -> (player, world, hand, entity, hitResult) -> dispatcher.dispatch(entity.getType(),
+					listener -> listener.interact(player, world, hand, entity, hitResult)));
+
+	public static final KeyedEvent<EntityType<?>, AttackEntityCallback> ATTACK_ENTITY = new KeyedEvent<>(AttackEntityCallback.class, AttackEntityCallback.EVENT,
+			dispatcher -> (player, world, hand, entity, hitResult) -> dispatcher.dispatch(entity.getType(),
+					listener -> listener.interact(player, world, hand, entity, hitResult)));
+
+	private KeyedInteractionEvents() {
+	}
+}
@@ -47,6 +47,11 @@ public abstract class ServerPlayNetworkHandlerInteractEntityHandlerMixin impleme
 
 	@Inject(method = "interactAt(Lnet/minecraft/util/Hand;Lnet/minecraft/util/math/Vec3d;)V", at = @At(value = "HEAD"), cancellable = true)
 	public void onPlayerInteractEntity(Hand hand, Vec3d hitPosition, CallbackInfo info) {
+		if (!UseEntityCallback.EVENT.hasListeners()) {
+			// Don't build the hit result for nothing.
+			return;
+		}
+
 		PlayerEntity player = field_28963.player;
 		World world = player.getEntityWorld();
 
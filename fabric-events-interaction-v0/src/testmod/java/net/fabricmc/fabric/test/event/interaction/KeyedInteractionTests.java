@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.event.interaction;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.test.GameTest;
+import net.minecraft.test.TestContext;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.entity.FakePlayer;
+import net.fabricmc.fabric.api.event.EventScope;
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.gametest.v1.FabricGameTest;
+
+public class KeyedInteractionTests {
+	/**
+	 * Check that keyed listeners are only invoked for their key, and that a {@link ActionResult#PASS} falls through to the global listeners.
+	 */
+	@GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+	public void testKeyedUseBlock(TestContext context) {
+		BlockPos diamondPos = new BlockPos(0, 1, 0);
+		BlockPos goldPos = new BlockPos(1, 1, 0);
+		BlockPos emeraldPos = new BlockPos(2, 1, 0);
+		context.setBlockState(diamondPos, Blocks.DIAMOND_BLOCK);
+		context.setBlockState(goldPos, Blocks.GOLD_BLOCK);
+		context.setBlockState(emeraldPos, Blocks.EMERALD_BLOCK);
+
+		PlayerEntity player = FakePlayer.get(context.getWorld());
+		int[] keyedCalls = new int[1];
+		int[] globalCalls = new int[1];
+
+		try (EventScope scope = new EventScope()) {
+			scope.subscribe(UseBlockCallback.forBlock(Blocks.DIAMOND_BLOCK), (p, world, hand, hitResult) -> {
+				context.assertTrue(world.getBlockState(hitResult.getBlockPos()).isOf(Blocks.DIAMOND_BLOCK), "Keyed listener invoked for the wrong block");
+				keyedCalls[0]++;
+				return ActionResult.PASS;
+			});
+			scope.subscribe(UseBlockCallback.forBlock(Blocks.EMERALD_BLOCK), (p, world, hand, hitResult) -> ActionResult.FAIL);
+			scope.subscribe(UseBlockCallback.EVENT, (p, world, hand, hitResult) -> {
+				globalCalls[0]++;
+				return ActionResult.PASS;
+			});
+
+			ActionResult result = useBlock(context, player, diamondPos);
+			context.assertTrue(result == ActionResult.PASS, "Expected PASS for the diamond block, got " + result);
+			context.assertTrue(keyedCalls[0] == 1 && globalCalls[0] == 1, "PASS from the keyed listener should fall through to the global listener");
+
+			result = useBlock(context, player, goldPos);
+			context.assertTrue(result == ActionResult.PASS, "Expected PASS for the gold block, got " + result);
+			context.assertTrue(keyedCalls[0] == 1 && globalCalls[0] == 2, "Keyed listener should not be invoked for the gold block");
+
+			result = useBlock(context, player, emeraldPos);
+			context.assertTrue(result == ActionResult.FAIL, "Expected FAIL for the emerald block, got " + result);
+			context.assertTrue(globalCalls[0] == 2, "FAIL from a keyed listener should skip the global listener");
+		}
+
+		context.complete();
+	}
+
+	private static ActionResult useBlock(TestContext context, PlayerEntity player, BlockPos pos) {
+		BlockPos absolutePos = context.getAbsolutePos(pos);
+		BlockHitResult hitResult = new BlockHitResult(absolutePos.toCenterPos(), Direction.UP, absolutePos, false);
+		return UseBlockCallback.EVENT.invoker().interact(player, context.getWorld(), Hand.MAIN_HAND, hitResult);
+	}
+}
@@ -53,6 +53,16 @@ public class UseBlockTests implements ModInitializer {
 			return ActionResult.PASS;
 		});
 
+		// Keyed listeners are only invoked for their block, before the listeners of the default phase.
+		UseBlockCallback.forBlock(Blocks.CRAFTING_TABLE).register((player, world, hand, hitResult) -> {
+			if (!world.getBlockState(hitResult.getBlockPos()).isOf(Blocks.CRAFTING_TABLE)) {
+				throw new AssertionError("Keyed UseBlockCallback invoked for the wrong block");
+			}
+
+			LOGGER.info("UseBlockCallback: crafting table hook (client-side = %s)".formatted(world.isClient));
+			return ActionResult.PASS;
+		});
+
 		UseBlockCallback.EVENT.register((player, world, hand, hitResult) -> {
 			LOGGER.info("UseBlockCallback: after chest/water hook (client-side = %s)".formatted(world.isClient));
 			return ActionResult.PASS;
@@ -39,7 +39,7 @@ public final class ServerTickEvents {
 	 *
 	 * <p>When the dedicated server is "paused", this event is not invoked.
 	 */
-	public static final Event<StartTick> START_SERVER_TICK = EventFactory.createArrayBacked(StartTick.class, callbacks -> server -> {
+	public static final Event<StartTick> START_SERVER_TICK = EventFactory.createSequential(StartTick.class, null, callbacks -> server -> {
 		for (StartTick event : callbacks) {
 			event.onStartTick(server);
 		}
@@ -50,7 +50,7 @@ public final class ServerTickEvents {
 	 *
 	 * <p>When the dedicated server is "paused", this event is not invoked.
 	 */
-	public static final Event<EndTick> END_SERVER_TICK = EventFactory.createArrayBacked(EndTick.class, callbacks -> server -> {
+	public static final Event<EndTick> END_SERVER_TICK = EventFactory.createSequential(EndTick.class, null, callbacks -> server -> {
 		for (EndTick event : callbacks) {
 			event.onEndTick(server);
 		}
@@ -61,7 +61,7 @@ public final class ServerTickEvents {
 	 *
 	 * <p>When the dedicated server is "paused", this event is not invoked.
 	 */
-	public static final Event<StartWorldTick> START_WORLD_TICK = EventFactory.createArrayBacked(StartWorldTick.class, callbacks -> world -> {
+	public static final Event<StartWorldTick> START_WORLD_TICK = EventFactory.createSequential(StartWorldTick.class, null, callbacks -> world -> {
 		for (StartWorldTick callback : callbacks) {
 			callback.onStartTick(world);
 		}
@@ -74,7 +74,7 @@ public final class ServerTickEvents {
 	 *
 	 * <p>When the dedicated server is "paused", this event is not invoked.
 	 */
-	public static final Event<EndWorldTick> END_WORLD_TICK = EventFactory.createArrayBacked(EndWorldTick.class, callbacks -> world -> {
+	public static final Event<EndWorldTick> END_WORLD_TICK = EventFactory.createSequential(EndWorldTick.class, null, callbacks -> world -> {
 		for (EndWorldTick callback : callbacks) {
 			callback.onEndTick(world);
 		}
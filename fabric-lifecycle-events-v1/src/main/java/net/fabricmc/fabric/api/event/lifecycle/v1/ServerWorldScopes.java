@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.event.lifecycle.v1;
+
+import net.minecraft.server.world.ServerWorld;
+
+import net.fabricmc.fabric.api.event.EventScope;
+import net.fabricmc.fabric.impl.event.lifecycle.ServerWorldScopesImpl;
+
+/**
+ * Event scopes tied to the lifetime of server worlds.
+ *
+ * <p>Listeners subscribed to the scope of a world are unregistered when the world is {@linkplain ServerWorldEvents#UNLOAD unloaded},
+ * after all the listeners of {@link ServerWorldEvents#UNLOAD} were invoked, including those subscribed to the scope itself.
+ * This avoids leaking the world through the listeners of global events:
+ * <pre>{@code
+ * ServerWorldEvents.LOAD.register((server, world) -> {
+ *     ServerWorldScopes.get(world).subscribe(ServerTickEvents.END_WORLD_TICK, tickedWorld -> {
+ *         if (tickedWorld == world) {
+ *             // ...
+ *         }
+ *     });
+ * });
+ * }</pre>
+ */
+public final class ServerWorldScopes {
+	/**
+	 * Get the event scope of a world.
+	 * The scope of a world that was already unloaded is closed, so subscribing to it will throw an exception.
+	 *
+	 * @param world The world.
+	 * @return The event scope of the world.
+	 */
+	public static EventScope get(ServerWorld world) {
+		return ServerWorldScopesImpl.get(world);
+	}
+
+	private ServerWorldScopes() {
+	}
+}
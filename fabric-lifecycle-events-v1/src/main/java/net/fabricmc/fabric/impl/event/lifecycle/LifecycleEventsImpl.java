@@ -58,5 +58,8 @@ public final class LifecycleEventsImpl implements ModInitializer {
 				ServerEntityEvents.ENTITY_UNLOAD.invoker().onUnload(entity, world);
 			}
 		});
+
+		// Close the event scopes of unloaded worlds.
+		ServerWorldScopesImpl.init();
 	}
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.event.lifecycle;
+
+import java.util.Map;
+
+import com.google.common.collect.MapMaker;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventScope;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+
+public final class ServerWorldScopesImpl {
+	/**
+	 * Phase of {@link ServerWorldEvents#UNLOAD} in which the scopes are closed, after the default phase.
+	 */
+	private static final Identifier CLOSE_SCOPES_PHASE = Identifier.of("fabric-lifecycle-events-v1", "close_scopes");
+	/**
+	 * Scopes of the worlds. Closed scopes are kept until their world is collected, so that they can't be reopened by mistake.
+	 */
+	private static final Map<ServerWorld, EventScope> SCOPES = new MapMaker().weakKeys().makeMap();
+
+	private ServerWorldScopesImpl() {
+	}
+
+	public static EventScope get(ServerWorld world) {
+		return SCOPES.computeIfAbsent(world, w -> new EventScope());
+	}
+
+	static void init() {
+		ServerWorldEvents.UNLOAD.addPhaseOrdering(Event.DEFAULT_PHASE, CLOSE_SCOPES_PHASE);
+		// Also creates a closed scope for worlds that had none.
+		ServerWorldEvents.UNLOAD.register(CLOSE_SCOPES_PHASE, (server, world) -> get(world).close());
+	}
+}
@@ -50,7 +50,7 @@ abstract class WorldChunkMixin {
 	@Inject(method = "setBlockEntity", at = @At(value = "INVOKE", target = "Ljava/util/Map;put(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", shift = At.Shift.BY, by = 3))
 	private void onLoadBlockEntity(BlockEntity blockEntity, CallbackInfo ci, @Local(ordinal = 1) BlockEntity removedBlockEntity) {
 		// Only fire the load event if the block entity has actually changed
-		if (blockEntity != null && blockEntity != removedBlockEntity) {
+		if (blockEntity != null && blockEntity != removedBlockEntity && ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.hasListeners()) {
 			if (this.getWorld() instanceof ServerWorld) {
 				ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.invoker().onLoad(blockEntity, (ServerWorld) this.getWorld());
 			}
@@ -59,7 +59,7 @@ abstract class WorldChunkMixin {
 
 	@Inject(method = "setBlockEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/entity/BlockEntity;markRemoved()V", shift = At.Shift.AFTER))
 	private void onRemoveBlockEntity(BlockEntity blockEntity, CallbackInfo info, @Local(ordinal = 1) BlockEntity removedBlockEntity) {
-		if (this.getWorld() instanceof ServerWorld) {
+		if (ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.hasListeners() && this.getWorld() instanceof ServerWorld) {
 			ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.invoker().onUnload(removedBlockEntity, (ServerWorld) this.getWorld());
 		}
 	}
@@ -16,12 +16,18 @@
 
 package net.fabricmc.fabric.test.event.lifecycle;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.EventScope;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldScopes;
 
 /**
  * Tests related to the lifecycle of a server.
@@ -39,12 +45,30 @@ public final class ServerLifecycleTests implements ModInitializer {
 			LOGGER.info("Stopping Server!");
 		});
 
+		List<EventScope> worldScopes = new ArrayList<>();
+
 		ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
 			LOGGER.info("Stopped Server!");
+
+			for (EventScope scope : worldScopes) {
+				if (!scope.isClosed()) {
+					throw new AssertionError("Event scope of an unloaded world was not closed");
+				}
+			}
+
+			worldScopes.clear();
 		});
 
 		ServerWorldEvents.LOAD.register((server, world) -> {
 			LOGGER.info("Loaded world " + world.getRegistryKey().getValue().toString());
+
+			EventScope scope = ServerWorldScopes.get(world);
+			worldScopes.add(scope);
+			scope.subscribe(ServerTickEvents.END_WORLD_TICK, tickedWorld -> {
+				if (tickedWorld == world && tickedWorld.getTime() % 6000 == 0) {
+					LOGGER.info("Scoped tick listener of world " + world.getRegistryKey().getValue().toString());
+				}
+			});
 		});
 
 		ServerWorldEvents.UNLOAD.register((server, world) -> {
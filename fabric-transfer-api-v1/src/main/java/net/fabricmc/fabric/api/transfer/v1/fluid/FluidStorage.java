@@ -18,6 +18,7 @@ package net.fabricmc.fabric.api.transfer.v1.fluid;
 
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.block.BlockState;
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.component.type.PotionContentsComponent;
 import net.minecraft.fluid.Fluid;
@@ -139,7 +140,7 @@ public final class FluidStorage {
 			}
 
 			return null;
-		});
+		}, BlockState::hasBlockEntity);
 
 		// Register combined fallback
 		FluidStorage.ITEM.registerFallback((stack, context) -> GENERAL_COMBINED_PROVIDER.invoker().find(context));
@@ -34,6 +34,10 @@ import net.minecraft.world.World;
 /**
  * Defines the common attributes of {@linkplain FluidVariant fluid variants} of a given Fluid.
  * Register with {@link FluidVariantAttributes#register}.
+ *
+ * <p>The results of the handler are cached per variant by {@link FluidVariantAttributes},
+ * except for the sounds and the viscosity in a world.
+ * They should therefore only depend on the variant.
  */
 public interface FluidVariantAttributeHandler {
 	/**
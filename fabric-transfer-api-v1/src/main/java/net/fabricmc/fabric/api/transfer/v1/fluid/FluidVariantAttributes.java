@@ -33,9 +33,13 @@ import net.minecraft.world.World;
 
 import net.fabricmc.fabric.api.lookup.v1.custom.ApiProviderMap;
 import net.fabricmc.fabric.impl.transfer.TransferApiImpl;
+import net.fabricmc.fabric.impl.transfer.fluid.FluidVariantAttributeCache;
 
 /**
  * Common fluid variant attributes, accessible both client-side and server-side.
+ *
+ * <p>The name, luminance, temperature, viscosity without a world and lighter-than-air status of each variant
+ * are queried from its handler once, then cached until a handler is registered.
  */
 public final class FluidVariantAttributes {
 	private static final ApiProviderMap<Fluid, FluidVariantAttributeHandler> HANDLERS = ApiProviderMap.create();
@@ -52,6 +56,8 @@ public final class FluidVariantAttributes {
 		if (HANDLERS.putIfAbsent(fluid, handler) != null) {
 			throw new IllegalArgumentException("Duplicate handler registration for fluid " + fluid);
 		}
+
+		FluidVariantAttributeCache.invalidateAll();
 	}
 
 	/**
@@ -59,6 +65,7 @@ public final class FluidVariantAttributes {
 	 */
 	public static void enableColoredVanillaFluidNames() {
 		coloredVanillaFluidNames = true;
+		FluidVariantAttributeCache.invalidateAll();
 	}
 
 	/**
@@ -81,7 +88,15 @@ public final class FluidVariantAttributes {
 	 * Return the name that should be used for the passed fluid variant.
 	 */
 	public static Text getName(FluidVariant variant) {
-		return getHandlerOrDefault(variant.getFluid()).getName(variant);
+		FluidVariantAttributeCache cache = FluidVariantAttributeCache.get(variant);
+		Text name = cache.name;
+
+		if (name == null) {
+			cache.name = name = getHandlerOrDefault(variant.getFluid()).getName(variant);
+		}
+
+		// Copy the cached text in case the caller modifies it.
+		return name.copy();
 	}
 
 	/**
@@ -106,11 +121,18 @@ public final class FluidVariantAttributes {
 	 * Return an integer in [0, 15]: the light level emitted by this fluid variant, or 0 if it doesn't naturally emit light.
 	 */
 	public static int getLuminance(FluidVariant variant) {
-		int luminance = getHandlerOrDefault(variant.getFluid()).getLuminance(variant);
+		FluidVariantAttributeCache cache = FluidVariantAttributeCache.get(variant);
+		int luminance = cache.luminance;
+
+		if (luminance == FluidVariantAttributeCache.UNKNOWN) {
+			luminance = getHandlerOrDefault(variant.getFluid()).getLuminance(variant);
 
-		if (luminance < 0 || luminance > 15) {
-			TransferApiImpl.LOGGER.warn("Broken FluidVariantAttributeHandler. Invalid luminance %d for fluid variant %s".formatted(luminance, variant));
-			return DEFAULT_HANDLER.getLuminance(variant);
+			if (luminance < 0 || luminance > 15) {
+				TransferApiImpl.LOGGER.warn("Broken FluidVariantAttributeHandler. Invalid luminance %d for fluid variant %s".formatted(luminance, variant));
+				luminance = DEFAULT_HANDLER.getLuminance(variant);
+			}
+
+			cache.luminance = luminance;
 		}
 
 		return luminance;
@@ -121,11 +143,18 @@ public final class FluidVariantAttributes {
 	 * The reference values are {@value FluidConstants#WATER_TEMPERATURE} for water, and {@value FluidConstants#LAVA_TEMPERATURE} for lava.
 	 */
 	public static int getTemperature(FluidVariant variant) {
-		int temperature = getHandlerOrDefault(variant.getFluid()).getTemperature(variant);
+		FluidVariantAttributeCache cache = FluidVariantAttributeCache.get(variant);
+		int temperature = cache.temperature;
+
+		if (temperature == FluidVariantAttributeCache.UNKNOWN) {
+			temperature = getHandlerOrDefault(variant.getFluid()).getTemperature(variant);
+
+			if (temperature < 0) {
+				TransferApiImpl.LOGGER.warn("Broken FluidVariantAttributeHandler. Invalid temperature %d for fluid variant %s".formatted(temperature, variant));
+				temperature = DEFAULT_HANDLER.getTemperature(variant);
+			}
 
-		if (temperature < 0) {
-			TransferApiImpl.LOGGER.warn("Broken FluidVariantAttributeHandler. Invalid temperature %d for fluid variant %s".formatted(temperature, variant));
-			return DEFAULT_HANDLER.getTemperature(variant);
+			cache.temperature = temperature;
 		}
 
 		return temperature;
@@ -143,6 +172,22 @@ public final class FluidVariantAttributes {
 	 * @param world World if available, otherwise null.
 	 */
 	public static int getViscosity(FluidVariant variant, @Nullable World world) {
+		if (world != null) {
+			// The viscosity may depend on the world, so only the viscosity without a world is cached.
+			return computeViscosity(variant, world);
+		}
+
+		FluidVariantAttributeCache cache = FluidVariantAttributeCache.get(variant);
+		int viscosity = cache.viscosity;
+
+		if (viscosity == FluidVariantAttributeCache.UNKNOWN) {
+			cache.viscosity = viscosity = computeViscosity(variant, null);
+		}
+
+		return viscosity;
+	}
+
+	private static int computeViscosity(FluidVariant variant, @Nullable World world) {
 		int viscosity = getHandlerOrDefault(variant.getFluid()).getViscosity(variant, world);
 
 		if (viscosity <= 0) {
@@ -158,7 +203,14 @@ public final class FluidVariantAttributes {
 	 * Fluids that are lighter than air generally flow upwards.
 	 */
 	public static boolean isLighterThanAir(FluidVariant variant) {
-		return getHandlerOrDefault(variant.getFluid()).isLighterThanAir(variant);
+		FluidVariantAttributeCache cache = FluidVariantAttributeCache.get(variant);
+		Boolean lighterThanAir = cache.lighterThanAir;
+
+		if (lighterThanAir == null) {
+			cache.lighterThanAir = lighterThanAir = getHandlerOrDefault(variant.getFluid()).isLighterThanAir(variant);
+		}
+
+		return lighterThanAir;
 	}
 
 	static {
@@ -29,6 +29,7 @@ import net.minecraft.inventory.SidedInventory;
 import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.util.math.Direction;
 
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.SlottedStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
@@ -43,11 +44,17 @@ import net.fabricmc.fabric.impl.transfer.item.InventoryStorageImpl;
  *
  * <p>In particular, note that {@link #getSlots} can be combined with {@link CombinedStorage} to retrieve a wrapper around a specific range of slots.
  *
+ * <p>The wrapper is {@linkplain ObservableStorage observable}: its listeners are notified once per committed transaction
+ * that modified the inventory through the wrapper or its slots, right after {@code markDirty()} is called.
+ * Modifications of the inventory that do not go through the wrapper are not notified.
+ * The listeners are stored in the wrapper, which is only kept alive as long as it is referenced:
+ * a reference to the wrapper must be kept for as long as its listeners should be notified.
+ *
  * <p><b>Important note:</b> This wrapper assumes that the inventory owns its slots.
  * If the inventory does not own its slots, for example because it delegates to another inventory, this wrapper should not be used!
  */
 @ApiStatus.NonExtendable
-public interface InventoryStorage extends SlottedStorage<ItemVariant> {
+public interface InventoryStorage extends SlottedStorage<ItemVariant>, ObservableStorage<ItemVariant> {
 	/**
 	 * Return a wrapper around an {@link Inventory}.
 	 *
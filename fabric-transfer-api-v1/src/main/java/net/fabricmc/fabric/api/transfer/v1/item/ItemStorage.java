@@ -20,6 +20,7 @@ import java.util.List;
 
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.ChestBlock;
 import net.minecraft.block.InventoryProvider;
@@ -109,7 +110,7 @@ public final class ItemStorage {
 			}
 
 			return null;
-		});
+		}, BlockState::hasBlockEntity);
 
 		// Register Inventory fallback.
 		ItemStorage.SIDED.registerFallback((world, pos, state, blockEntity, direction) -> {
@@ -142,7 +143,7 @@ public final class ItemStorage {
 			}
 
 			return inventoryToWrap != null ? InventoryStorage.of(inventoryToWrap, direction) : null;
-		});
+		}, state -> state.hasBlockEntity() || state.getBlock() instanceof InventoryProvider);
 
 		ItemStorage.ITEM.registerForItems(
 				(itemStack, context) -> new ContainerComponentStorage(context, 27),
@@ -19,10 +19,13 @@ package net.fabricmc.fabric.api.transfer.v1.item.base;
 import net.minecraft.item.ItemStack;
 
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.fabricmc.fabric.impl.transfer.ChangeListenerList;
 
 /**
  * An item variant storage backed by an {@link ItemStack}.
@@ -33,8 +36,13 @@ import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
  * If one of these two functions is overridden to always return false, implementors may also wish to override
  * {@link #supportsInsertion} and/or {@link #supportsExtraction}.
  * {@link #getCapacity(ItemVariant)} can be overridden to change the maximum capacity depending on the item variant.
+ *
+ * <p>This storage is {@linkplain ObservableStorage observable}: its listeners are notified after {@link #onFinalCommit}.
+ * Modifications of the stack that do not go through this storage are not notified.
  */
-public abstract class SingleStackStorage extends SnapshotParticipant<ItemStack> implements SingleSlotStorage<ItemVariant> {
+public abstract class SingleStackStorage extends SnapshotParticipant<ItemStack> implements SingleSlotStorage<ItemVariant>, ObservableStorage<ItemVariant> {
+	private final ChangeListenerList changeListeners = new ChangeListenerList();
+
 	/**
 	 * Return the stack of this storage. It will be modified directly sometimes to avoid needless copies.
 	 * However, any mutation of the stack will directly be followed by a call to {@link #setStack}.
@@ -159,6 +167,22 @@ public abstract class SingleStackStorage extends SnapshotParticipant<ItemStack>
 		setStack(snapshot);
 	}
 
+	@Override
+	public void addChangeListener(Runnable listener) {
+		changeListeners.add(listener);
+	}
+
+	@Override
+	public void removeChangeListener(Runnable listener) {
+		changeListeners.remove(listener);
+	}
+
+	@Override
+	public void afterOuterClose(Transaction.Result result) {
+		super.afterOuterClose(result);
+		changeListeners.notifyListeners();
+	}
+
 	@Override
 	public String toString() {
 		return "SingleStackStorage[" + getStack() + "]";
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.transfer.v1.storage;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+
+/**
+ * A {@link Storage} that can notify listeners when its contents change,
+ * so that its users don't need to scan its contents periodically to find out.
+ *
+ * <p>Listeners are notified after an outer transaction that modified the storage {@linkplain Transaction#commit() is committed},
+ * at the same time as {@link net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant#onFinalCommit() onFinalCommit}.
+ * Aborted changes are never notified. A listener may be notified more than once for the same transaction,
+ * for example once for each part of a {@link net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage CombinedStorage}.
+ * It may also be notified even though the contents ended up the same, for example after inserting and then extracting the same resource.
+ *
+ * <p><b>Changes that do not go through a transaction, for example direct modifications of the state of the storage, are not notified.</b>
+ * For example, modifying the {@link net.minecraft.inventory.Inventory Inventory} wrapped by an
+ * {@link net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage InventoryStorage} directly doesn't notify the listeners of the wrapper.
+ * Users that must see every change should still check the {@linkplain Storage#getVersion() version} of the storage from time to time.
+ *
+ * <p>Listeners are invoked on the thread that committed the transaction, with the transaction already closed:
+ * they may open new transactions, but should not modify the storage that notified them in a way that would notify them again forever.
+ * Listeners may be added or removed during a notification, which only affects the next notifications.
+ *
+ * <p>Please note that most storages will not implement this interface.
+ * Some storages implement it but are only observable in some cases, for example a
+ * {@link net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage CombinedStorage} is only observable if all of its parts are.
+ * Checking whether a storage is observable must be done using {@link #asObservable}, not only with {@code instanceof}.
+ *
+ * @param <T> The type of the stored resources.
+ */
+public interface ObservableStorage<T> extends Storage<T> {
+	/**
+	 * Register a listener that will be invoked after every committed transaction that modified the contents of this storage.
+	 * The listener is kept until it is {@linkplain #removeChangeListener removed}.
+	 * Adding the same listener multiple times will invoke it multiple times.
+	 */
+	void addChangeListener(Runnable listener);
+
+	/**
+	 * Remove a listener previously registered with {@link #addChangeListener}, or do nothing if it isn't registered.
+	 * If it was registered multiple times, only one registration is removed.
+	 */
+	void removeChangeListener(Runnable listener);
+
+	/**
+	 * Return {@code true} if every change of the contents of this storage that goes through a transaction is notified,
+	 * or {@code false} if some changes may not be notified. Listeners may be registered even if this returns {@code false},
+	 * but they will miss some changes.
+	 *
+	 * <p>This may change over the lifetime of a storage, for example when the parts of a combined storage are replaced.
+	 * The default implementation returns {@code true}.
+	 */
+	default boolean isObservable() {
+		return true;
+	}
+
+	/**
+	 * Return the passed storage as an {@link ObservableStorage} if it is currently {@linkplain #isObservable() observable},
+	 * or {@code null} otherwise.
+	 */
+	@Nullable
+	static <T> ObservableStorage<T> asObservable(@Nullable Storage<T> storage) {
+		return storage instanceof ObservableStorage<T> observable && observable.isObservable() ? observable : null;
+	}
+}
@@ -20,6 +20,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.inventory.Inventory;
@@ -125,6 +127,101 @@ public final class StorageUtil {
 		return totalMoved;
 	}
 
+	/**
+	 * Move resources between two storages, matching the passed filter, and return the amount that was successfully transferred.
+	 * The result is similar to {@link #move}, but this function is meant for moving the whole contents of storages with many views,
+	 * such as inventories, at once.
+	 *
+	 * <p>{@link #move} transfers the contents of each view of the source separately: for each view it simulates the extraction,
+	 * inserts into the target and extracts from the view, in a new nested transaction.
+	 * Instead, this function proceeds in two phases:
+	 * <ol>
+	 *     <li>The non-empty views of the source are iterated once, to count the amount of each resource they contain.</li>
+	 *     <li>For each resource matching the filter, in the order in which they were found,
+	 *     the counted amount is inserted into the target, and the accepted amount is extracted from the whole source
+	 *     with {@link Storage#extract}, all in a single nested transaction per resource.</li>
+	 * </ol>
+	 * The target is therefore queried once per distinct resource instead of once per view.
+	 * If the source cannot supply all the accepted amount, the insertion of the resource is retried with the amount that the source could supply.
+	 *
+	 * <p>The filter is only tested once for each distinct resource.
+	 *
+	 * @param from The source storage. May be null.
+	 * @param to The target storage. May be null.
+	 * @param filter The filter for transferred resources.
+	 *               Only resources for which this filter returns {@code true} will be transferred.
+	 *               This filter will never be tested with a blank resource, and filters are encouraged to throw an
+	 *               exception if this guarantee is violated.
+	 * @param maxAmount The maximum amount that will be transferred.
+	 * @param transaction The transaction this transfer is part of, or {@code null} if a transaction should be opened just for this transfer.
+	 * @param <T> The type of resources to move.
+	 * @return The total amount of resources that was successfully transferred.
+	 * @throws IllegalStateException If no transaction is passed and a transaction is already active on the current thread.
+	 */
+	public static <T> long moveAll(@Nullable Storage<T> from, @Nullable Storage<T> to, Predicate<T> filter, long maxAmount, @Nullable TransactionContext transaction) {
+		Objects.requireNonNull(filter, "Filter may not be null");
+		StoragePreconditions.notNegative(maxAmount);
+		if (from == null || to == null || maxAmount == 0) return 0;
+
+		long totalMoved = 0;
+
+		try (Transaction moveTransaction = Transaction.openNested(transaction)) {
+			// Count the contents of the source, in order of first appearance.
+			Object2LongLinkedOpenHashMap<T> histogram = new Object2LongLinkedOpenHashMap<>();
+
+			for (StorageView<T> view : from.nonEmptyViews()) {
+				long counted = histogram.getLong(view.getResource());
+				histogram.put(view.getResource(), saturatedSum(counted, view.getAmount()));
+			}
+
+			for (Object2LongMap.Entry<T> entry : histogram.object2LongEntrySet()) {
+				T resource = entry.getKey();
+				if (!filter.test(resource)) continue;
+
+				long amount = Math.min(entry.getLongValue(), maxAmount - totalMoved);
+
+				// The amount decreases strictly with each attempt, so this always terminates.
+				while (amount > 0) {
+					try (Transaction transferTransaction = moveTransaction.openNested()) {
+						long accepted = to.insert(resource, amount, transferTransaction);
+						if (accepted == 0) break;
+
+						long extracted = from.extract(resource, accepted, transferTransaction);
+
+						if (extracted == accepted) {
+							totalMoved += accepted;
+							transferTransaction.commit();
+							break;
+						}
+
+						// The source couldn't supply everything: roll back and try again with what it could supply.
+						amount = extracted;
+					}
+				}
+
+				if (maxAmount == totalMoved) break;
+			}
+
+			moveTransaction.commit();
+		} catch (Exception e) {
+			CrashReport report = CrashReport.create(e, "Moving all resources between storages");
+			report.addElement("Move details")
+					.add("Input storage", from::toString)
+					.add("Output storage", to::toString)
+					.add("Filter", filter::toString)
+					.add("Max amount", maxAmount)
+					.add("Transaction", transaction);
+			throw new CrashException(report);
+		}
+
+		return totalMoved;
+	}
+
+	private static long saturatedSum(long a, long b) {
+		long sum = a + b;
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
+
 	/**
 	 * Convenient helper to simulate an insertion, i.e. get the result of insert without modifying any state.
 	 * The passed transaction may be null if a new transaction should be opened for the simulation.
@@ -16,26 +16,53 @@
 
 package net.fabricmc.fabric.api.transfer.v1.storage.base;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.StringJoiner;
 
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageView;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.impl.transfer.ChangeListenerList;
 
 /**
  * A {@link Storage} wrapping multiple storages.
  *
  * <p>The storages passed to {@linkplain CombinedStorage#CombinedStorage the constructor} will be iterated in order.
  *
+ * <p>This storage is {@linkplain ObservableStorage#isObservable() observable} if all of its parts are:
+ * its listeners are notified when one of its parts that implements {@link ObservableStorage} notifies its own listeners.
+ * If some parts are not observable, the changes of these parts are not notified, and {@link #isObservable()} returns {@code false}.
+ * If {@link #parts} is replaced, the new parts are observed from the next operation on this storage or the next listener change.
+ *
  * @param <T> The type of the stored resources.
  * @param <S> The class of every part. {@code ? extends Storage<T>} can be used if the parts are of different types.
  */
-public class CombinedStorage<T, S extends Storage<T>> implements Storage<T> {
+public class CombinedStorage<T, S extends Storage<T>> implements ObservableStorage<T> {
 	public List<S> parts;
+	/**
+	 * The listeners of this storage, created when the first listener is added.
+	 */
+	@Nullable
+	private ChangeListenerList changeListeners = null;
+	/**
+	 * The parts that {@link #partListener} is registered to, or {@code null} if it is not registered.
+	 */
+	@Nullable
+	private List<S> observedParts = null;
+	/**
+	 * Copy of {@link #observedParts}, in case the list is modified.
+	 */
+	private List<S> observedPartsCopy = List.of();
+	private final Runnable partListener = () -> {
+		if (changeListeners != null) changeListeners.notifyListeners();
+	};
 
 	public CombinedStorage(List<S> parts) {
 		this.parts = parts;
@@ -55,6 +82,7 @@ public class CombinedStorage<T, S extends Storage<T>> implements Storage<T> {
 	@Override
 	public long insert(T resource, long maxAmount, TransactionContext transaction) {
 		StoragePreconditions.notNegative(maxAmount);
+		updateObservedParts();
 		long amount = 0;
 
 		for (S part : parts) {
@@ -79,6 +107,7 @@ public class CombinedStorage<T, S extends Storage<T>> implements Storage<T> {
 	@Override
 	public long extract(T resource, long maxAmount, TransactionContext transaction) {
 		StoragePreconditions.notNegative(maxAmount);
+		updateObservedParts();
 		long amount = 0;
 
 		for (S part : parts) {
@@ -91,9 +120,63 @@ public class CombinedStorage<T, S extends Storage<T>> implements Storage<T> {
 
 	@Override
 	public Iterator<StorageView<T>> iterator() {
+		updateObservedParts();
 		return new CombinedIterator();
 	}
 
+	@Override
+	public void addChangeListener(Runnable listener) {
+		if (changeListeners == null) {
+			changeListeners = new ChangeListenerList();
+		}
+
+		changeListeners.add(listener);
+		updateObservedParts();
+	}
+
+	@Override
+	public void removeChangeListener(Runnable listener) {
+		if (changeListeners != null) {
+			changeListeners.remove(listener);
+			updateObservedParts();
+		}
+	}
+
+	@Override
+	public boolean isObservable() {
+		for (S part : parts) {
+			if (ObservableStorage.asObservable(part) == null) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Forward the notifications of the current parts if this storage has listeners,
+	 * and stop forwarding the notifications of the parts that were replaced.
+	 */
+	void updateObservedParts() {
+		List<S> partsToObserve = changeListeners == null || changeListeners.isEmpty() ? null : parts;
+		if (observedParts == partsToObserve) return;
+
+		for (S part : observedPartsCopy) {
+			if (part instanceof ObservableStorage<T> observable) {
+				observable.removeChangeListener(partListener);
+			}
+		}
+
+		observedParts = partsToObserve;
+		observedPartsCopy = partsToObserve == null ? List.of() : new ArrayList<>(partsToObserve);
+
+		for (S part : observedPartsCopy) {
+			if (part instanceof ObservableStorage<T> observable) {
+				observable.addChangeListener(partListener);
+			}
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringJoiner partNames = new StringJoiner(", ");
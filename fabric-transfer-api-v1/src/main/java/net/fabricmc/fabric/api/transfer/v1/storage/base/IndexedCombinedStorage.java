@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.transfer.v1.storage.base;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+
+/**
+ * A {@link CombinedSlottedStorage} of single slots that keeps an index of its slots by resource, as well as of its empty slots,
+ * so that inserting or extracting a resource only visits the slots that contain it, and the empty slots for insertion.
+ * This is meant for storages with many slots, such as large inventories or drawer networks,
+ * where {@link CombinedStorage} would query every slot.
+ *
+ * <p>Insertion fills the slots that already contain the resource first, then the empty slots, each in slot order.
+ * Extraction visits the slots that contain the resource in slot order.
+ *
+ * <p>The index is updated after every insertion or extraction going through this storage.
+ * When a transaction is aborted, the slots it modified are indexed again before the next operation.
+ * <b>Changes to the slots that do not go through this storage are not seen by the index</b>:
+ * {@link #reindex()} must be called after such changes, for example when the inventory wrapped by an {@link net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage InventoryStorage} is modified directly.
+ * Slots found out of sync with the index during an operation are indexed again.
+ * Replacing the {@link #parts} list also reindexes the whole storage.
+ *
+ * <p>For example, the slots of an inventory can be indexed with {@code new IndexedCombinedStorage<>(InventoryStorage.of(inventory, null).getSlots())}.
+ *
+ * @param <T> The type of the stored resources.
+ * @param <S> The class of every slot. {@code ? extends SingleSlotStorage<T>} can be used if the slots are of different types.
+ */
+public class IndexedCombinedStorage<T, S extends SingleSlotStorage<T>> extends CombinedSlottedStorage<T, S> {
+	private final Map<T, BitSet> slotsByResource = new HashMap<>();
+	private final BitSet emptySlots = new BitSet();
+	/**
+	 * Slots that were modified by an aborted transaction and must be indexed again.
+	 */
+	private final BitSet staleSlots = new BitSet();
+	private final ModifiedSlots modifiedSlots = new ModifiedSlots();
+	/**
+	 * The indexed resource of each slot, or {@code null} if the slot is indexed as empty.
+	 */
+	private Object[] indexedResources = new Object[0];
+	/**
+	 * The parts that were indexed, to notice when {@link #parts} is replaced.
+	 */
+	@Nullable
+	private List<S> indexedParts = null;
+
+	public IndexedCombinedStorage(List<S> parts) {
+		super(parts);
+	}
+
+	/**
+	 * Rebuild the index before the next operation, after the slots were modified without going through this storage.
+	 */
+	public void reindex() {
+		indexedParts = null;
+	}
+
+	@Override
+	public long insert(T resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notNegative(maxAmount);
+		updateIndex();
+		long amount = 0;
+		BitSet matchingSlots = slotsByResource.get(resource);
+
+		if (matchingSlots != null) {
+			amount += insertInto(matchingSlots, resource, maxAmount, transaction);
+		}
+
+		if (amount < maxAmount) {
+			amount += insertInto(emptySlots, resource, maxAmount - amount, transaction);
+		}
+
+		return amount;
+	}
+
+	@Override
+	public long extract(T resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notNegative(maxAmount);
+		updateIndex();
+		long amount = 0;
+		BitSet matchingSlots = slotsByResource.get(resource);
+
+		if (matchingSlots == null) {
+			return 0;
+		}
+
+		// Indexing a slot only clears bits at or before the slot, so the iteration is not disturbed.
+		for (int slot = matchingSlots.nextSetBit(0); slot >= 0 && amount < maxAmount; slot = matchingSlots.nextSetBit(slot + 1)) {
+			long extracted = parts.get(slot).extract(resource, maxAmount - amount, transaction);
+			onSlotQueried(slot, extracted, transaction);
+			amount += extracted;
+		}
+
+		return amount;
+	}
+
+	private long insertInto(BitSet slots, T resource, long maxAmount, TransactionContext transaction) {
+		long amount = 0;
+
+		// Indexing a slot only clears bits at or before the slot, so the iteration is not disturbed.
+		for (int slot = slots.nextSetBit(0); slot >= 0 && amount < maxAmount; slot = slots.nextSetBit(slot + 1)) {
+			long inserted = parts.get(slot).insert(resource, maxAmount - amount, transaction);
+			onSlotQueried(slot, inserted, transaction);
+			amount += inserted;
+		}
+
+		return amount;
+	}
+
+	private void onSlotQueried(int slot, long transferred, TransactionContext transaction) {
+		if (transferred > 0) {
+			modifiedSlots.add(slot, transaction);
+		}
+
+		// Also fixes the index if the slot was modified without going through this storage.
+		indexSlot(slot);
+	}
+
+	@Override
+	public int getSlotCount() {
+		return parts.size();
+	}
+
+	@Override
+	public SingleSlotStorage<T> getSlot(int slot) {
+		return parts.get(slot);
+	}
+
+	private void updateIndex() {
+		updateObservedParts();
+
+		if (indexedParts != parts || indexedResources.length != parts.size()) {
+			slotsByResource.clear();
+			staleSlots.clear();
+			indexedResources = new Object[parts.size()];
+			emptySlots.clear();
+			emptySlots.set(0, parts.size());
+			indexedParts = parts;
+
+			for (int slot = 0; slot < indexedResources.length; ++slot) {
+				indexSlot(slot);
+			}
+		} else if (!staleSlots.isEmpty()) {
+			for (int slot = staleSlots.nextSetBit(0); slot >= 0; slot = staleSlots.nextSetBit(slot + 1)) {
+				indexSlot(slot);
+			}
+
+			staleSlots.clear();
+		}
+	}
+
+	private void indexSlot(int slot) {
+		S part = parts.get(slot);
+		@Nullable
+		T resource = part.isResourceBlank() || part.getAmount() == 0 ? null : part.getResource();
+		Object previous = indexedResources[slot];
+
+		if (Objects.equals(previous, resource)) {
+			return;
+		}
+
+		if (previous == null) {
+			emptySlots.clear(slot);
+		} else {
+			BitSet previousSlots = slotsByResource.get(previous);
+			previousSlots.clear(slot);
+
+			if (previousSlots.isEmpty()) {
+				slotsByResource.remove(previous);
+			}
+		}
+
+		if (resource == null) {
+			emptySlots.set(slot);
+		} else {
+			slotsByResource.computeIfAbsent(resource, r -> new BitSet()).set(slot);
+		}
+
+		indexedResources[slot] = resource;
+	}
+
+	@Override
+	public String toString() {
+		StringJoiner partNames = new StringJoiner(", ");
+
+		for (S part : parts) {
+			partNames.add(part.toString());
+		}
+
+		return "IndexedCombinedStorage[" + partNames + "]";
+	}
+
+	/**
+	 * Journal of the slots modified in the current transactions. The snapshots are positions in the journal:
+	 * when a transaction is aborted, the slots modified since its snapshot are marked as stale.
+	 * They can't be indexed again right away, since the slots might not have been rolled back yet.
+	 */
+	private class ModifiedSlots extends SnapshotParticipant<Integer> {
+		private int[] slots = new int[16];
+		private int size = 0;
+
+		void add(int slot, TransactionContext transaction) {
+			updateSnapshots(transaction);
+
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+
+			slots[size++] = slot;
+		}
+
+		@Override
+		protected Integer createSnapshot() {
+			return size;
+		}
+
+		@Override
+		protected void readSnapshot(Integer snapshot) {
+			for (int i = snapshot; i < size; ++i) {
+				staleSlots.set(slots[i]);
+			}
+
+			size = snapshot;
+		}
+
+		@Override
+		protected void onFinalCommit() {
+			size = 0;
+		}
+	}
+}
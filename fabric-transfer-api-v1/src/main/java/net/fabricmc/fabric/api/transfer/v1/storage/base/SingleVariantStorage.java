@@ -29,10 +29,13 @@ import net.minecraft.nbt.NbtOps;
 import net.minecraft.registry.RegistryOps;
 import net.minecraft.registry.RegistryWrapper;
 
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
 import net.fabricmc.fabric.api.transfer.v1.storage.TransferVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
-import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.ResourceAmountSnapshotParticipant;
+import net.fabricmc.fabric.impl.transfer.ChangeListenerList;
 
 /**
  * A storage that can store a single transfer variant at any given time.
@@ -43,14 +46,20 @@ import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
  * If one of these two functions is overridden to always return false, implementors may also wish to override
  * {@link #supportsInsertion} and/or {@link #supportsExtraction}.
  *
+ * <p>This storage is {@linkplain ObservableStorage observable}: its listeners are notified after {@link #onFinalCommit}.
+ * Direct modifications of {@link #variant} and {@link #amount} are not notified.
+ *
+ * <p>Snapshots of the variant and amount are saved without allocating, see {@link ResourceAmountSnapshotParticipant}.
+ *
  * @see net.fabricmc.fabric.api.transfer.v1.fluid.base.SingleFluidStorage SingleFluidStorage for fluid variants.
  * @see net.fabricmc.fabric.api.transfer.v1.item.base.SingleItemStorage SingleItemStorage for item variants.
  */
-public abstract class SingleVariantStorage<T extends TransferVariant<?>> extends SnapshotParticipant<ResourceAmount<T>> implements SingleSlotStorage<T> {
+public abstract class SingleVariantStorage<T extends TransferVariant<?>> extends ResourceAmountSnapshotParticipant<T> implements SingleSlotStorage<T>, ObservableStorage<T> {
 	private static final Logger LOGGER = LoggerFactory.getLogger("fabric-transfer-api-v1/variant-storage");
 
 	public T variant = getBlankVariant();
 	public long amount = 0;
+	private final ChangeListenerList changeListeners = new ChangeListenerList();
 
 	/**
 	 * Return the blank variant.
@@ -147,14 +156,35 @@ public abstract class SingleVariantStorage<T extends TransferVariant<?>> extends
 	}
 
 	@Override
-	protected ResourceAmount<T> createSnapshot() {
-		return new ResourceAmount<>(variant, amount);
+	protected T getSnapshotResource() {
+		return variant;
+	}
+
+	@Override
+	protected long getSnapshotAmount() {
+		return amount;
+	}
+
+	@Override
+	protected void readSnapshot(T resource, long amount) {
+		this.variant = resource;
+		this.amount = amount;
+	}
+
+	@Override
+	public void addChangeListener(Runnable listener) {
+		changeListeners.add(listener);
+	}
+
+	@Override
+	public void removeChangeListener(Runnable listener) {
+		changeListeners.remove(listener);
 	}
 
 	@Override
-	protected void readSnapshot(ResourceAmount<T> snapshot) {
-		variant = snapshot.resource();
-		amount = snapshot.amount();
+	public void afterOuterClose(Transaction.Result result) {
+		super.afterOuterClose(result);
+		changeListeners.notifyListeners();
 	}
 
 	@Override
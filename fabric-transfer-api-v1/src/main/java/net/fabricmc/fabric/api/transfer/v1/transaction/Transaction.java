@@ -73,6 +73,7 @@ import net.fabricmc.fabric.impl.transfer.transaction.TransactionManagerImpl;
  * <p>Every transaction is only valid on the thread it was opened on,
  * and attempts to use it on another thread will throw an exception.
  * Consequently, transactions can be concurrent across multiple threads, as long as they don't share any state.
+ * A {@link TransactionManager} can be used to open transactions that can be handed off to another thread.
  */
 @ApiStatus.NonExtendable
 public interface Transaction extends AutoCloseable, TransactionContext {
@@ -82,7 +83,7 @@ public interface Transaction extends AutoCloseable, TransactionContext {
 	 * @throws IllegalStateException If a transaction is already active on the current thread.
 	 */
 	static Transaction openOuter() {
-		return TransactionManagerImpl.MANAGERS.get().openOuter();
+		return TransactionManagerImpl.current().openOuter();
 	}
 
 	/**
@@ -96,7 +97,7 @@ public interface Transaction extends AutoCloseable, TransactionContext {
 	 * @return The current lifecycle of the transaction stack on this thread.
 	 */
 	static Lifecycle getLifecycle() {
-		return TransactionManagerImpl.MANAGERS.get().getLifecycle();
+		return TransactionManagerImpl.current().getLifecycle();
 	}
 
 	/**
@@ -120,7 +121,7 @@ public interface Transaction extends AutoCloseable, TransactionContext {
 	@Deprecated
 	@Nullable
 	static TransactionContext getCurrentUnsafe() {
-		return TransactionManagerImpl.MANAGERS.get().getCurrentUnsafe();
+		return TransactionManagerImpl.current().getCurrentUnsafe();
 	}
 
 	/**
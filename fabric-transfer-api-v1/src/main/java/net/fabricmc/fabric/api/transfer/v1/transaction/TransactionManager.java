@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.transfer.v1.transaction;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import net.fabricmc.fabric.impl.transfer.transaction.TransactionManagerImpl;
+
+/**
+ * A stack of transactions that is not bound to a thread, for processing independent storages in parallel.
+ *
+ * <p>By default, {@link Transaction#openOuter} opens transactions on the stack of the current thread,
+ * and these transactions may only ever be used on that thread.
+ * An explicit manager can instead open its outer transaction on any thread, which becomes the owner of the manager.
+ * The transactions of the manager may only be used on the owning thread,
+ * and the manager is no longer owned once its outer transaction is closed.
+ * Ownership can also be handed off to another thread while the transaction is open:
+ * the owner calls {@link #release}, then the other thread calls {@link #acquire}.
+ *
+ * <p>While a thread owns a manager, the static functions of {@link Transaction} such as {@link Transaction#getCurrentUnsafe}
+ * refer to the transactions of that manager.
+ * A thread may therefore only own a manager if it has no other active transaction.
+ *
+ * <p>Transactions of different managers can run concurrently, but storages and other participants are generally not thread-safe:
+ * each storage should only be used by one manager at a time, for example because each manager processes an independent network of storages.
+ * Game objects such as worlds and block entities are also usually not safe to access from worker threads.
+ *
+ * <p>This is illustrated in the following example, where a network is processed on a worker thread.
+ * <pre>{@code
+ * TransactionManager manager = TransactionManager.create();
+ *
+ * CompletableFuture.runAsync(() -> {
+ *     try (Transaction transaction = manager.openOuter()) {
+ *         network.simulate(transaction);
+ *         transaction.commit();
+ *     }
+ * }, executor);
+ * }</pre>
+ */
+@ApiStatus.NonExtendable
+public interface TransactionManager {
+	/**
+	 * Create a new transaction manager that is not owned by any thread.
+	 */
+	static TransactionManager create() {
+		return new TransactionManagerImpl();
+	}
+
+	/**
+	 * Open a new outer transaction, and make the current thread the owner of this manager until it is closed.
+	 *
+	 * @throws IllegalStateException If an outer transaction of this manager is already open.
+	 * @throws IllegalStateException If a transaction is already active on the current thread.
+	 */
+	Transaction openOuter();
+
+	/**
+	 * Return true if an outer transaction of this manager is open, and false otherwise.
+	 * Unlike other functions, this function may be called from any thread.
+	 */
+	boolean isOpen();
+
+	/**
+	 * Release the ownership of this manager by the current thread, keeping its transactions open.
+	 * The transactions may not be used until another thread {@linkplain #acquire acquires} this manager.
+	 *
+	 * @throws IllegalStateException If the current thread does not own this manager.
+	 * @throws IllegalStateException If called from a close or outer close callback.
+	 */
+	void release();
+
+	/**
+	 * Make the current thread the owner of this manager and of its open transactions,
+	 * after the previous owner {@linkplain #release released} it.
+	 *
+	 * <p>The previous owner must not modify any participant after releasing the manager,
+	 * and the handoff must happen-before this call, for example by submitting a task to an executor.
+	 *
+	 * @throws IllegalStateException If this manager has no open transaction.
+	 * @throws IllegalStateException If this manager is owned by a thread.
+	 * @throws IllegalStateException If a transaction is already active on the current thread.
+	 */
+	void acquire();
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.api.transfer.v1.transaction.base;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+
+import net.fabricmc.fabric.api.transfer.v1.storage.base.ResourceAmount;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+
+/**
+ * A {@link SnapshotParticipant} for participants whose state is a resource and a {@code long} amount,
+ * such as a single slot storage. Instead of allocating a {@link ResourceAmount} for each snapshot,
+ * the state is stored in a resource array and a {@code long} array indexed by nesting depth, which are reused by every transaction:
+ * once they have grown to the deepest nesting depth, saving and restoring the state performs no allocation.
+ *
+ * <h3>How to use from subclasses</h3>
+ * <ul>
+ *     <li>Call {@link #updateSnapshots} right before the state of your subclass is modified in a transaction.</li>
+ *     <li>Override {@link #getSnapshotResource} and {@link #getSnapshotAmount}: they are called when necessary to save the state of your subclass.</li>
+ *     <li>Override {@link #readSnapshot(Object, long)}: it is called when necessary to revert to a previous state of your subclass.</li>
+ *     <li>You may optionally override {@link #onFinalCommit}: it is called at the end of a transaction that modified the state.
+ *     For example, it could contain a call to {@code markDirty()}.</li>
+ * </ul>
+ *
+ * <p>For compatibility, {@link #createSnapshot} and {@link #readSnapshot(ResourceAmount)} still work with {@link ResourceAmount}s.
+ * Subclasses that override {@link #createSnapshot}, {@link #readSnapshot(ResourceAmount)} or {@link #releaseSnapshot}
+ * keep using {@link ResourceAmount} snapshots, so that their overrides are still called.
+ *
+ * @param <T> The type of the resource, for example {@code ItemVariant}.
+ */
+public abstract class ResourceAmountSnapshotParticipant<T> extends SnapshotParticipant<ResourceAmount<T>> {
+	private static final Object[] NO_RESOURCES = new Object[0];
+	private static final long[] NO_AMOUNTS = new long[0];
+	/**
+	 * Whether a subclass overrides one of the functions that work with {@link ResourceAmount} snapshots.
+	 */
+	private static final ClassValue<Boolean> USES_SNAPSHOT_OBJECTS = new ClassValue<>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> c = type; c != ResourceAmountSnapshotParticipant.class; c = c.getSuperclass()) {
+				for (Method method : c.getDeclaredMethods()) {
+					if (method.getParameterCount() == 0 && method.getName().equals("createSnapshot")
+							|| method.getParameterCount() == 1 && method.getName().equals("readSnapshot")
+							|| method.getParameterCount() == 1 && method.getName().equals("releaseSnapshot")) {
+						return true;
+					}
+				}
+			}
+
+			return false;
+		}
+	};
+
+	private final boolean usesSnapshotObjects = USES_SNAPSHOT_OBJECTS.get(getClass());
+	/**
+	 * Saved resource for each nesting depth, or {@code null} if the state wasn't saved at that depth.
+	 */
+	private Object[] resources = NO_RESOURCES;
+	/**
+	 * Saved amount for each nesting depth, only meaningful if the resource at the same depth is not {@code null}.
+	 */
+	private long[] amounts = NO_AMOUNTS;
+
+	/**
+	 * Return the current <b>nonnull</b> resource of this participant.
+	 * <b>{@code null} may not be returned, or an exception will be thrown!</b>
+	 */
+	protected abstract T getSnapshotResource();
+
+	/**
+	 * Return the current amount of this participant.
+	 */
+	protected abstract long getSnapshotAmount();
+
+	/**
+	 * Roll back to a state previously saved from {@link #getSnapshotResource} and {@link #getSnapshotAmount}.
+	 */
+	protected abstract void readSnapshot(T resource, long amount);
+
+	@Override
+	protected ResourceAmount<T> createSnapshot() {
+		return new ResourceAmount<>(getSnapshotResource(), getSnapshotAmount());
+	}
+
+	@Override
+	protected void readSnapshot(ResourceAmount<T> snapshot) {
+		readSnapshot(snapshot.resource(), snapshot.amount());
+	}
+
+	@Override
+	public void updateSnapshots(TransactionContext transaction) {
+		if (usesSnapshotObjects) {
+			super.updateSnapshots(transaction);
+			return;
+		}
+
+		int depth = transaction.nestingDepth();
+
+		// Make sure we have enough storage for snapshots
+		if (resources.length <= depth) {
+			int newLength = Math.max(depth + 1, resources.length * 2);
+			resources = Arrays.copyOf(resources, newLength);
+			amounts = Arrays.copyOf(amounts, newLength);
+		}
+
+		// If no state was saved, we need to save it, and we need to register a callback.
+		if (resources[depth] == null) {
+			resources[depth] = Objects.requireNonNull(getSnapshotResource(), "Snapshot resource may not be null!");
+			amounts[depth] = getSnapshotAmount();
+			transaction.addCloseCallback(this);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void onClose(TransactionContext transaction, Transaction.Result result) {
+		if (usesSnapshotObjects) {
+			super.onClose(transaction, result);
+			return;
+		}
+
+		int depth = transaction.nestingDepth();
+		// Get and remove the relevant snapshot.
+		T resource = (T) resources[depth];
+		long amount = amounts[depth];
+		resources[depth] = null;
+
+		if (result.wasAborted()) {
+			// If the transaction was aborted, we just revert to the saved state.
+			readSnapshot(resource, amount);
+		} else if (depth > 0) {
+			if (resources[depth - 1] == null) {
+				// No snapshot yet, so move the snapshot one nesting level up.
+				resources[depth - 1] = resource;
+				amounts[depth - 1] = amount;
+				// This is the first snapshot at this level: we need to call addCloseCallback.
+				transaction.getOpenTransaction(depth - 1).addCloseCallback(this);
+			}
+
+			// Otherwise there is already an older snapshot at the nesting level above, and the newer one is dropped.
+		} else {
+			transaction.addOuterCloseCallback(this);
+		}
+	}
+}
@@ -16,8 +16,7 @@
 
 package net.fabricmc.fabric.api.transfer.v1.transaction.base;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Objects;
 
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
@@ -50,10 +49,19 @@ import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
  * is retained. {@link #releaseSnapshot} will be called because the snapshot is not necessary anymore,
  * and {@link #onFinalCommit} will be called after the transaction is closed.
  *
+ * <p>The snapshots are kept in an array indexed by nesting depth that is only allocated on the first modification,
+ * and then reused by every subsequent transaction. Participants whose state is a resource and an amount
+ * can extend {@link ResourceAmountSnapshotParticipant} instead, which doesn't need snapshot objects at all.
+ *
  * @param <T> The objects that this participant uses to save its state snapshots.
  */
 public abstract class SnapshotParticipant<T> implements Transaction.CloseCallback, Transaction.OuterCloseCallback {
-	private final List<T> snapshots = new ArrayList<>();
+	private static final Object[] NO_SNAPSHOTS = new Object[0];
+
+	/**
+	 * Snapshot for each nesting depth, or {@code null} if none was taken at that depth.
+	 */
+	private Object[] snapshots = NO_SNAPSHOTS;
 
 	/**
 	 * Return a new <b>nonnull</b> object containing the current state of this participant.
@@ -86,36 +94,41 @@ public abstract class SnapshotParticipant<T> implements Transaction.CloseCallbac
 	 * This function should be called every time the participant is about to change its internal state as part of a transaction.
 	 */
 	public void updateSnapshots(TransactionContext transaction) {
+		int depth = transaction.nestingDepth();
+
 		// Make sure we have enough storage for snapshots
-		while (snapshots.size() <= transaction.nestingDepth()) {
-			snapshots.add(null);
+		if (snapshots.length <= depth) {
+			snapshots = Arrays.copyOf(snapshots, Math.max(depth + 1, snapshots.length * 2));
 		}
 
 		// If the snapshot is null, we need to create it, and we need to register a callback.
-		if (snapshots.get(transaction.nestingDepth()) == null) {
+		if (snapshots[depth] == null) {
 			T snapshot = createSnapshot();
 			Objects.requireNonNull(snapshot, "Snapshot may not be null!");
 
-			snapshots.set(transaction.nestingDepth(), snapshot);
+			snapshots[depth] = snapshot;
 			transaction.addCloseCallback(this);
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public void onClose(TransactionContext transaction, Transaction.Result result) {
+		int depth = transaction.nestingDepth();
 		// Get and remove the relevant snapshot.
-		T snapshot = snapshots.set(transaction.nestingDepth(), null);
+		T snapshot = (T) snapshots[depth];
+		snapshots[depth] = null;
 
 		if (result.wasAborted()) {
 			// If the transaction was aborted, we just revert to the state of the snapshot.
 			readSnapshot(snapshot);
 			releaseSnapshot(snapshot);
-		} else if (transaction.nestingDepth() > 0) {
-			if (snapshots.get(transaction.nestingDepth() - 1) == null) {
+		} else if (depth > 0) {
+			if (snapshots[depth - 1] == null) {
 				// No snapshot yet, so move the snapshot one nesting level up.
-				snapshots.set(transaction.nestingDepth() - 1, snapshot);
+				snapshots[depth - 1] = snapshot;
 				// This is the first snapshot at this level: we need to call addCloseCallback.
-				transaction.getOpenTransaction(transaction.nestingDepth() - 1).addCloseCallback(this);
+				transaction.getOpenTransaction(depth - 1).addCloseCallback(this);
 			} else {
 				// There is already an older snapshot at the nesting level above, just release the newer one.
 				releaseSnapshot(snapshot);
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.transfer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The change listeners of an {@link net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage ObservableStorage}.
+ * The listeners are stored in an array that is copied on modification, so that listeners may be added or removed during a notification.
+ * Storages are not thread-safe, and neither is this.
+ */
+public final class ChangeListenerList {
+	private static final Runnable[] NO_LISTENERS = new Runnable[0];
+
+	private Runnable[] listeners = NO_LISTENERS;
+
+	public void add(Runnable listener) {
+		Objects.requireNonNull(listener, "Listener may not be null.");
+
+		listeners = Arrays.copyOf(listeners, listeners.length + 1);
+		listeners[listeners.length - 1] = listener;
+	}
+
+	public void remove(Runnable listener) {
+		for (int i = 0; i < listeners.length; ++i) {
+			if (listeners[i].equals(listener)) {
+				Runnable[] newListeners = new Runnable[listeners.length - 1];
+				System.arraycopy(listeners, 0, newListeners, 0, i);
+				System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+				listeners = newListeners;
+				return;
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return listeners.length == 0;
+	}
+
+	public void notifyListeners() {
+		for (Runnable listener : listeners) {
+			listener.run();
+		}
+	}
+}
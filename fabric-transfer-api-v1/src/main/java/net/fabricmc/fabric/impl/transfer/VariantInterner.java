@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.transfer;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.component.ComponentChanges;
+
+import net.fabricmc.fabric.api.transfer.v1.storage.TransferVariant;
+
+/**
+ * Interning cache for the variants that have component changes, so that equal variants are usually the same instance.
+ * Component-less variants are cached on their object instead, for example in {@code ItemVariantCache}.
+ *
+ * <p>The cache is split into stripes that are locked separately, selected by the hash of the variant.
+ * Each stripe is a fixed-size hash table whose buckets hold at most {@link #MAX_BUCKET_SIZE} weak references:
+ * the cache never keeps a variant alive, and when a bucket is full the least recently interned variant is forgotten.
+ * Forgotten variants remain valid, but a new instance will be created for the next equal variant.
+ *
+ * @param <O> The type of the immutable object instance, for example {@code Item} or {@code Fluid}.
+ * @param <V> The type of the variant implementation.
+ */
+public final class VariantInterner<O, V extends TransferVariant<O>> {
+	private static final int STRIPE_BITS = 4;
+	private static final int STRIPE_COUNT = 1 << STRIPE_BITS;
+	private static final int BUCKETS_PER_STRIPE = 1024;
+	private static final int MAX_BUCKET_SIZE = 4;
+
+	/**
+	 * The hash code of a variant, as it must be passed to the {@link Factory}.
+	 */
+	public static int hash(Object object, ComponentChanges components) {
+		return Objects.hash(object, components);
+	}
+
+	private final Factory<O, V> factory;
+	private final Stripe<O, V>[] stripes;
+
+	@SuppressWarnings("unchecked")
+	public VariantInterner(Factory<O, V> factory) {
+		this.factory = factory;
+		this.stripes = new Stripe[STRIPE_COUNT];
+
+		for (int i = 0; i < STRIPE_COUNT; ++i) {
+			stripes[i] = new Stripe<>();
+		}
+	}
+
+	public V intern(O object, ComponentChanges components) {
+		int hash = hash(object, components);
+		// Spread the high bits, since the low bits select the stripe and the bucket.
+		int spread = hash ^ (hash >>> 16);
+		return stripes[spread & (STRIPE_COUNT - 1)].intern(factory, object, components, hash, (spread >>> STRIPE_BITS) & (BUCKETS_PER_STRIPE - 1));
+	}
+
+	@FunctionalInterface
+	public interface Factory<O, V> {
+		/**
+		 * Create a new variant.
+		 *
+		 * @param hashCode The precomputed hash code of the variant, see {@link #hash}.
+		 */
+		V create(O object, ComponentChanges components, int hashCode);
+	}
+
+	private static final class Stripe<O, V extends TransferVariant<O>> {
+		/**
+		 * Singly linked lists of entries, most recently interned first.
+		 */
+		@SuppressWarnings("unchecked")
+		private final Entry<V>[] buckets = new Entry[BUCKETS_PER_STRIPE];
+
+		synchronized V intern(Factory<O, V> factory, O object, ComponentChanges components, int hash, int bucket) {
+			Entry<V> previous = null;
+
+			for (Entry<V> entry = buckets[bucket]; entry != null; entry = entry.next) {
+				V variant = entry.get();
+
+				if (variant == null) {
+					// The variant was garbage collected, drop the entry.
+					if (previous == null) {
+						buckets[bucket] = entry.next;
+					} else {
+						previous.next = entry.next;
+					}
+				} else if (entry.hash == hash && variant.getObject() == object && variant.componentsMatch(components)) {
+					return variant;
+				} else {
+					previous = entry;
+				}
+			}
+
+			V variant = factory.create(object, components, hash);
+			Entry<V> head = new Entry<>(variant, hash, buckets[bucket]);
+			buckets[bucket] = head;
+
+			// Forget the least recently interned variants beyond the maximum bucket size.
+			Entry<V> last = head;
+
+			for (int size = 1; size < MAX_BUCKET_SIZE && last.next != null; ++size) {
+				last = last.next;
+			}
+
+			last.next = null;
+			return variant;
+		}
+	}
+
+	private static final class Entry<V> extends WeakReference<V> {
+		final int hash;
+		@Nullable
+		Entry<V> next;
+
+		Entry(V variant, int hash, @Nullable Entry<V> next) {
+			super(variant);
+			this.hash = hash;
+			this.next = next;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.transfer.fluid;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.text.Text;
+
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
+import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariantAttributes;
+
+/**
+ * The attributes of a fluid variant, lazily computed by {@link FluidVariantAttributes} and stored in the variant.
+ * The caches of all variants are discarded by {@link #invalidateAll} when the attribute handlers change.
+ *
+ * <p>Attributes that are not computed yet are {@link #UNKNOWN} or {@code null}.
+ * Concurrent computations of the same attribute are harmless since they return the same value.
+ */
+public final class FluidVariantAttributeCache {
+	public static final int UNKNOWN = -1;
+	private static volatile int currentGeneration = 0;
+
+	/**
+	 * Get the attribute cache of a variant, creating it if it doesn't exist or if it is outdated.
+	 */
+	public static FluidVariantAttributeCache get(FluidVariant variant) {
+		int generation = currentGeneration;
+
+		if (variant instanceof FluidVariantImpl impl) {
+			FluidVariantAttributeCache cache = impl.attributeCache;
+
+			if (cache == null || cache.generation != generation) {
+				cache = new FluidVariantAttributeCache(generation);
+				impl.attributeCache = cache;
+			}
+
+			return cache;
+		} else {
+			// Cannot cache anything, should not happen.
+			return new FluidVariantAttributeCache(generation);
+		}
+	}
+
+	/**
+	 * Discard the cached attributes of all variants.
+	 */
+	public static synchronized void invalidateAll() {
+		currentGeneration++;
+	}
+
+	private final int generation;
+	public volatile @Nullable Text name = null;
+	public volatile int luminance = UNKNOWN;
+	public volatile int temperature = UNKNOWN;
+	/**
+	 * Viscosity without a world, since the viscosity in a world may depend on the world.
+	 */
+	public volatile int viscosity = UNKNOWN;
+	/**
+	 * {@code null} if unknown.
+	 */
+	public volatile @Nullable Boolean lighterThanAir = null;
+
+	private FluidVariantAttributeCache(int generation) {
+		this.generation = generation;
+	}
+}
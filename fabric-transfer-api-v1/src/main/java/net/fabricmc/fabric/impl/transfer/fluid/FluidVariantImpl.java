@@ -32,8 +32,11 @@ import net.minecraft.util.Identifier;
 
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
 import net.fabricmc.fabric.impl.transfer.TransferApiImpl;
+import net.fabricmc.fabric.impl.transfer.VariantInterner;
 
 public class FluidVariantImpl implements FluidVariant {
+	private static final VariantInterner<Fluid, FluidVariantImpl> INTERNER = new VariantInterner<>(FluidVariantImpl::new);
+
 	public static FluidVariant of(Fluid fluid, ComponentChanges components) {
 		Objects.requireNonNull(fluid, "Fluid may not be null.");
 		Objects.requireNonNull(components, "Components may not be null.");
@@ -55,8 +58,7 @@ public class FluidVariantImpl implements FluidVariant {
 			// Use the cached variant inside the fluid
 			return ((FluidVariantCache) fluid).fabric_getCachedFluidVariant();
 		} else {
-			// TODO explore caching fluid variants for non null tags.
-			return new FluidVariantImpl(fluid, components);
+			return INTERNER.intern(fluid, components);
 		}
 	}
 
@@ -68,12 +70,20 @@ public class FluidVariantImpl implements FluidVariant {
 	private final ComponentChanges components;
 	private final ComponentMap componentMap;
 	private final int hashCode;
+	/**
+	 * Lazily created by {@link FluidVariantAttributeCache#get}.
+	 */
+	volatile @Nullable FluidVariantAttributeCache attributeCache = null;
 
 	public FluidVariantImpl(Fluid fluid, ComponentChanges components) {
+		this(fluid, components, VariantInterner.hash(fluid, components));
+	}
+
+	private FluidVariantImpl(Fluid fluid, ComponentChanges components, int hashCode) {
 		this.fluid = fluid;
 		this.components = components;
 		this.componentMap = components == ComponentChanges.EMPTY ? ComponentMap.EMPTY : MergedComponentMap.create(ComponentMap.EMPTY, components);
-		this.hashCode = Objects.hash(fluid, components);
+		this.hashCode = hashCode;
 	}
 
 	@Override
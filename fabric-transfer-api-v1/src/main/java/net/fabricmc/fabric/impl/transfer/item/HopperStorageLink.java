@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.impl.transfer.item;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.item.PlayerInventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+
+/**
+ * The item storage next to one side of a hopper block entity, used by {@code HopperBlockEntityMixin}
+ * when the hopper doesn't find a vanilla inventory on that side.
+ *
+ * <p>The storage is found through a {@link BlockApiCache}, and the wrapper of the hopper inventory is reused.
+ * When a transfer with an {@linkplain ObservableStorage#isObservable() observable} storage fails because the target is full or the source is empty,
+ * the link goes to sleep and registers a change listener on the storage.
+ * Transfers with the same storage, even through a new wrapper, are not attempted again until the storage notifies the listener,
+ * the stacks of the hopper change, the cache is invalidated by a block change, or {@link #MAX_SKIPPED_TRANSFERS} transfers were skipped.
+ * The last condition catches changes that bypass transactions, which observable storages do not notify.
+ * Transfers with storages that are not observable are always attempted.
+ */
+public final class HopperStorageLink {
+	/**
+	 * How many transfers a sleeping link skips at most before trying again.
+	 */
+	private static final int MAX_SKIPPED_TRANSFERS = 20;
+
+	private final HopperBlockEntity hopper;
+	/**
+	 * The side of the hopper where the storage is.
+	 */
+	private final Direction side;
+	private final InventoryStorage hopperStorage;
+	private final Runnable wakeListener = this::wake;
+	@Nullable
+	private BlockApiCache<Storage<ItemVariant>, Direction> cache = null;
+	/**
+	 * Identifies the storage that a transfer failed with, see {@link #getSleepKey}, or {@code null} if the link is not sleeping.
+	 */
+	@Nullable
+	private Object sleepingKey = null;
+	/**
+	 * The storage that {@link #wakeListener} is registered to while the link is sleeping.
+	 */
+	@Nullable
+	private ObservableStorage<ItemVariant> sleepingStorage = null;
+	private int skippedTransfers;
+	private final ItemStack[] sleepingStacks;
+	private final int[] sleepingCounts;
+
+	public HopperStorageLink(HopperBlockEntity hopper, Direction side) {
+		this.hopper = hopper;
+		this.side = side;
+		this.hopperStorage = InventoryStorage.of(hopper, side);
+		this.sleepingStacks = new ItemStack[hopper.size()];
+		this.sleepingCounts = new int[hopper.size()];
+	}
+
+	public Direction getSide() {
+		return side;
+	}
+
+	/**
+	 * Find the storage next to the hopper, or {@code null} if there is none.
+	 */
+	@Nullable
+	public Storage<ItemVariant> find(ServerWorld world, BlockPos hopperPos) {
+		if (cache == null || cache.getWorld() != world) {
+			cache = BlockApiCache.create(ItemStorage.SIDED, world, hopperPos.offset(side));
+			cache.addInvalidationListener(wakeListener);
+		}
+
+		return cache.find(side.getOpposite());
+	}
+
+	/**
+	 * Move one item from the hopper to the storage, trying the slots of the hopper in order.
+	 */
+	public boolean insert(Storage<ItemVariant> target) {
+		if (isSleeping(target)) return false;
+
+		List<SingleSlotStorage<ItemVariant>> slots = hopperStorage.getSlots();
+
+		for (int i = 0; i < slots.size(); ++i) {
+			SingleSlotStorage<ItemVariant> slot = slots.get(i);
+			if (slot.isResourceBlank()) continue;
+
+			ItemVariant resource = slot.getResource();
+
+			try (Transaction transaction = Transaction.openOuter()) {
+				if (insertOne(target, resource, transaction) && slot.extract(resource, 1, transaction) == 1) {
+					transaction.commit();
+					return true;
+				}
+			}
+		}
+
+		sleep(target);
+		return false;
+	}
+
+	/**
+	 * Move one item from the storage to the hopper.
+	 */
+	public boolean extract(Storage<ItemVariant> source) {
+		if (isSleeping(source)) return false;
+
+		List<SingleSlotStorage<ItemVariant>> sourceSlots = getSlots(source);
+
+		if (sourceSlots == null) {
+			if (StorageUtil.move(source, hopperStorage, iv -> true, 1, null) == 1) {
+				return true;
+			}
+		} else {
+			for (int i = 0; i < sourceSlots.size(); ++i) {
+				SingleSlotStorage<ItemVariant> slot = sourceSlots.get(i);
+				if (slot.isResourceBlank()) continue;
+
+				ItemVariant resource = slot.getResource();
+
+				try (Transaction transaction = Transaction.openOuter()) {
+					if (insertOne(hopperStorage, resource, transaction) && slot.extract(resource, 1, transaction) == 1) {
+						transaction.commit();
+						return true;
+					}
+				}
+			}
+		}
+
+		sleep(source);
+		return false;
+	}
+
+	private static boolean insertOne(Storage<ItemVariant> target, ItemVariant resource, Transaction transaction) {
+		List<SingleSlotStorage<ItemVariant>> slots = getSlots(target);
+
+		if (slots == null) {
+			return target.insert(resource, 1, transaction) == 1;
+		}
+
+		for (int i = 0; i < slots.size(); ++i) {
+			if (slots.get(i).insert(resource, 1, transaction) == 1) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Return the slots of the storage if it is an inventory wrapper, whose transfers are the same as transferring with each slot in order,
+	 * or {@code null} otherwise. Going through the slots by index avoids the iterators of {@link Storage#insert} and {@link StorageUtil#move},
+	 * so that a transfer between a hopper and an inventory doesn't allocate.
+	 */
+	@Nullable
+	private static List<SingleSlotStorage<ItemVariant>> getSlots(Storage<ItemVariant> storage) {
+		// The player inventory wrapper has its own insertion logic.
+		if (storage instanceof InventoryStorage inventory && !(storage instanceof PlayerInventoryStorage)) {
+			return inventory.getSlots();
+		}
+
+		return null;
+	}
+
+	private boolean isSleeping(Storage<ItemVariant> storage) {
+		if (sleepingKey == null) return false;
+
+		if (sleepingKey == getSleepKey(storage) && skippedTransfers < MAX_SKIPPED_TRANSFERS && !hopperChanged()) {
+			skippedTransfers++;
+			return true;
+		}
+
+		wake();
+		return false;
+	}
+
+	private void sleep(Storage<ItemVariant> storage) {
+		ObservableStorage<ItemVariant> observable = ObservableStorage.asObservable(storage);
+		if (observable == null) return;
+
+		sleepingKey = getSleepKey(storage);
+		sleepingStorage = observable;
+		skippedTransfers = 0;
+		observable.addChangeListener(wakeListener);
+
+		for (int i = 0; i < sleepingStacks.length; ++i) {
+			ItemStack stack = hopper.getStack(i);
+			sleepingStacks[i] = stack;
+			sleepingCounts[i] = stack.getCount();
+		}
+	}
+
+	/**
+	 * Return an object that stays the same while the lookup finds the same storage, even if it returns a new wrapper every time.
+	 * This is the case of sided inventory wrappers and double chests for example.
+	 * Keeping the listener on the wrapper of the failed transfer works, because wrappers forward the notifications of what they wrap.
+	 */
+	private Object getSleepKey(Storage<ItemVariant> storage) {
+		// Unsided inventory wrappers are cached per inventory, but sided wrappers are not.
+		if (storage instanceof SidedInventoryStorageImpl sided) {
+			return sided.backingStorage;
+		} else if (storage instanceof InventoryStorageImpl) {
+			return storage;
+		}
+
+		// Other storages are identified by their block entity, if any. The cache is invalidated when it changes.
+		BlockEntity blockEntity = cache == null ? null : cache.getBlockEntity();
+		return blockEntity != null ? blockEntity : storage;
+	}
+
+	private boolean hopperChanged() {
+		for (int i = 0; i < sleepingStacks.length; ++i) {
+			ItemStack stack = hopper.getStack(i);
+
+			if (stack != sleepingStacks[i] || stack.getCount() != sleepingCounts[i]) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Stop sleeping, and unregister the listener from the storage. Must also be called when the link is discarded while sleeping.
+	 */
+	public void wake() {
+		if (sleepingStorage == null) return;
+
+		sleepingStorage.removeChangeListener(wakeListener);
+		sleepingStorage = null;
+		sleepingKey = null;
+		// Don't keep the stacks alive.
+		Arrays.fill(sleepingStacks, null);
+	}
+}
@@ -48,6 +48,11 @@ class InventorySlotWrapper extends SingleStackStorage {
 	final int slot;
 	private final SpecialLogicInventory specialInv;
 	private ItemStack lastReleasedSnapshot = null;
+	/**
+	 * A working copy that was discarded by the last transaction, reused by {@link #createSnapshot} to avoid copying the stack again.
+	 * Only stacks without component changes are pooled, so that the next copy of the same item only needs a count update.
+	 */
+	private ItemStack pooledCopy = null;
 
 	InventorySlotWrapper(InventoryStorageImpl storage, int slot) {
 		this.storage = storage;
@@ -140,6 +145,38 @@ class InventorySlotWrapper extends SingleStackStorage {
 		}
 	}
 
+	@Override
+	protected ItemStack createSnapshot() {
+		ItemStack original = getStack();
+		ItemStack copy = pooledCopy;
+
+		if (copy != null && !original.isEmpty() && original.getItem() == copy.getItem() && original.getComponentChanges().isEmpty()) {
+			pooledCopy = null;
+			copy.setCount(original.getCount());
+			copy.setBobbingAnimationTime(original.getBobbingAnimationTime());
+		} else {
+			copy = original.copy();
+		}
+
+		setStack(copy);
+		return original;
+	}
+
+	@Override
+	protected void readSnapshot(ItemStack snapshot) {
+		// The current stack is a working copy or a stack created during the transaction, and is discarded.
+		ItemStack discarded = getStack();
+		super.readSnapshot(snapshot);
+		poolCopy(discarded);
+	}
+
+	private void poolCopy(ItemStack stack) {
+		// Make sure that the inventory doesn't hold on to the stack, in case it doesn't store the stacks that are passed to setStack.
+		if (!stack.isEmpty() && stack.getComponentChanges().isEmpty() && getStack() != stack) {
+			pooledCopy = stack;
+		}
+	}
+
 	@Override
 	protected void releaseSnapshot(ItemStack snapshot) {
 		lastReleasedSnapshot = snapshot;
@@ -169,6 +206,8 @@ class InventorySlotWrapper extends SingleStackStorage {
 			// None is empty and the items and components match: just update the amount, and reuse the original stack.
 			original.setCount(currentStack.getCount());
 			setStack(original);
+			// The working copy is not in the inventory anymore.
+			poolCopy(currentStack);
 		} else {
 			// Otherwise assume everything was taken from original so empty it.
 			original.setCount(0);
@@ -34,6 +34,7 @@ import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
 import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.fabricmc.fabric.impl.transfer.ChangeListenerList;
 import net.fabricmc.fabric.impl.transfer.DebugMessages;
 
 /**
@@ -75,6 +76,10 @@ public class InventoryStorageImpl extends CombinedStorage<ItemVariant, SingleSlo
 	 * This participant ensures that markDirty is only called once for the entire inventory.
 	 */
 	final MarkDirtyParticipant markDirtyParticipant = new MarkDirtyParticipant();
+	/**
+	 * Notified with markDirty, once per transaction for the entire inventory, rather than forwarded from each slot.
+	 */
+	private final ChangeListenerList changeListeners = new ChangeListenerList();
 
 	InventoryStorageImpl(Inventory inventory) {
 		super(Collections.emptyList());
@@ -105,6 +110,22 @@ public class InventoryStorageImpl extends CombinedStorage<ItemVariant, SingleSlo
 		}
 	}
 
+	@Override
+	public void addChangeListener(Runnable listener) {
+		changeListeners.add(listener);
+	}
+
+	@Override
+	public void removeChangeListener(Runnable listener) {
+		changeListeners.remove(listener);
+	}
+
+	// Every change is notified by the markDirty participant, whatever the slots are.
+	@Override
+	public boolean isObservable() {
+		return true;
+	}
+
 	private InventoryStorage getSidedWrapper(@Nullable Direction direction) {
 		if (inventory instanceof SidedInventory && direction != null) {
 			return new SidedInventoryStorageImpl(this, direction);
@@ -132,6 +153,7 @@ public class InventoryStorageImpl extends CombinedStorage<ItemVariant, SingleSlo
 		@Override
 		protected void onFinalCommit() {
 			inventory.markDirty();
+			changeListeners.notifyListeners();
 		}
 	}
 }
@@ -29,17 +29,20 @@ import net.minecraft.registry.entry.RegistryEntry;
 
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.impl.transfer.TransferApiImpl;
+import net.fabricmc.fabric.impl.transfer.VariantInterner;
 
 public class ItemVariantImpl implements ItemVariant {
+	private static final VariantInterner<Item, ItemVariantImpl> INTERNER = new VariantInterner<>(ItemVariantImpl::new);
+
 	public static ItemVariant of(Item item, ComponentChanges components) {
 		Objects.requireNonNull(item, "Item may not be null.");
 		Objects.requireNonNull(components, "Components may not be null.");
 
-		// Only tag-less or empty item variants are cached for now.
+		// Component-less or empty item variants are cached on the item, the others are interned.
 		if (components.isEmpty() || item == Items.AIR) {
 			return ((ItemVariantCache) item).fabric_getCachedItemVariant();
 		} else {
-			return new ItemVariantImpl(item, components);
+			return INTERNER.intern(item, components);
 		}
 	}
 
@@ -56,9 +59,13 @@ public class ItemVariantImpl implements ItemVariant {
 	private volatile @Nullable ItemStack cachedStack = null;
 
 	public ItemVariantImpl(Item item, ComponentChanges components) {
+		this(item, components, VariantInterner.hash(item, components));
+	}
+
+	private ItemVariantImpl(Item item, ComponentChanges components, int hashCode) {
 		this.item = item;
 		this.components = components;
-		hashCode = Objects.hash(item, components);
+		this.hashCode = hashCode;
 	}
 
 	@Override
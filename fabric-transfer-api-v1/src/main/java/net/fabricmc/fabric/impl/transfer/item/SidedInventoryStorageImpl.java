@@ -32,7 +32,7 @@ import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
  * Sidedness-aware wrapper around a {@link InventoryStorageImpl} for sided inventories.
  */
 class SidedInventoryStorageImpl extends CombinedStorage<ItemVariant, SingleSlotStorage<ItemVariant>> implements InventoryStorage {
-	private final InventoryStorageImpl backingStorage;
+	final InventoryStorageImpl backingStorage;
 
 	SidedInventoryStorageImpl(InventoryStorageImpl storage, Direction direction) {
 		super(Collections.unmodifiableList(createWrapperList(storage, direction)));
@@ -44,6 +44,23 @@ class SidedInventoryStorageImpl extends CombinedStorage<ItemVariant, SingleSlotS
 		return parts;
 	}
 
+	// The listeners are shared with the unsided wrapper, since all the changes go through its slots.
+	@Override
+	public void addChangeListener(Runnable listener) {
+		backingStorage.addChangeListener(listener);
+	}
+
+	@Override
+	public void removeChangeListener(Runnable listener) {
+		backingStorage.removeChangeListener(listener);
+	}
+
+	// The listeners of the unsided wrapper are notified of every change.
+	@Override
+	public boolean isObservable() {
+		return true;
+	}
+
 	private static List<SingleSlotStorage<ItemVariant>> createWrapperList(InventoryStorageImpl storage, Direction direction) {
 		SidedInventory inventory = (SidedInventory) storage.inventory;
 		int[] availableSlots = inventory.getAvailableSlots(direction);
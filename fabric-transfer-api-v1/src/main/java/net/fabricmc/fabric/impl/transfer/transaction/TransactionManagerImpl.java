@@ -22,27 +22,135 @@ import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionManager;
 
-public class TransactionManagerImpl {
-	public static final ThreadLocal<TransactionManagerImpl> MANAGERS = ThreadLocal.withInitial(TransactionManagerImpl::new);
+public class TransactionManagerImpl implements TransactionManager {
+	public static final ThreadLocal<TransactionManagerImpl> MANAGERS = ThreadLocal.withInitial(() -> new TransactionManagerImpl(Thread.currentThread()));
+	/**
+	 * The explicit manager owned by each thread, if any. It replaces the manager of the thread while it is owned.
+	 */
+	private static final ThreadLocal<TransactionManagerImpl> OWNED_MANAGERS = new ThreadLocal<>();
 
-	private final Thread thread = Thread.currentThread();
+	/**
+	 * Get the manager used by the static functions of {@link Transaction} on the current thread.
+	 */
+	public static TransactionManagerImpl current() {
+		TransactionManagerImpl owned = OWNED_MANAGERS.get();
+		return owned != null ? owned : MANAGERS.get();
+	}
+
+	/**
+	 * True for managers created with {@link TransactionManager#create}, that can change owner.
+	 */
+	private final boolean explicit;
+	/**
+	 * The thread that may use the transactions of this manager.
+	 * Always the same thread for thread managers, and null for explicit managers that are not owned.
+	 * Ownership changes of explicit managers are guarded by this.
+	 */
+	@Nullable
+	private volatile Thread owner;
+	/**
+	 * Whether an explicit manager has an outer transaction, guarded by this.
+	 * Unlike the current depth, it may be queried from any thread.
+	 */
+	private boolean outerOpen = false;
 	private final ArrayList<TransactionImpl> stack = new ArrayList<>();
 	private final ArrayList<Transaction.OuterCloseCallback> outerCloseCallbacks = new ArrayList<>();
 	private int currentDepth = -1;
 
+	private TransactionManagerImpl(Thread thread) {
+		this.explicit = false;
+		this.owner = thread;
+	}
+
+	public TransactionManagerImpl() {
+		this.explicit = true;
+		this.owner = null;
+	}
+
+	@Override
 	public boolean isOpen() {
-		return currentDepth > -1;
+		if (explicit) {
+			synchronized (this) {
+				return outerOpen;
+			}
+		} else {
+			return currentDepth > -1;
+		}
 	}
 
+	@Override
 	public Transaction openOuter() {
-		if (isOpen()) {
+		if (explicit) {
+			takeOwnership(false);
+		} else if (isOpen()) {
 			throw new IllegalStateException("An outer transaction is already active on this thread.");
 		}
 
 		return open();
 	}
 
+	@Override
+	public synchronized void release() {
+		if (!explicit) {
+			throw new UnsupportedOperationException("The transaction manager of a thread cannot be released.");
+		}
+
+		validateCurrentThread();
+
+		if (getLifecycle() != Transaction.Lifecycle.OPEN) {
+			throw new IllegalStateException("May not release a transaction manager from a close callback.");
+		}
+
+		owner = null;
+		OWNED_MANAGERS.remove();
+	}
+
+	@Override
+	public void acquire() {
+		if (!explicit) {
+			throw new UnsupportedOperationException("The transaction manager of a thread cannot be acquired.");
+		}
+
+		takeOwnership(true);
+	}
+
+	/**
+	 * Make the current thread the owner of this explicit manager.
+	 *
+	 * @param open True to acquire an open outer transaction, false to open a new one.
+	 */
+	private synchronized void takeOwnership(boolean open) {
+		if (open && !outerOpen) {
+			throw new IllegalStateException("There is no open transaction to acquire.");
+		} else if (!open && outerOpen) {
+			throw new IllegalStateException("An outer transaction is already open on this transaction manager.");
+		}
+
+		if (owner != null) {
+			throw new IllegalStateException("Transaction manager is already owned by thread %s.".formatted(owner.getName()));
+		}
+
+		// Only one transaction stack may be in use on a thread, otherwise Transaction.getCurrentUnsafe() would be ambiguous.
+		if (OWNED_MANAGERS.get() != null || MANAGERS.get().isOpen()) {
+			throw new IllegalStateException("A transaction is already active on this thread.");
+		}
+
+		owner = Thread.currentThread();
+		outerOpen = true;
+		OWNED_MANAGERS.set(this);
+	}
+
+	/**
+	 * Release the ownership of this explicit manager after its outer transaction was closed.
+	 */
+	private synchronized void onOuterClosed() {
+		owner = null;
+		outerOpen = false;
+		OWNED_MANAGERS.remove();
+	}
+
 	@Nullable
 	public TransactionContext getCurrentUnsafe() {
 		if (currentDepth == -1) {
@@ -70,15 +178,21 @@ public class TransactionManagerImpl {
 	}
 
 	void validateCurrentThread() {
-		if (Thread.currentThread() != thread) {
+		Thread owner = this.owner;
+
+		if (Thread.currentThread() != owner) {
 			String errorMessage = String.format(
 					"Attempted to access transaction state from thread %s, but this transaction is only valid on thread %s.",
 					Thread.currentThread().getName(),
-					thread.getName());
+					getOwnerName(owner));
 			throw new IllegalStateException(errorMessage);
 		}
 	}
 
+	private static String getOwnerName(@Nullable Thread owner) {
+		return owner == null ? "<not owned>" : owner.getName();
+	}
+
 	public Transaction.Lifecycle getLifecycle() {
 		if (currentDepth == -1) {
 			return Transaction.Lifecycle.NONE;
@@ -170,6 +284,10 @@ public class TransactionManagerImpl {
 			currentDepth--;
 			lifecycle = Lifecycle.NONE;
 
+			if (explicit && currentDepth == -1) {
+				onOuterClosed();
+			}
+
 			// Throw exception if necessary
 			if (closeException != null) {
 				throw closeException;
@@ -238,7 +356,7 @@ public class TransactionManagerImpl {
 
 		@Override
 		public String toString() {
-			return "Transaction[depth=%d, lifecycle=%s, thread=%s]".formatted(nestingDepth, lifecycle.name(), thread.getName());
+			return "Transaction[depth=%d, lifecycle=%s, thread=%s]".formatted(nestingDepth, lifecycle.name(), getOwnerName(owner));
 		}
 	}
 }
@@ -17,15 +17,21 @@
 package net.fabricmc.fabric.mixin.transfer;
 
 import com.llamalad7.mixinextras.sugar.Local;
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.block.entity.Hopper;
 import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.block.entity.LootableContainerBlockEntity;
 import net.minecraft.inventory.Inventory;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
@@ -35,15 +41,39 @@ import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
+import net.fabricmc.fabric.impl.transfer.item.HopperStorageLink;
 
 /**
  * Allows hoppers to interact with ItemVariant storages.
  */
 @Mixin(HopperBlockEntity.class)
-public class HopperBlockEntityMixin {
+public abstract class HopperBlockEntityMixin extends LootableContainerBlockEntity {
 	@Shadow
 	private Direction facing;
 
+	/**
+	 * Links to the storages that the hopper inserts into and extracts from, created on first use.
+	 */
+	@Unique
+	@Nullable
+	private HopperStorageLink fabric_outputLink;
+	@Unique
+	@Nullable
+	private HopperStorageLink fabric_inputLink;
+
+	HopperBlockEntityMixin(BlockEntityType<?> blockEntityType, BlockPos blockPos, BlockState blockState) {
+		super(blockEntityType, blockPos, blockState);
+	}
+
+	@Override
+	public void markRemoved() {
+		super.markRemoved();
+
+		// Sleeping links have a listener on the storage next to the hopper, which would keep the hopper alive.
+		if (fabric_outputLink != null) fabric_outputLink.wake();
+		if (fabric_inputLink != null) fabric_inputLink.wake();
+	}
+
 	@Inject(
 			at = @At(
 					value = "INVOKE_ASSIGN",
@@ -57,7 +87,27 @@ public class HopperBlockEntityMixin {
 		if (targetInventory != null) return;
 
 		// Otherwise inject our transfer logic.
-		Direction direction = ((HopperBlockEntityMixin) (Object) blockEntity).facing;
+		HopperBlockEntityMixin self = (HopperBlockEntityMixin) (Object) blockEntity;
+		Direction direction = self.facing;
+
+		if (world instanceof ServerWorld serverWorld) {
+			HopperStorageLink link = self.fabric_outputLink;
+
+			if (link == null || link.getSide() != direction) {
+				if (link != null) link.wake();
+				link = new HopperStorageLink(blockEntity, direction);
+				self.fabric_outputLink = link;
+			}
+
+			Storage<ItemVariant> target = link.find(serverWorld, pos);
+
+			if (target != null) {
+				cir.setReturnValue(link.insert(target));
+			}
+
+			return;
+		}
+
 		BlockPos targetPos = pos.offset(direction);
 		Storage<ItemVariant> target = ItemStorage.SIDED.find(world, targetPos, direction.getOpposite());
 
@@ -86,6 +136,22 @@ public class HopperBlockEntityMixin {
 		if (inputInventory != null) return;
 
 		// Otherwise inject our transfer logic.
+		if (hopper instanceof HopperBlockEntity blockEntity && world instanceof ServerWorld serverWorld) {
+			HopperBlockEntityMixin self = (HopperBlockEntityMixin) (Object) blockEntity;
+
+			if (self.fabric_inputLink == null) {
+				self.fabric_inputLink = new HopperStorageLink(blockEntity, Direction.UP);
+			}
+
+			Storage<ItemVariant> source = self.fabric_inputLink.find(serverWorld, blockEntity.getPos());
+
+			if (source != null) {
+				cir.setReturnValue(self.fabric_inputLink.extract(source));
+			}
+
+			return;
+		}
+
 		BlockPos sourcePos = BlockPos.ofFloored(hopper.getHopperX(), hopper.getHopperY() + 1.0D, hopper.getHopperZ());
 		Storage<ItemVariant> source = ItemStorage.SIDED.find(world, sourcePos, Direction.DOWN);
 
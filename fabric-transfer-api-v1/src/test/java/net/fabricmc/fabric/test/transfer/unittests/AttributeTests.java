@@ -23,6 +23,10 @@ import org.junit.jupiter.api.Test;
 
 import net.minecraft.fluid.Fluids;
 import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
 
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
@@ -60,4 +64,15 @@ public class AttributeTests extends AbstractTransferApiTest {
 		assertEquals(FluidConstants.LAVA_VISCOSITY, FluidVariantAttributes.getViscosity(lava, null));
 		assertEquals(false, FluidVariantAttributes.isLighterThanAir(lava));
 	}
+
+	@Test
+	public void testCachedName() {
+		FluidVariant water = FluidVariant.of(Fluids.WATER);
+		Text name = FluidVariantAttributes.getName(water);
+
+		// Modifying a returned name must not modify the cached name.
+		((MutableText) name).formatted(Formatting.BOLD);
+		assertEquals(Style.EMPTY, FluidVariantAttributes.getName(water).getStyle());
+		assertEquals(name.getContent(), FluidVariantAttributes.getName(water).getContent());
+	}
 }
@@ -20,7 +20,9 @@ import static net.fabricmc.fabric.api.transfer.v1.fluid.FluidConstants.BUCKET;
 import static net.fabricmc.fabric.test.transfer.TestUtil.assertEquals;
 
 import java.util.Iterator;
+import java.util.List;
 
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -28,9 +30,11 @@ import net.minecraft.fluid.Fluids;
 
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidVariant;
 import net.fabricmc.fabric.api.transfer.v1.fluid.base.SingleFluidStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.ObservableStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageView;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.FilteringStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleVariantStorage;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
@@ -122,4 +126,79 @@ public class BaseStorageTests extends AbstractTransferApiTest {
 		// Iterator should not have a next element...
 		assertEquals(false, iterator.hasNext());
 	}
+
+	@Test
+	public void testObservableStorage() {
+		SingleVariantStorage<FluidVariant> first = SingleFluidStorage.withFixedCapacity(BUCKET, () -> { });
+		SingleVariantStorage<FluidVariant> second = SingleFluidStorage.withFixedCapacity(BUCKET, () -> { });
+		CombinedStorage<FluidVariant, SingleVariantStorage<FluidVariant>> combined = new CombinedStorage<>(List.of(first, second));
+		FluidVariant water = FluidVariant.of(Fluids.WATER);
+		MutableInt firstChanges = new MutableInt();
+		MutableInt combinedChanges = new MutableInt();
+		Runnable firstListener = firstChanges::increment;
+		first.addChangeListener(firstListener);
+		combined.addChangeListener(combinedChanges::increment);
+
+		// Aborted changes are not notified, even if a nested transaction was committed.
+		try (Transaction tx = Transaction.openOuter()) {
+			try (Transaction nested = tx.openNested()) {
+				assertEquals(BUCKET, first.insert(water, BUCKET, nested));
+				nested.commit();
+			}
+		}
+
+		assertEquals(0, firstChanges.intValue());
+		assertEquals(0, combinedChanges.intValue());
+
+		// Committed changes are notified once per modified storage.
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(BUCKET * 3 / 2, combined.insert(water, BUCKET * 3 / 2, tx));
+			assertEquals(BUCKET / 2, first.extract(water, BUCKET / 2, tx));
+			tx.commit();
+		}
+
+		assertEquals(1, firstChanges.intValue());
+		assertEquals(2, combinedChanges.intValue());
+
+		// Removed listeners are not notified anymore.
+		first.removeChangeListener(firstListener);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(BUCKET / 2, first.insert(water, BUCKET, tx));
+			tx.commit();
+		}
+
+		assertEquals(1, firstChanges.intValue());
+		assertEquals(3, combinedChanges.intValue());
+
+		// Parts that replace the previous parts are observed instead.
+		combined.parts = List.of(second);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(BUCKET / 2, first.extract(water, BUCKET / 2, tx));
+			assertEquals(BUCKET / 2, combined.extract(water, BUCKET / 2, tx));
+			tx.commit();
+		}
+
+		assertEquals(4, combinedChanges.intValue());
+	}
+
+	@Test
+	public void testCombinedStorageObservability() {
+		SingleVariantStorage<FluidVariant> first = SingleFluidStorage.withFixedCapacity(BUCKET, () -> { });
+		SingleVariantStorage<FluidVariant> second = SingleFluidStorage.withFixedCapacity(BUCKET, () -> { });
+		Storage<FluidVariant> readOnly = FilteringStorage.readOnlyOf(second);
+		CombinedStorage<FluidVariant, Storage<FluidVariant>> combined = new CombinedStorage<>(List.of(first, second));
+
+		assertEquals(combined, ObservableStorage.asObservable(combined));
+		assertEquals(null, ObservableStorage.asObservable(readOnly));
+
+		// The changes of a part that isn't observable would be missed.
+		combined.parts = List.of(first, readOnly);
+		assertEquals(false, combined.isObservable());
+		assertEquals(null, ObservableStorage.asObservable(combined));
+
+		combined.parts = List.of(first);
+		assertEquals(true, combined.isObservable());
+	}
 }
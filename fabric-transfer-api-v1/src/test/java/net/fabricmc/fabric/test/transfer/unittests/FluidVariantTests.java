@@ -66,6 +66,16 @@ class FluidVariantTests extends AbstractTransferApiTest {
 		);
 	}
 
+	@Test
+	public void testInterning() {
+		ComponentChanges components = ComponentChanges.builder().add(DataComponentTypes.HIDE_TOOLTIP, Unit.INSTANCE).build();
+		FluidVariant variant = FluidVariant.of(Fluids.WATER, components);
+
+		Assertions.assertSame(variant, FluidVariant.of(Fluids.FLOWING_WATER, ComponentChanges.builder().add(DataComponentTypes.HIDE_TOOLTIP, Unit.INSTANCE).build()));
+		Assertions.assertSame(variant, FluidVariant.of(Fluids.WATER).withComponentChanges(components));
+		Assertions.assertNotEquals(variant, FluidVariant.of(Fluids.LAVA, components));
+	}
+
 	private static void assertFluidEquals(Fluid fluid, FluidVariant... variants) {
 		for (FluidVariant variant : variants) {
 			if (variant.getFluid() != fluid) {
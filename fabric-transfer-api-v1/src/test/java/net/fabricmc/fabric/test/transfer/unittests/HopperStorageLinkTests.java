@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.transfer.unittests;
+
+import static net.fabricmc.fabric.test.transfer.TestUtil.assertEquals;
+
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.inventory.SidedInventory;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.impl.transfer.item.HopperStorageLink;
+
+class HopperStorageLinkTests extends AbstractTransferApiTest {
+	@BeforeAll
+	static void beforeAll() {
+		bootstrap();
+	}
+
+	@Test
+	public void testSleepWithNewWrappers() {
+		HopperBlockEntity hopper = new HopperBlockEntity(BlockPos.ORIGIN, Blocks.HOPPER.getDefaultState());
+		hopper.setStack(0, new ItemStack(Items.DIAMOND));
+		CountingSidedInventory target = new CountingSidedInventory();
+		target.setStack(0, new ItemStack(Items.DIAMOND, 64));
+		HopperStorageLink link = new HopperStorageLink(hopper, Direction.DOWN);
+
+		// The target is full: the link goes to sleep.
+		assertEquals(false, link.insert(InventoryStorage.of(target, Direction.UP)));
+		int insertionChecks = target.insertionChecks;
+		assertEquals(true, insertionChecks > 0);
+
+		// Sided wrappers are created for every lookup, but they wrap the same inventory: the link keeps sleeping.
+		for (int i = 0; i < 5; ++i) {
+			InventoryStorage wrapper = InventoryStorage.of(target, Direction.UP);
+			assertEquals(true, wrapper != InventoryStorage.of(target, Direction.UP));
+			assertEquals(false, link.insert(wrapper));
+		}
+
+		assertEquals(insertionChecks, target.insertionChecks);
+
+		// A change of the inventory through any wrapper wakes the link up.
+		try (Transaction transaction = Transaction.openOuter()) {
+			assertEquals(1L, InventoryStorage.of(target, null).extract(ItemVariant.of(Items.DIAMOND), 1, transaction));
+			transaction.commit();
+		}
+
+		assertEquals(true, link.insert(InventoryStorage.of(target, Direction.UP)));
+		assertEquals(64, target.getStack(0).getCount());
+		assertEquals(true, hopper.getStack(0).isEmpty());
+	}
+
+	private static class CountingSidedInventory extends SimpleInventory implements SidedInventory {
+		private static final int[] SLOTS = { 0 };
+		int insertionChecks = 0;
+
+		CountingSidedInventory() {
+			super(1);
+		}
+
+		@Override
+		public int[] getAvailableSlots(Direction side) {
+			return SLOTS;
+		}
+
+		@Override
+		public boolean canInsert(int slot, ItemStack stack, @Nullable Direction dir) {
+			insertionChecks++;
+			return true;
+		}
+
+		@Override
+		public boolean canExtract(int slot, ItemStack stack, Direction dir) {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.transfer.unittests;
+
+import static net.fabricmc.fabric.test.transfer.TestUtil.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.item.Items;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.item.base.SingleItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.IndexedCombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+
+public class IndexedCombinedStorageTests extends AbstractTransferApiTest {
+	private static ItemVariant DIAMOND;
+	private static ItemVariant EMERALD;
+
+	@BeforeAll
+	static void beforeAll() {
+		bootstrap();
+		DIAMOND = ItemVariant.of(Items.DIAMOND);
+		EMERALD = ItemVariant.of(Items.EMERALD);
+	}
+
+	private static List<SingleItemStorage> createSlots(int count) {
+		List<SingleItemStorage> slots = new ArrayList<>();
+
+		for (int i = 0; i < count; ++i) {
+			slots.add(new SingleItemStorage() {
+				@Override
+				protected long getCapacity(ItemVariant variant) {
+					return 64;
+				}
+			});
+		}
+
+		return slots;
+	}
+
+	@Test
+	public void testInsertFillsMatchingSlotsFirst() {
+		List<SingleItemStorage> slots = createSlots(4);
+		IndexedCombinedStorage<ItemVariant, SingleItemStorage> storage = new IndexedCombinedStorage<>(slots);
+		slots.get(2).variant = DIAMOND;
+		slots.get(2).amount = 60;
+		storage.reindex();
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(10L, storage.insert(DIAMOND, 10, tx));
+			tx.commit();
+		}
+
+		// The partially filled slot gets topped up before the first empty slot is used.
+		assertEquals(64L, slots.get(2).amount);
+		assertEquals(6L, slots.get(0).amount);
+		assertEquals(0L, slots.get(1).amount);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(64L, storage.insert(EMERALD, 64, tx));
+			assertEquals(70L, storage.extract(DIAMOND, 100, tx));
+			tx.commit();
+		}
+
+		assertEquals(EMERALD, slots.get(1).variant);
+		assertEquals(0L, StorageUtil.simulateExtract(storage, DIAMOND, 1, null));
+	}
+
+	@Test
+	public void testAbortedTransactionsAreReindexed() {
+		List<SingleItemStorage> slots = createSlots(3);
+		IndexedCombinedStorage<ItemVariant, SingleItemStorage> storage = new IndexedCombinedStorage<>(slots);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(64L, storage.insert(DIAMOND, 64, tx));
+
+			try (Transaction nested = tx.openNested()) {
+				assertEquals(128L, storage.insert(EMERALD, 128, nested));
+				assertEquals(64L, storage.extract(DIAMOND, 64, nested));
+				// Aborted: the slots are rolled back, and the index must follow.
+			}
+
+			assertEquals(64L, StorageUtil.simulateExtract(storage, DIAMOND, 100, tx));
+			assertEquals(0L, StorageUtil.simulateExtract(storage, EMERALD, 100, tx));
+			assertEquals(128L, StorageUtil.simulateInsert(storage, EMERALD, 1000, tx));
+			tx.commit();
+		}
+
+		assertEquals(64L, slots.get(0).amount);
+		assertEquals(DIAMOND, slots.get(0).variant);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			storage.insert(EMERALD, 64, tx);
+			// Outer abort after nested commit.
+			try (Transaction nested = tx.openNested()) {
+				storage.extract(DIAMOND, 64, nested);
+				nested.commit();
+			}
+		}
+
+		assertEquals(64L, StorageUtil.simulateExtract(storage, DIAMOND, 100, null));
+		assertEquals(0L, StorageUtil.simulateExtract(storage, EMERALD, 100, null));
+	}
+
+	@Test
+	public void testReindex() {
+		List<SingleItemStorage> slots = createSlots(3);
+		IndexedCombinedStorage<ItemVariant, SingleItemStorage> storage = new IndexedCombinedStorage<>(slots);
+		assertEquals(0L, StorageUtil.simulateExtract(storage, DIAMOND, 1, null));
+
+		// Modified without going through the storage: not seen until reindexed.
+		slots.get(1).variant = DIAMOND;
+		slots.get(1).amount = 5;
+		assertEquals(0L, StorageUtil.simulateExtract(storage, DIAMOND, 10, null));
+		storage.reindex();
+		assertEquals(5L, StorageUtil.simulateExtract(storage, DIAMOND, 10, null));
+	}
+}
@@ -105,6 +105,138 @@ class ItemTests extends AbstractTransferApiTest {
 		if (!stackEquals(stack, newVariant, 5)) throw new AssertionError("Failed to update stack components or count.");
 	}
 
+	@Test
+	public void testVariantInterning() {
+		ComponentChanges components = ComponentChanges.builder().add(ENERGY, 42).build();
+		ItemVariant variant = ItemVariant.of(Items.DIAMOND, components);
+
+		// Equal variants are the same instance, however they are created.
+		if (variant != ItemVariant.of(Items.DIAMOND, ComponentChanges.builder().add(ENERGY, 42).build())) {
+			throw new AssertionError("Equal variants should have been interned.");
+		}
+
+		ItemStack stack = new ItemStack(Items.DIAMOND);
+		stack.set(ENERGY, 42);
+		if (variant != ItemVariant.of(stack)) throw new AssertionError("Variant of an equal stack should have been interned.");
+		if (variant != ItemVariant.of(Items.DIAMOND).withComponentChanges(components)) throw new AssertionError("Variant with equal changes should have been interned.");
+
+		// Different variants are not.
+		ItemVariant other = ItemVariant.of(Items.DIAMOND, ComponentChanges.builder().add(ENERGY, 43).build());
+		if (variant.equals(other)) throw new AssertionError("Variants with different components should not be equal.");
+		if (variant.equals(ItemVariant.of(Items.EMERALD, components))) throw new AssertionError("Variants with different items should not be equal.");
+	}
+
+	@Test
+	public void testMoveAll() {
+		SimpleInventory source = new SimpleInventory(
+				new ItemStack(Items.COBBLESTONE, 64), new ItemStack(Items.DIAMOND, 10), new ItemStack(Items.COBBLESTONE, 64), new ItemStack(Items.DIRT, 5));
+		SimpleInventory target = new SimpleInventory(new ItemStack(Items.DIAMOND, 60), ItemStack.EMPTY);
+		Storage<ItemVariant> sourceWrapper = InventoryStorage.of(source, null);
+		Storage<ItemVariant> targetWrapper = InventoryStorage.of(target, null);
+
+		// Nothing is moved if the transaction is aborted.
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(68L, StorageUtil.moveAll(sourceWrapper, targetWrapper, iv -> !iv.isOf(Items.DIRT), Long.MAX_VALUE, tx));
+		}
+
+		if (!stackEquals(source.getStack(0), Items.COBBLESTONE, 64)) throw new AssertionError("Aborted move should have been reverted.");
+		if (!target.getStack(1).isEmpty()) throw new AssertionError("Aborted move should have been reverted.");
+
+		// Cobblestone is found first and fills the empty slot, then diamonds top up the existing stack. Dirt is filtered out.
+		assertEquals(68L, StorageUtil.moveAll(sourceWrapper, targetWrapper, iv -> !iv.isOf(Items.DIRT), Long.MAX_VALUE, null));
+		if (!source.getStack(0).isEmpty()) throw new AssertionError("First cobblestone stack should have been moved.");
+		if (!stackEquals(source.getStack(1), Items.DIAMOND, 6)) throw new AssertionError("Diamonds should have been moved partially.");
+		if (!stackEquals(source.getStack(2), Items.COBBLESTONE, 64)) throw new AssertionError("Second cobblestone stack should not have been moved.");
+		if (!stackEquals(source.getStack(3), Items.DIRT, 5)) throw new AssertionError("Dirt should not have been moved.");
+		if (!stackEquals(target.getStack(0), Items.DIAMOND, 64)) throw new AssertionError("Diamond stack should have been filled.");
+		if (!stackEquals(target.getStack(1), Items.COBBLESTONE, 64)) throw new AssertionError("Cobblestone should have been moved.");
+
+		// The maximum amount is respected.
+		target.clear();
+		assertEquals(3L, StorageUtil.moveAll(sourceWrapper, targetWrapper, iv -> true, 3, null));
+		if (!stackEquals(source.getStack(1), Items.DIAMOND, 3)) throw new AssertionError("Only 3 diamonds should have been moved.");
+		if (!stackEquals(target.getStack(0), Items.DIAMOND, 3)) throw new AssertionError("Only 3 diamonds should have been moved.");
+	}
+
+	@Test
+	public void testInventoryChangeListeners() {
+		SimpleInventory inv = new SimpleInventory(3);
+		int[] changes = new int[1];
+		Runnable listener = () -> changes[0]++;
+		InventoryStorage invWrapper = InventoryStorage.of(inv, null);
+		invWrapper.addChangeListener(listener);
+
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(100L, invWrapper.insert(ItemVariant.of(Items.DIAMOND), 100, tx));
+		}
+
+		assertEquals(0, changes[0]);
+
+		// Two slots are modified, but the inventory is only notified once.
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(100L, invWrapper.insert(ItemVariant.of(Items.DIAMOND), 100, tx));
+			tx.commit();
+		}
+
+		assertEquals(1, changes[0]);
+
+		// Changes through the slots are notified too.
+		try (Transaction tx = Transaction.openOuter()) {
+			assertEquals(1L, invWrapper.getSlot(1).extract(ItemVariant.of(Items.DIAMOND), 1, tx));
+			tx.commit();
+		}
+
+		assertEquals(2, changes[0]);
+		invWrapper.removeChangeListener(listener);
+	}
+
+	@Test
+	public void testPooledStackCopies() {
+		// The wrappers reuse the working copies of the stacks across transactions, make sure that they never leak into the inventory.
+		SimpleInventory inv = new SimpleInventory(new ItemStack(Items.DIAMOND, 10), ItemStack.EMPTY);
+		InventoryStorage invWrapper = InventoryStorage.of(inv, null);
+		ItemVariant diamond = ItemVariant.of(Items.DIAMOND);
+		ItemStack stack = inv.getStack(0);
+		ItemStack otherStack = null;
+
+		for (int i = 0; i < 5; ++i) {
+			// Aborted transaction, with a nested commit and a nested abort.
+			try (Transaction tx = Transaction.openOuter()) {
+				assertEquals(3L, StorageUtil.move(invWrapper.getSlot(0), invWrapper.getSlot(1), v -> true, 3, tx));
+
+				try (Transaction nested = tx.openNested()) {
+					assertEquals(2L, StorageUtil.move(invWrapper.getSlot(0), invWrapper.getSlot(1), v -> true, 2, nested));
+				}
+
+				try (Transaction nested = tx.openNested()) {
+					assertEquals(1L, StorageUtil.move(invWrapper.getSlot(0), invWrapper.getSlot(1), v -> true, 1, nested));
+					nested.commit();
+				}
+
+				if (!stackEquals(inv.getStack(0), diamond, 10 - 4 - i)) throw new AssertionError("Unexpected stack during transaction.");
+			}
+
+			if (stack != inv.getStack(0)) throw new AssertionError("Stack should have stayed the same.");
+			if (!stackEquals(stack, diamond, 10 - i)) throw new AssertionError("Aborted transaction should not have changed the stack.");
+
+			// Committed transaction.
+			try (Transaction tx = Transaction.openOuter()) {
+				assertEquals(1L, StorageUtil.move(invWrapper.getSlot(0), invWrapper.getSlot(1), v -> true, 1, tx));
+				tx.commit();
+			}
+
+			if (stack != inv.getStack(0)) throw new AssertionError("Stack should have stayed the same.");
+			if (!stackEquals(stack, diamond, 10 - i - 1)) throw new AssertionError("Failed to update stack count.");
+			if (!stackEquals(inv.getStack(1), diamond, i + 1)) throw new AssertionError("Failed to insert into the other stack.");
+
+			if (otherStack == null) {
+				otherStack = inv.getStack(1);
+			} else if (otherStack != inv.getStack(1)) {
+				throw new AssertionError("Other stack should have stayed the same.");
+			}
+		}
+	}
+
 	@Test
 	public void testInventoryWrappers() {
 		ItemVariant emptyBucket = ItemVariant.of(Items.BUCKET);
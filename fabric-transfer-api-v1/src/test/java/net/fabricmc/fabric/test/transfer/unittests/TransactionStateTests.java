@@ -16,10 +16,16 @@
 
 package net.fabricmc.fabric.test.transfer.unittests;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import net.fabricmc.fabric.api.transfer.v1.storage.base.ResourceAmount;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionManager;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.ResourceAmountSnapshotParticipant;
 import net.fabricmc.fabric.test.transfer.TestUtil;
 
 class TransactionStateTests extends AbstractTransferApiTest {
@@ -119,4 +125,148 @@ class TransactionStateTests extends AbstractTransferApiTest {
 
 		TestUtil.assertEquals(Transaction.Lifecycle.NONE, Transaction.getLifecycle());
 	}
+
+	@Test
+	public void testTransactionManagerHandoff() throws Exception {
+		TransactionManager manager = TransactionManager.create();
+		Counter counter = new Counter();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			Transaction transaction = manager.openOuter();
+			counter.set("water", counter.amount + 1, transaction);
+
+			if (Transaction.getCurrentUnsafe() != transaction) throw new AssertionError("The owned manager should be the current manager.");
+			ensureException(Transaction::openOuter, "Should not be able to open a second outer transaction.");
+
+			manager.release();
+			TestUtil.assertEquals(true, manager.isOpen());
+			TestUtil.assertEquals(Transaction.Lifecycle.NONE, Transaction.getLifecycle());
+			ensureException(() -> counter.set("water", counter.amount + 1, transaction), "Released transaction should not be usable.");
+
+			// Continue and commit the transaction on another thread.
+			executor.submit(() -> {
+				manager.acquire();
+				counter.set("water", counter.amount + 2, transaction);
+				transaction.commit();
+			}).get();
+
+			TestUtil.assertEquals(false, manager.isOpen());
+			TestUtil.assertEquals(3L, counter.amount);
+
+			// The manager can now be used by this thread again.
+			try (Transaction aborted = manager.openOuter()) {
+				counter.set("water", counter.amount + 5, aborted);
+			}
+
+			TestUtil.assertEquals(3L, counter.amount);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testResourceAmountSnapshotParticipant() {
+		checkNestedSnapshots(new Counter());
+
+		// Overriding createSnapshot switches back to ResourceAmount snapshots, and the override must be called.
+		SnapshotObjectCounter objectCounter = new SnapshotObjectCounter();
+		checkNestedSnapshots(objectCounter);
+		TestUtil.assertEquals(true, objectCounter.createdSnapshots > 0);
+	}
+
+	private static void checkNestedSnapshots(Counter counter) {
+		// Nested commit inside an aborted transaction: rolled back to the state before the outer transaction.
+		try (Transaction outer = Transaction.openOuter()) {
+			counter.set("a", 1, outer);
+
+			try (Transaction nested = outer.openNested()) {
+				counter.set("b", 2, nested);
+
+				try (Transaction deeper = nested.openNested()) {
+					counter.set("c", 3, deeper);
+				}
+
+				TestUtil.assertEquals("b", counter.resource);
+				TestUtil.assertEquals(2L, counter.amount);
+				nested.commit();
+			}
+
+			TestUtil.assertEquals("b", counter.resource);
+		}
+
+		TestUtil.assertEquals("", counter.resource);
+		TestUtil.assertEquals(0L, counter.amount);
+		TestUtil.assertEquals(0, counter.finalCommits);
+
+		// Snapshot moved up from a nested transaction that is the first to modify the participant.
+		try (Transaction outer = Transaction.openOuter()) {
+			try (Transaction nested = outer.openNested()) {
+				counter.set("d", 4, nested);
+				nested.commit();
+			}
+
+			try (Transaction nested = outer.openNested()) {
+				counter.set("e", 5, nested);
+			}
+
+			TestUtil.assertEquals("d", counter.resource);
+			outer.commit();
+		}
+
+		TestUtil.assertEquals("d", counter.resource);
+		TestUtil.assertEquals(4L, counter.amount);
+		TestUtil.assertEquals(1, counter.finalCommits);
+
+		// The snapshot storage is reused by later transactions.
+		try (Transaction outer = Transaction.openOuter()) {
+			counter.set("f", 6, outer);
+		}
+
+		TestUtil.assertEquals("d", counter.resource);
+		TestUtil.assertEquals(4L, counter.amount);
+	}
+
+	private static class Counter extends ResourceAmountSnapshotParticipant<String> {
+		String resource = "";
+		long amount = 0;
+		int finalCommits = 0;
+
+		void set(String resource, long amount, Transaction transaction) {
+			updateSnapshots(transaction);
+			this.resource = resource;
+			this.amount = amount;
+		}
+
+		@Override
+		protected String getSnapshotResource() {
+			return resource;
+		}
+
+		@Override
+		protected long getSnapshotAmount() {
+			return amount;
+		}
+
+		@Override
+		protected void readSnapshot(String resource, long amount) {
+			this.resource = resource;
+			this.amount = amount;
+		}
+
+		@Override
+		protected void onFinalCommit() {
+			finalCommits++;
+		}
+	}
+
+	private static class SnapshotObjectCounter extends Counter {
+		int createdSnapshots = 0;
+
+		@Override
+		protected ResourceAmount<String> createSnapshot() {
+			createdSnapshots++;
+			return super.createSnapshot();
+		}
+	}
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.transfer.unittests;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.HopperBlockEntity;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.item.base.SingleItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleSlotStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.impl.transfer.item.HopperStorageLink;
+
+/**
+ * Checks that committed transfers between slots don't allocate once the transaction and snapshot state was warmed up.
+ * The transfers never empty or fill a slot, because creating a stack for an empty slot has to allocate.
+ */
+class TransferAllocationTests extends AbstractTransferApiTest {
+	private static final int WARMUP_TRANSFERS = 10_000;
+	private static final int MEASURED_TRANSFERS = 10_000;
+
+	@BeforeAll
+	static void beforeAll() {
+		bootstrap();
+	}
+
+	@Test
+	public void testSingleVariantStorageTransfer() {
+		ItemVariant diamond = ItemVariant.of(Items.DIAMOND);
+		SingleItemStorage first = new DiamondStorage(32);
+		SingleItemStorage second = new DiamondStorage(32);
+
+		assertNoAllocation("SingleVariantStorage transfer", () -> {
+			transfer(first, second, diamond);
+			transfer(second, first, diamond);
+		});
+
+		Assertions.assertEquals(32, first.amount);
+		Assertions.assertEquals(32, second.amount);
+	}
+
+	@Test
+	public void testInventorySlotTransfer() {
+		ItemVariant diamond = ItemVariant.of(Items.DIAMOND);
+		SimpleInventory inventory = new SimpleInventory(new ItemStack(Items.DIAMOND, 32), new ItemStack(Items.DIAMOND, 32));
+		SingleSlotStorage<ItemVariant> first = InventoryStorage.of(inventory, null).getSlot(0);
+		SingleSlotStorage<ItemVariant> second = InventoryStorage.of(inventory, null).getSlot(1);
+
+		assertNoAllocation("inventory slot transfer", () -> {
+			transfer(first, second, diamond);
+			transfer(second, first, diamond);
+		});
+
+		Assertions.assertEquals(32, inventory.getStack(0).getCount());
+		Assertions.assertEquals(32, inventory.getStack(1).getCount());
+	}
+
+	@Test
+	public void testHopperTransfer() {
+		HopperBlockEntity hopper = new HopperBlockEntity(BlockPos.ORIGIN, Blocks.HOPPER.getDefaultState());
+		hopper.setStack(0, new ItemStack(Items.DIAMOND, 32));
+		SimpleInventory inventory = new SimpleInventory(new ItemStack(Items.DIAMOND, 32), ItemStack.EMPTY);
+		InventoryStorage storage = InventoryStorage.of(inventory, null);
+		HopperStorageLink output = new HopperStorageLink(hopper, Direction.DOWN);
+		HopperStorageLink input = new HopperStorageLink(hopper, Direction.UP);
+
+		assertNoAllocation("hopper transfer", () -> {
+			Assertions.assertTrue(output.insert(storage));
+			Assertions.assertTrue(input.extract(storage));
+		});
+
+		Assertions.assertEquals(32, hopper.getStack(0).getCount());
+		Assertions.assertEquals(32, inventory.getStack(0).getCount());
+		Assertions.assertTrue(inventory.getStack(1).isEmpty());
+	}
+
+	private static void transfer(SingleSlotStorage<ItemVariant> from, SingleSlotStorage<ItemVariant> to, ItemVariant resource) {
+		try (Transaction transaction = Transaction.openOuter()) {
+			// Also roll back a nested transaction, to exercise the restoration of snapshots.
+			try (Transaction nested = transaction.openNested()) {
+				to.insert(resource, 1, nested);
+			}
+
+			Assertions.assertEquals(1, from.extract(resource, 1, transaction));
+			Assertions.assertEquals(1, to.insert(resource, 1, transaction));
+			transaction.commit();
+		}
+	}
+
+	private static void assertNoAllocation(String name, Runnable transfer) {
+		Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean, "Thread allocation counters are not supported");
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(), "Thread allocation counters are disabled");
+		long threadId = Thread.currentThread().threadId();
+
+		for (int i = 0; i < WARMUP_TRANSFERS; ++i) {
+			transfer.run();
+		}
+
+		long before = threads.getThreadAllocatedBytes(threadId);
+
+		for (int i = 0; i < MEASURED_TRANSFERS; ++i) {
+			transfer.run();
+		}
+
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		// Any object is at least 16 bytes, so this only tolerates a few allocations outside of the transfers themselves.
+		if (allocated >= MEASURED_TRANSFERS) {
+			Assertions.fail("%s allocated %d bytes over %d iterations".formatted(name, allocated, MEASURED_TRANSFERS));
+		}
+	}
+
+	private static class DiamondStorage extends SingleItemStorage {
+		DiamondStorage(long amount) {
+			this.variant = ItemVariant.of(Items.DIAMOND);
+			this.amount = amount;
+		}
+
+		@Override
+		protected long getCapacity(ItemVariant variant) {
+			return 64;
+		}
+	}
+}
@@ -23,6 +23,7 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.ComparatorBlock;
 import net.minecraft.block.ComposterBlock;
+import net.minecraft.block.HopperBlock;
 import net.minecraft.block.JukeboxBlock;
 import net.minecraft.block.entity.BrewingStandBlockEntity;
 import net.minecraft.block.entity.ChiseledBookshelfBlockEntity;
@@ -48,6 +49,7 @@ import net.fabricmc.fabric.api.transfer.v1.storage.SlottedStorage;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.storage.StorageUtil;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.test.transfer.ingame.SingleItemSlot;
 import net.fabricmc.fabric.test.transfer.mixin.AbstractFurnaceBlockEntityAccessor;
 
 public class VanillaStorageTests {
@@ -381,4 +383,65 @@ public class VanillaStorageTests {
 		context.checkBlockState(pos, state -> state.get(JukeboxBlock.HAS_RECORD), () -> "Jukebox should have its state changed");
 		context.complete();
 	}
+
+	/**
+	 * Tests that hoppers extract from item storages, and stop once the block providing the storage is replaced.
+	 */
+	@GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+	public void testHopperExtractsFromStorage(TestContext context) {
+		BlockPos sourcePos = new BlockPos(0, 3, 0);
+		BlockPos hopperPos = new BlockPos(0, 2, 0);
+		// The testmod provides an infinite diamond storage for diamond ore.
+		context.setBlockState(sourcePos, Blocks.DIAMOND_ORE);
+		context.setBlockState(hopperPos, Blocks.HOPPER.getDefaultState().with(HopperBlock.FACING, Direction.EAST));
+		HopperBlockEntity hopper = context.getBlockEntity(hopperPos);
+		MutableInt extracted = new MutableInt();
+
+		context.runAtTick(20, () -> {
+			ItemStack stack = hopper.getStack(0);
+			context.assertTrue(stack.isOf(Items.DIAMOND) && stack.getCount() > 0, "Hopper should have extracted diamonds");
+			extracted.setValue(stack.getCount());
+			context.setBlockState(sourcePos, Blocks.STONE);
+		});
+
+		context.runAtTick(40, () -> {
+			int count = hopper.getStack(0).getCount();
+			context.assertTrue(count == extracted.intValue(), "Hopper should have stopped extracting, but has " + count + " diamonds");
+			context.complete();
+		});
+	}
+
+	/**
+	 * Tests that a hopper stops trying to insert into a full observable storage, and resumes once the storage has space.
+	 */
+	@GameTest(templateName = FabricGameTest.EMPTY_STRUCTURE)
+	public void testHopperSleepsUntilTargetChanges(TestContext context) {
+		BlockPos targetPos = new BlockPos(0, 1, 0);
+		BlockPos hopperPos = new BlockPos(0, 2, 0);
+		SingleItemSlot target = SingleItemSlot.LAPIS;
+		target.variant = ItemVariant.of(Items.DIAMOND);
+		target.amount = 1;
+		target.insertionAttempts = 0;
+		// The testmod provides a single item storage for lapis blocks.
+		context.setBlockState(targetPos, Blocks.LAPIS_BLOCK);
+		context.setBlockState(hopperPos, Blocks.HOPPER.getDefaultState().with(HopperBlock.FACING, Direction.DOWN));
+		HopperBlockEntity hopper = context.getBlockEntity(hopperPos);
+		hopper.setStack(0, new ItemStack(Items.STONE));
+
+		context.runAtTick(10, () -> {
+			context.assertTrue(hopper.getStack(0).isOf(Items.STONE), "Hopper should not have inserted into a full storage");
+			context.assertTrue(target.insertionAttempts == 1, "Hopper should have stopped trying after one attempt, but tried " + target.insertionAttempts + " times");
+
+			try (Transaction transaction = Transaction.openOuter()) {
+				target.extract(ItemVariant.of(Items.DIAMOND), 1, transaction);
+				transaction.commit();
+			}
+		});
+
+		context.runAtTick(15, () -> {
+			context.assertTrue(hopper.getStack(0).isEmpty(), "Hopper should have woken up and inserted its stone");
+			context.assertTrue(target.variant.isOf(Items.STONE), "Storage should contain the stone of the hopper");
+			context.complete();
+		});
+	}
 }
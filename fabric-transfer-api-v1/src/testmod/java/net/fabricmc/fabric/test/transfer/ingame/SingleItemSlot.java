@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2016, 2017, 2018, 2019 FabricMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package net.fabricmc.fabric.test.transfer.ingame;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.item.base.SingleItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+
+/**
+ * A storage for a single item, that counts how many insertions were attempted.
+ */
+public class SingleItemSlot extends SingleItemStorage {
+	public static final SingleItemSlot LAPIS = new SingleItemSlot();
+
+	public int insertionAttempts = 0;
+
+	@Override
+	protected long getCapacity(ItemVariant variant) {
+		return 1;
+	}
+
+	@Override
+	public long insert(ItemVariant insertedVariant, long maxAmount, TransactionContext transaction) {
+		insertionAttempts++;
+		return super.insert(insertedVariant, maxAmount, transaction);
+	}
+}